@@ -0,0 +1,514 @@
+package com.game30.javagl;
+
+import java.util.Arrays;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL40;
+
+import com.game30.javagl.buffers.GLBufferBindings;
+import com.game30.javagl.buffers.GLBufferTarget;
+import com.game30.javagl.textures.GLTextureTarget;
+
+/**
+ * A cache of the objects bound to the OpenGL context current on this thread.  Bind calls that would not change what is
+ * bound are skipped, which removes the redundant driver calls made when objects are bound and unbound around every
+ * operation.
+ *
+ * <p>The cache tracks the buffer bound to each {@link GLBufferTarget}, the texture bound to each texture unit and
+ * {@link GLTextureTarget}, the active texture unit, the bound vertex array, the program in use and the bound transform
+ * feedback object.  What happens when an object is unbound is decided by the {@link GLUnbindPolicy}, which defaults to
+ * {@link GLUnbindPolicy#WhenRequired}.
+ *
+ * <p>The cache only knows about calls made through this library.  Code that calls LWJGL directly must either call
+ * {@link #invalidate()} afterwards or turn the cache off with {@link #setEnabled(boolean)}.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public final class GLContextState {
+
+    /** The context state of each thread. */
+    private static final ThreadLocal<GLContextState> CURRENT = ThreadLocal.withInitial(GLContextState::new);
+
+    /** The marker for a binding which is not known. */
+    private static final int UNKNOWN = -1;
+
+    /** The number of texture units tracked before growing. */
+    private static final int INITIAL_TEXTURE_UNITS = 16;
+
+    /**
+     * Returns the context state of the OpenGL context current on this thread.
+     *
+     * @return the current context state.
+     */
+    public static GLContextState current() {
+        return CURRENT.get();
+    }
+
+
+    /** If bind calls are cached. */
+    private boolean enabled;
+
+    /** The policy followed when objects are unbound. */
+    private GLUnbindPolicy unbindPolicy;
+
+    /** The buffer bound to each buffer target. */
+    private final int[] buffers;
+
+    /** The indexed binding points of each buffer target which has them, created when first requested. */
+    private final GLBufferBindings[] bufferBindings;
+
+    /** The texture bound to each texture target of each texture unit. */
+    private int[][] textures;
+
+    /** The active texture unit. */
+    private int activeTexture;
+
+    /** The bound vertex array. */
+    private int vertexArray;
+
+    /** The program in use. */
+    private int program;
+
+    /** The bound transform feedback object. */
+    private int transformFeedback;
+
+    /**
+     * Constructs a GLContextState instance where every binding is unknown.
+     */
+    private GLContextState() {
+        this.enabled = true;
+        this.unbindPolicy = GLUnbindPolicy.WhenRequired;
+        this.buffers = new int[GLBufferTarget.values().length];
+        this.bufferBindings = new GLBufferBindings[GLBufferTarget.values().length];
+        this.textures = new int[INITIAL_TEXTURE_UNITS][GLTextureTarget.values().length];
+        invalidate();
+    }
+
+    /**
+     * Returns {@code true} if bind calls are cached.
+     *
+     * @return if the cache is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets if bind calls are cached.  When disabled, every bind and unbind is passed straight to OpenGL.  Changing this
+     * invalidates the cache.
+     *
+     * @param enabled if the cache is enabled.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        invalidate();
+    }
+
+    /**
+     * Returns the policy followed when objects are unbound.
+     *
+     * @return the unbind policy.
+     */
+    public GLUnbindPolicy getUnbindPolicy() {
+        return unbindPolicy;
+    }
+
+    /**
+     * Sets the policy followed when objects are unbound.
+     *
+     * @param unbindPolicy the unbind policy.
+     */
+    public void setUnbindPolicy(GLUnbindPolicy unbindPolicy) {
+        this.unbindPolicy = unbindPolicy;
+    }
+
+    /**
+     * Forgets every binding.  This must be called after the context was changed by anything other than this library.
+     */
+    public void invalidate() {
+        Arrays.fill(buffers, UNKNOWN);
+        for (GLBufferBindings bindings : bufferBindings) {
+            if (bindings != null) {
+                bindings.invalidate();
+            }
+        }
+        for (int[] unit : textures) {
+            Arrays.fill(unit, UNKNOWN);
+        }
+        activeTexture = UNKNOWN;
+        vertexArray = UNKNOWN;
+        program = UNKNOWN;
+        transformFeedback = UNKNOWN;
+    }
+
+
+    // ========================== //
+    // ***** Buffer Targets ***** //
+    // ========================== //
+
+    /**
+     * Returns {@code true} if the specified buffer is known to be bound to the specified target.
+     *
+     * @param target the buffer target.
+     * @param index the buffer index.
+     * @return if the buffer is bound.
+     */
+    public boolean isBufferBound(GLBufferTarget target, int index) {
+        return enabled && buffers[target.ordinal()] == index;
+    }
+
+    /**
+     * Binds the specified buffer to the specified target, unless it is already bound.
+     *
+     * <p>The element array binding is part of the bound vertex array, and a vertex array may be left bound after it was
+     * unbound by the unbind policy.  So that binding an element array buffer to write or read it does not replace the
+     * indices of that vertex array, any vertex array which may be bound is unbound first.  Use {@link
+     * #attachElementArray(int)} to bind indices to a vertex array on purpose.
+     *
+     * @param target the buffer target.
+     * @param index the buffer index.
+     */
+    public void bindBuffer(GLBufferTarget target, int index) {
+        if (!isBufferBound(target, index)) {
+            if (target == GLBufferTarget.ElementArray && vertexArray != GLIndexed.NULL_INDEX) {
+                bindVertexArray(GLIndexed.NULL_INDEX);
+            }
+            GL15.glBindBuffer(target.glInt(), index);
+            buffers[target.ordinal()] = index;
+        }
+    }
+
+    /**
+     * Binds the specified buffer to the element array target of the bound vertex array, where it stays attached as
+     * part of the vertex array, unless it is already bound.
+     *
+     * @param index the buffer index.
+     */
+    public void attachElementArray(int index) {
+        if (!isBufferBound(GLBufferTarget.ElementArray, index)) {
+            GL15.glBindBuffer(GLBufferTarget.ElementArray.glInt(), index);
+            buffers[GLBufferTarget.ElementArray.ordinal()] = index;
+        }
+    }
+
+    /**
+     * Unbinds whatever buffer is bound to the specified target, following the unbind policy.
+     *
+     * @param target the buffer target.
+     */
+    public void unbindBuffer(GLBufferTarget target) {
+        if (!enabled || unbindPolicy == GLUnbindPolicy.Always || requiresUnbind(target)) {
+            bindBuffer(target, GLIndexed.NULL_INDEX);
+        }
+    }
+
+    /**
+     * Records that the specified buffer was bound to the specified target by a call other than {@link
+     * #bindBuffer(GLBufferTarget, int)}, such as an indexed bind.
+     *
+     * @param target the buffer target.
+     * @param index the buffer index.
+     */
+    public void setBufferBound(GLBufferTarget target, int index) {
+        buffers[target.ordinal()] = index;
+    }
+
+    /**
+     * Records that the specified buffer was deleted.  OpenGL reverts every binding of a deleted buffer to zero.
+     *
+     * @param index the deleted buffer index.
+     */
+    public void forgetBuffer(int index) {
+        for (int i = 0; i < buffers.length; i++) {
+            if (buffers[i] == index) {
+                buffers[i] = GLIndexed.NULL_INDEX;
+            }
+        }
+        for (GLBufferBindings bindings : bufferBindings) {
+            if (bindings != null) {
+                bindings.forgetBuffer(index);
+            }
+        }
+    }
+
+    /**
+     * Returns the indexed binding points of the specified buffer target in this context.  Binding points must be
+     * allocated from and bound through this instance, so that independent code never shares a binding point by
+     * accident.
+     *
+     * @param target the indexed buffer target.
+     * @return the binding points of the target.
+     * @throws com.game30.javagl.buffers.GLBufferException if the target does not have indexed binding points.
+     */
+    public GLBufferBindings getBufferBindings(GLBufferTarget target) {
+        GLBufferBindings bindings = bufferBindings[target.ordinal()];
+        if (bindings == null) {
+            bindings = new GLBufferBindings(target) {};
+            bufferBindings[target.ordinal()] = bindings;
+        }
+        return bindings;
+    }
+
+    /**
+     * Returns {@code true} if a buffer left bound to the specified target would change the behavior of later calls.
+     * Buffers bound to the pixel targets turn client memory pointers of pixel transfers into buffer offsets.
+     *
+     * @param target the buffer target.
+     * @return if the target must be unbound.
+     */
+    private static boolean requiresUnbind(GLBufferTarget target) {
+        return target == GLBufferTarget.PixelPack || target == GLBufferTarget.PixelUnpack;
+    }
+
+
+    // ==================== //
+    // ***** Textures ***** //
+    // ==================== //
+
+    /**
+     * Makes the specified texture unit active, unless it already is.
+     *
+     * @param unit the texture unit, starting from zero.
+     */
+    public void activeTexture(int unit) {
+        if (!enabled || activeTexture != unit) {
+            GL13.glActiveTexture(GL13.GL_TEXTURE0 + unit);
+            activeTexture = unit;
+            if (unit >= textures.length) {
+                int length = textures.length;
+                textures = Arrays.copyOf(textures, Math.max(unit + 1, length << 1));
+                for (int i = length; i < textures.length; i++) {
+                    textures[i] = new int[GLTextureTarget.values().length];
+                    Arrays.fill(textures[i], UNKNOWN);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if the specified texture is known to be bound to the specified target of the active texture
+     * unit.
+     *
+     * @param target the texture target.
+     * @param index the texture index.
+     * @return if the texture is bound.
+     */
+    public boolean isTextureBound(GLTextureTarget target, int index) {
+        return enabled && activeTexture != UNKNOWN && textures[activeTexture][target.ordinal()] == index;
+    }
+
+    /**
+     * Binds the specified texture to the specified target of the active texture unit, unless it is already bound.
+     *
+     * @param target the texture target.
+     * @param index the texture index.
+     */
+    public void bindTexture(GLTextureTarget target, int index) {
+        if (!isTextureBound(target, index)) {
+            GL11.glBindTexture(target.glInt(), index);
+            if (activeTexture != UNKNOWN) {
+                textures[activeTexture][target.ordinal()] = index;
+            }
+        }
+    }
+
+    /**
+     * Binds the specified texture to the specified target of the specified texture unit, unless it is already bound.
+     *
+     * @param unit the texture unit, starting from zero.
+     * @param target the texture target.
+     * @param index the texture index.
+     */
+    public void bindTexture(int unit, GLTextureTarget target, int index) {
+        if (!enabled || unit >= textures.length || textures[unit][target.ordinal()] != index) {
+            activeTexture(unit);
+            bindTexture(target, index);
+        }
+    }
+
+    /**
+     * Unbinds whatever texture is bound to the specified target of the active texture unit, following the unbind
+     * policy.
+     *
+     * @param target the texture target.
+     */
+    public void unbindTexture(GLTextureTarget target) {
+        if (!enabled || unbindPolicy == GLUnbindPolicy.Always) {
+            bindTexture(target, GLIndexed.NULL_INDEX);
+        }
+    }
+
+    /**
+     * Records that the specified texture was deleted.  OpenGL reverts every binding of a deleted texture to zero.
+     *
+     * @param index the deleted texture index.
+     */
+    public void forgetTexture(int index) {
+        for (int[] unit : textures) {
+            for (int i = 0; i < unit.length; i++) {
+                if (unit[i] == index) {
+                    unit[i] = GLIndexed.NULL_INDEX;
+                }
+            }
+        }
+    }
+
+
+    // ========================= //
+    // ***** Vertex Arrays ***** //
+    // ========================= //
+
+    /**
+     * Returns {@code true} if the specified vertex array is known to be bound.
+     *
+     * @param index the vertex array index.
+     * @return if the vertex array is bound.
+     */
+    public boolean isVertexArrayBound(int index) {
+        return enabled && vertexArray == index;
+    }
+
+    /**
+     * Binds the specified vertex array, unless it is already bound.  The element array binding is part of the vertex
+     * array, so it becomes unknown whenever the vertex array changes.
+     *
+     * @param index the vertex array index.
+     */
+    public void bindVertexArray(int index) {
+        if (!isVertexArrayBound(index)) {
+            GL30.glBindVertexArray(index);
+            vertexArray = index;
+            buffers[GLBufferTarget.ElementArray.ordinal()] = UNKNOWN;
+        }
+    }
+
+    /**
+     * Unbinds whatever vertex array is bound, following the unbind policy.
+     */
+    public void unbindVertexArray() {
+        if (!enabled || unbindPolicy == GLUnbindPolicy.Always) {
+            bindVertexArray(GLIndexed.NULL_INDEX);
+        }
+    }
+
+    /**
+     * Records that the specified vertex array was deleted.  OpenGL reverts the binding of a deleted vertex array to
+     * zero.
+     *
+     * @param index the deleted vertex array index.
+     */
+    public void forgetVertexArray(int index) {
+        if (vertexArray == index) {
+            vertexArray = GLIndexed.NULL_INDEX;
+            buffers[GLBufferTarget.ElementArray.ordinal()] = UNKNOWN;
+        }
+    }
+
+
+    // ==================== //
+    // ***** Programs ***** //
+    // ==================== //
+
+    /**
+     * Returns {@code true} if the specified program is known to be in use.
+     *
+     * @param index the program index.
+     * @return if the program is in use.
+     */
+    public boolean isProgramUsed(int index) {
+        return enabled && program == index;
+    }
+
+    /**
+     * Installs the specified program as part of the current rendering state, unless it already is.
+     *
+     * @param index the program index.
+     */
+    public void useProgram(int index) {
+        if (!isProgramUsed(index)) {
+            GL20.glUseProgram(index);
+            program = index;
+        }
+    }
+
+    /**
+     * Records that the specified program was deleted.  A program in use is only deleted once it is no longer in use,
+     * so the program in use becomes unknown.
+     *
+     * @param index the deleted program index.
+     */
+    public void forgetProgram(int index) {
+        if (program == index) {
+            program = UNKNOWN;
+        }
+    }
+
+
+    // ============================== //
+    // ***** Transform Feedback ***** //
+    // ============================== //
+
+    /**
+     * Returns {@code true} if the specified transform feedback object is known to be bound.
+     *
+     * @param index the transform feedback index.
+     * @return if the transform feedback object is bound.
+     */
+    public boolean isTransformFeedbackBound(int index) {
+        return enabled && transformFeedback == index;
+    }
+
+    /**
+     * Binds the specified transform feedback object, unless it is already bound.  The transform feedback buffer
+     * bindings are part of the transform feedback object, so they become unknown whenever it changes.
+     *
+     * @param index the transform feedback index.
+     */
+    public void bindTransformFeedback(int index) {
+        if (!isTransformFeedbackBound(index)) {
+            GL40.glBindTransformFeedback(GL40.GL_TRANSFORM_FEEDBACK, index);
+            transformFeedback = index;
+            forgetTransformFeedbackBuffers();
+        }
+    }
+
+    /**
+     * Unbinds whatever transform feedback object is bound, following the unbind policy.
+     */
+    public void unbindTransformFeedback() {
+        if (!enabled || unbindPolicy == GLUnbindPolicy.Always) {
+            bindTransformFeedback(GLIndexed.NULL_INDEX);
+        }
+    }
+
+    /**
+     * Records that the specified transform feedback object was deleted.  OpenGL reverts the binding of a deleted
+     * transform feedback object to zero.
+     *
+     * @param index the deleted transform feedback index.
+     */
+    public void forgetTransformFeedback(int index) {
+        if (transformFeedback == index) {
+            transformFeedback = GLIndexed.NULL_INDEX;
+            forgetTransformFeedbackBuffers();
+        }
+    }
+
+    /**
+     * Forgets the generic and indexed transform feedback buffer bindings, which belong to the bound transform feedback
+     * object.
+     */
+    private void forgetTransformFeedbackBuffers() {
+        buffers[GLBufferTarget.TransformFeedback.ordinal()] = UNKNOWN;
+        GLBufferBindings bindings = bufferBindings[GLBufferTarget.TransformFeedback.ordinal()];
+        if (bindings != null) {
+            bindings.invalidate();
+        }
+    }
+}
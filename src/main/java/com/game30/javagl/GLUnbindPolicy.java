@@ -0,0 +1,27 @@
+package com.game30.javagl;
+
+/**
+ * An enumeration of the policies {@link GLContextState} can follow when an OpenGL object is unbound.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public enum GLUnbindPolicy {
+
+    /**
+     * Always bind the zero object when an object is unbound.  This keeps the context in the same state as if the object
+     * had never been bound, at the cost of one extra call for every bind.
+     */
+    Always,
+
+    /**
+     * Only bind the zero object when leaving the object bound would change the behavior of later calls, such as a
+     * pixel buffer changing where pixel transfers read from or write to.  Otherwise the object is left bound and the
+     * next bind of a different object replaces it.
+     */
+    WhenRequired,
+
+    // End of enumeration
+    ;
+}
@@ -0,0 +1,129 @@
+package com.game30.javagl.arrays;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL32;
+
+import com.game30.javagl.GLMagicInteger;
+import com.game30.javagl.GLMagicIntegerException;
+
+/**
+ * An enumeration of the primitive types vertices can be drawn as.
+ *
+ * @author Brian Norman
+ * @see <a href="https://www.opengl.org/wiki/Primitive">Primitive on OpenGL wiki</a>
+ * @since 1.0.0
+ */
+public enum GLDrawMode implements GLMagicInteger {
+
+    /**
+     * Each vertex is drawn as a point.
+     */
+    Points(GL11.GL_POINTS),
+
+    /**
+     * Each pair of vertices is drawn as a line.
+     */
+    Lines(GL11.GL_LINES),
+
+    /**
+     * Each vertex after the first is joined to the previous vertex by a line.
+     */
+    LineStrip(GL11.GL_LINE_STRIP),
+
+    /**
+     * Like {@link #LineStrip}, but the last vertex is also joined to the first.
+     */
+    LineLoop(GL11.GL_LINE_LOOP),
+
+    /**
+     * Each group of three vertices is drawn as a triangle.
+     */
+    Triangles(GL11.GL_TRIANGLES),
+
+    /**
+     * Each vertex after the second forms a triangle with the two vertices before it.
+     */
+    TriangleStrip(GL11.GL_TRIANGLE_STRIP),
+
+    /**
+     * Each vertex after the second forms a triangle with the vertex before it and the first vertex.
+     */
+    TriangleFan(GL11.GL_TRIANGLE_FAN),
+
+    /**
+     * Lines with adjacency information, only meaningful to a geometry shader.
+     */
+    LinesAdjacency(GL32.GL_LINES_ADJACENCY),
+
+    /**
+     * Line strips with adjacency information, only meaningful to a geometry shader.
+     */
+    LineStripAdjacency(GL32.GL_LINE_STRIP_ADJACENCY),
+
+    /**
+     * Triangles with adjacency information, only meaningful to a geometry shader.
+     */
+    TrianglesAdjacency(GL32.GL_TRIANGLES_ADJACENCY),
+
+    /**
+     * Triangle strips with adjacency information, only meaningful to a geometry shader.
+     */
+    TriangleStripAdjacency(GL32.GL_TRIANGLE_STRIP_ADJACENCY),
+
+    // End of enumeration
+    ;
+
+    /**
+     * Returns the GLDrawMode that corresponds to the specified OpenGL magic integer.
+     *
+     * @param glInt the draw mode magic integer.
+     * @return the corresponding GLDrawMode.
+     * @throws GLMagicIntegerException if the specified magic integer does not match a enumeration instance.
+     */
+    public static GLDrawMode fromGLInt(int glInt) throws GLMagicIntegerException {
+        // While it may not be the most elegant, switch is definitely the fastest.
+        switch (glInt) {
+            case GL11.GL_POINTS:
+                return GLDrawMode.Points;
+            case GL11.GL_LINES:
+                return GLDrawMode.Lines;
+            case GL11.GL_LINE_STRIP:
+                return GLDrawMode.LineStrip;
+            case GL11.GL_LINE_LOOP:
+                return GLDrawMode.LineLoop;
+            case GL11.GL_TRIANGLES:
+                return GLDrawMode.Triangles;
+            case GL11.GL_TRIANGLE_STRIP:
+                return GLDrawMode.TriangleStrip;
+            case GL11.GL_TRIANGLE_FAN:
+                return GLDrawMode.TriangleFan;
+            case GL32.GL_LINES_ADJACENCY:
+                return GLDrawMode.LinesAdjacency;
+            case GL32.GL_LINE_STRIP_ADJACENCY:
+                return GLDrawMode.LineStripAdjacency;
+            case GL32.GL_TRIANGLES_ADJACENCY:
+                return GLDrawMode.TrianglesAdjacency;
+            case GL32.GL_TRIANGLE_STRIP_ADJACENCY:
+                return GLDrawMode.TriangleStripAdjacency;
+            default:
+                throw new GLMagicIntegerException("Could not match to a GLDrawMode.");
+        }
+    }
+
+    /** The OpenGL magic integer of the draw mode. */
+    private final int glInt;
+
+    /**
+     * Creates a new draw mode with the specified magic integer.
+     *
+     * @param glInt the draw mode magic integer.
+     */
+    GLDrawMode(int glInt) {
+        this.glInt = glInt;
+    }
+
+    @Override
+    public int glInt() {
+        return glInt;
+    }
+}
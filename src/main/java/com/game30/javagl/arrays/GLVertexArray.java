@@ -1,13 +1,19 @@
 package com.game30.javagl.arrays;
 
+import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL20;
 import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL43;
 
+import com.game30.javagl.GLContextState;
 import com.game30.javagl.GLDeletable;
 import com.game30.javagl.GLIndexed;
 import com.game30.javagl.GLObject;
 import com.game30.javagl.buffers.GLBuffer;
+import com.game30.javagl.buffers.GLDrawIndirectBuffer;
+import com.game30.javagl.buffers.GLIndexBuffer;
 import com.game30.javagl.programs.GLAttribute;
+import com.game30.javagl.programs.GLProgram;
 
 /**
  * A vertex array can combine multiple buffers by attaching them to specific attributes of an OpenGL program.  A vertex
@@ -21,8 +27,12 @@ import com.game30.javagl.programs.GLAttribute;
  */
 public interface GLVertexArray extends GLObject {
 
+    /**
+     * Static method to unbind any OpenGL vertex array from the current context.  This will bind the NULL index to clear
+     * any previously bound vertex array.
+     */
     static void unbindAny() {
-        GL30.glBindVertexArray(GLIndexed.NULL_INDEX);
+        GLContextState.current().bindVertexArray(GLIndexed.NULL_INDEX);
     }
 
 
@@ -45,28 +55,34 @@ public interface GLVertexArray extends GLObject {
     default void delete() {
         if (exists()) {
             GL30.glDeleteVertexArrays(getIndex());
+            GLContextState.current().forgetVertexArray(getIndex());
         }
     }
 
     /**
      * {@inheritDoc}
      *
-     * <p>Default implementation is to require existence then request OpenGL to bind the vertex array to the context.
+     * <p>Default implementation is to do nothing if the vertex array is already bound, otherwise require existence
+     * then bind the vertex array through the {@link GLContextState}.
      */
     @Override
     default void bind() {
-        GLDeletable.requireExists(this);
-        GL30.glBindVertexArray(getIndex());
+        GLContextState state = GLContextState.current();
+        if (!state.isVertexArrayBound(getIndex())) {
+            GLDeletable.requireExists(this);
+            state.bindVertexArray(getIndex());
+        }
     }
 
     /**
      * {@inheritDoc}
      *
-     * <p>Default implementation is to unbind any vertex array currently bound to the context.
+     * <p>Default implementation is to unbind any vertex array through the {@link GLContextState}, which only binds the
+     * zero vertex array when its {@link com.game30.javagl.GLUnbindPolicy} requires it.
      */
     @Override
     default void unbind() {
-        unbindAny();
+        GLContextState.current().unbindVertexArray();
     }
 
     /**
@@ -109,4 +125,132 @@ public interface GLVertexArray extends GLObject {
                                    attribute.isNormalized(), attribute.getStride(), attribute.getOffset());
         buffer.unbind();
     }
+
+    /**
+     * Attaches the specified OpenGL buffer holding interleaved vertices of the specified layout to the attributes of
+     * the specified OpenGL GLSL program.  Each program attribute named in the layout is configured from the layout and
+     * attached.  Layout attributes which the program does not use are skipped, so one layout can be shared by programs
+     * which only read some of the attributes.
+     *
+     * <p>Default implementation is to bind the buffer once, then enable and set the vertex attribute pointer of each
+     * used attribute.
+     *
+     * @param layout the layout of the vertices in the buffer.
+     * @param program the OpenGL GLSL program whose attributes to attach.
+     * @param buffer the OpenGL buffer to attach.
+     */
+    default void attach(GLVertexLayout layout, GLProgram program, GLBuffer buffer) {
+        bind();
+        buffer.bind();
+        for (int i = 0; i < layout.getCount(); i++) {
+            if (GL20.glGetAttribLocation(program.getIndex(), layout.getName(i)) < 0) {
+                continue;
+            }
+            GLAttribute attribute = program.getAttribute(layout.getName(i));
+            layout.configure(i, attribute);
+            GL20.glEnableVertexAttribArray(attribute.getIndex());
+            GL20.glVertexAttribPointer(attribute.getIndex(), attribute.getSize(), attribute.getType().glInt(),
+                                       attribute.isNormalized(), attribute.getStride(), attribute.getOffset());
+        }
+        buffer.unbind();
+    }
+
+    /**
+     * Draws the specified range of vertices of the vertex array in order.
+     *
+     * <p>Default implementation is to bind the vertex array then draw the arrays.
+     *
+     * @param mode the primitive type to draw.
+     * @param first the first vertex to draw.
+     * @param count the number of vertices to draw.
+     */
+    default void draw(GLDrawMode mode, int first, int count) {
+        bind();
+        GL11.glDrawArrays(mode.glInt(), first, count);
+    }
+
+    /**
+     * Draws the vertices of the vertex array selected by all of the specified indices.
+     *
+     * @param mode the primitive type to draw.
+     * @param indices the indices of the vertices to draw.
+     * @see #draw(GLDrawMode, GLIndexBuffer, int, int)
+     */
+    default void draw(GLDrawMode mode, GLIndexBuffer indices) {
+        draw(mode, indices, 0, indices.getCount());
+    }
+
+    /**
+     * Draws the vertices of the vertex array selected by the specified range of indices.  The draw uses the index type
+     * of the index buffer, and primitive restart is enabled for the draw if the index buffer uses it.
+     *
+     * <p>Default implementation is to bind the vertex array then attach the index buffer, which stays attached to the
+     * vertex array, then draw the elements.
+     *
+     * @param mode the primitive type to draw.
+     * @param indices the indices of the vertices to draw.
+     * @param first the first index to draw.
+     * @param count the number of indices to draw.
+     */
+    default void draw(GLDrawMode mode, GLIndexBuffer indices, int first, int count) {
+        bind();
+        indices.attach();
+        long offset = (long) first * indices.getIndexType().getByteSize();
+        if (indices.hasRestart()) {
+            GL11.glEnable(GL43.GL_PRIMITIVE_RESTART_FIXED_INDEX);
+            GL11.glDrawElements(mode.glInt(), count, indices.getIndexType().glInt(), offset);
+            GL11.glDisable(GL43.GL_PRIMITIVE_RESTART_FIXED_INDEX);
+        } else {
+            GL11.glDrawElements(mode.glInt(), count, indices.getIndexType().glInt(), offset);
+        }
+    }
+
+    /**
+     * Draws the vertex array once for every command in the specified non-indexed indirect buffer, with a single call.
+     * The commands must have been uploaded to the buffer.
+     *
+     * <p>Default implementation is to bind the vertex array and the command buffer then multi-draw the arrays.
+     *
+     * @param mode the primitive type to draw.
+     * @param commands the draw commands.
+     */
+    default void drawIndirect(GLDrawMode mode, GLDrawIndirectBuffer commands) {
+        if (commands.isIndexed()) {
+            throw new GLVertexArrayException("Cannot draw indexed commands of [" + commands + "] without indices.");
+        }
+        bind();
+        commands.bind();
+        GL43.glMultiDrawArraysIndirect(mode.glInt(), 0, commands.getCommandCount(), commands.getStride());
+        commands.unbind();
+    }
+
+    /**
+     * Draws the vertices of the vertex array selected by the specified indices once for every command in the specified
+     * indexed indirect buffer, with a single call.  The commands must have been uploaded to the buffer, and primitive
+     * restart is enabled for the draw if the index buffer uses it.
+     *
+     * <p>Default implementation is to bind the vertex array, attach the index buffer, bind the command buffer then
+     * multi-draw the elements.
+     *
+     * @param mode the primitive type to draw.
+     * @param indices the indices of the vertices to draw.
+     * @param commands the draw commands.
+     */
+    default void drawIndirect(GLDrawMode mode, GLIndexBuffer indices, GLDrawIndirectBuffer commands) {
+        if (!commands.isIndexed()) {
+            throw new GLVertexArrayException("Cannot draw non-indexed commands of [" + commands + "] with indices.");
+        }
+        bind();
+        indices.attach();
+        commands.bind();
+        int type = indices.getIndexType().glInt();
+        if (indices.hasRestart()) {
+            GL11.glEnable(GL43.GL_PRIMITIVE_RESTART_FIXED_INDEX);
+            GL43.glMultiDrawElementsIndirect(mode.glInt(), type, 0, commands.getCommandCount(), commands.getStride());
+            GL11.glDisable(GL43.GL_PRIMITIVE_RESTART_FIXED_INDEX);
+        } else {
+            GL43.glMultiDrawElementsIndirect(mode.glInt(), type, 0, commands.getCommandCount(), commands.getStride());
+        }
+        commands.unbind();
+    }
 }
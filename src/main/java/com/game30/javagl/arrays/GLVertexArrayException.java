@@ -0,0 +1,46 @@
+package com.game30.javagl.arrays;
+
+import com.game30.javagl.GLException;
+
+/**
+ * A {@link GLException} specific to {@link GLVertexArray}s.
+ *
+ * @author Brian Norman
+ * @since 1.0.0
+ */
+public class GLVertexArrayException extends GLException {
+
+    /**
+     * Constructs a new OpenGL exception.
+     */
+    public GLVertexArrayException() {
+    }
+
+    /**
+     * Constructs a new exception with the specified message.
+     *
+     * @param message the exception message.
+     */
+    public GLVertexArrayException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new OpenGL exception that wraps the specified cause with the specified message.
+     *
+     * @param message the exception message.
+     * @param cause the exception cause.
+     */
+    public GLVertexArrayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Constructs a new OpenGL exception that wraps the specified cause.
+     *
+     * @param cause the exception cause.
+     */
+    public GLVertexArrayException(Throwable cause) {
+        super(cause);
+    }
+}
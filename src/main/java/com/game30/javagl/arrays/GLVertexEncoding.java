@@ -0,0 +1,387 @@
+package com.game30.javagl.arrays;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.stream.IntStream;
+
+/**
+ * Static encoders which convert float vertex data into compact attribute formats and write it straight into direct
+ * buffers.  Normals, tangents and texture coordinates rarely need full 32-bit floats, and the compact formats halve the
+ * memory and bandwidth they use or better.
+ *
+ * <ul>
+ * <li>{@link #encodeHalf} writes {@link com.game30.javagl.programs.GLAttributeType#HalfFloat} components.</li>
+ * <li>{@link #encodeSnorm16} and {@link #encodeUnorm16} write normalized {@code Short} and {@code UnsignedShort}
+ * components, and {@link #encodeSnorm8} and {@link #encodeUnorm8} normalized {@code Byte} and {@code UnsignedByte}
+ * components.  Attributes of these formats must be added to a layout as normalized.</li>
+ * <li>{@link #encodeSnorm2101010} and {@link #encodeUnorm2101010} write {@code Int2101010Rev} and {@code
+ * UnsignedInt2101010Rev} values, packing all four components of a vertex into 32 bits.</li>
+ * </ul>
+ *
+ * <p>Each encoder takes the source floats with a number of components per vertex and writes the encoded vertices at a
+ * byte offset and stride from the position of the destination, so data can be written straight into an interleaved
+ * buffer described by a {@link GLVertexLayout}.  The position of the destination is not changed.  Large arrays are
+ * encoded in parallel.
+ *
+ * @author Brian Norman
+ * @since 1.0.0
+ */
+public final class GLVertexEncoding {
+
+    /** The number of vertices above which encoding is split across threads. */
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    /** The number of vertices encoded by each parallel task. */
+    private static final int CHUNK_SIZE = 1 << 13;
+
+    /**
+     * Private constructor since this class only has static methods.
+     */
+    private GLVertexEncoding() {
+    }
+
+    /**
+     * Converts the specified float to the bits of the nearest half precision float.  Values too large for a half
+     * float become infinity and values too small become zero or a subnormal half float.  Ties round to even.
+     *
+     * @param value the float value.
+     * @return the half float bits.
+     */
+    public static short toHalf(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        int sign = (bits >>> 16) & 0x8000;
+        int abs = bits & 0x7fffffff;
+        if (abs >= 0x7f800000) {
+            // Infinity stays infinity and NaN stays a quiet NaN.
+            return (short) (sign | 0x7c00 | (abs > 0x7f800000 ? 0x0200 : 0));
+        } else if (abs >= 0x477ff000) {
+            // 65520 and above round past the largest half float.
+            return (short) (sign | 0x7c00);
+        } else if (abs < 0x38800000) {
+            // Below the smallest normal half float, so the result is subnormal in units of 2^-24.
+            if (abs < 0x33000000) {
+                return (short) sign;
+            }
+            int exponent = abs >>> 23;
+            int mantissa = (abs & 0x007fffff) | 0x00800000;
+            int shift = 126 - exponent;
+            int half = mantissa >>> shift;
+            int remainder = mantissa & ((1 << shift) - 1);
+            int halfway = 1 << (shift - 1);
+            if (remainder > halfway || (remainder == halfway && (half & 1) != 0)) {
+                half++;
+            }
+            return (short) (sign | half);
+        }
+        int half = ((abs >>> 23) - 112) << 10 | (abs & 0x007fffff) >>> 13;
+        int remainder = abs & 0x1fff;
+        if (remainder > 0x1000 || (remainder == 0x1000 && (half & 1) != 0)) {
+            // A carry out of the mantissa correctly moves to the next exponent.
+            half++;
+        }
+        return (short) (sign | half);
+    }
+
+    /**
+     * Converts the specified half precision float bits to a float.
+     *
+     * @param half the half float bits.
+     * @return the float value.
+     */
+    public static float fromHalf(short half) {
+        int sign = (half & 0x8000) << 16;
+        int exponent = (half >>> 10) & 0x1f;
+        int mantissa = half & 0x03ff;
+        if (exponent == 0x1f) {
+            return Float.intBitsToFloat(sign | 0x7f800000 | mantissa << 13);
+        } else if (exponent == 0) {
+            float value = mantissa * (1.0f / (1 << 24));
+            return sign == 0 ? value : -value;
+        }
+        return Float.intBitsToFloat(sign | (exponent + 112) << 23 | mantissa << 13);
+    }
+
+    /**
+     * Packs the specified signed normalized components into a {@code GL_INT_2_10_10_10_REV} value.  Components are
+     * clamped to {@code [-1, 1]}.
+     *
+     * @param x the first component.
+     * @param y the second component.
+     * @param z the third component.
+     * @param w the fourth component.
+     * @return the packed value.
+     */
+    public static int packSnorm2101010(float x, float y, float z, float w) {
+        return snorm(x, 511) & 0x3ff | (snorm(y, 511) & 0x3ff) << 10 | (snorm(z, 511) & 0x3ff) << 20
+               | (snorm(w, 1) & 0x3) << 30;
+    }
+
+    /**
+     * Packs the specified unsigned normalized components into a {@code GL_UNSIGNED_INT_2_10_10_10_REV} value.
+     * Components are clamped to {@code [0, 1]}.
+     *
+     * @param x the first component.
+     * @param y the second component.
+     * @param z the third component.
+     * @param w the fourth component.
+     * @return the packed value.
+     */
+    public static int packUnorm2101010(float x, float y, float z, float w) {
+        return unorm(x, 1023) | unorm(y, 1023) << 10 | unorm(z, 1023) << 20 | unorm(w, 3) << 30;
+    }
+
+    /**
+     * Encodes the specified floats as half floats.
+     *
+     * @param source the source floats.
+     * @param components the number of components per vertex.
+     * @param destination the destination buffer.
+     * @param offset the byte offset of the first vertex from the destination position.
+     * @param stride the byte stride between vertices.
+     */
+    public static void encodeHalf(float[] source, int components, ByteBuffer destination, int offset, int stride) {
+        encode(Format.Half, source, components, destination, offset, stride);
+    }
+
+    /**
+     * Encodes the specified floats as signed normalized shorts.  Values are clamped to {@code [-1, 1]}.
+     *
+     * @param source the source floats.
+     * @param components the number of components per vertex.
+     * @param destination the destination buffer.
+     * @param offset the byte offset of the first vertex from the destination position.
+     * @param stride the byte stride between vertices.
+     */
+    public static void encodeSnorm16(float[] source, int components, ByteBuffer destination, int offset, int stride) {
+        encode(Format.Snorm16, source, components, destination, offset, stride);
+    }
+
+    /**
+     * Encodes the specified floats as unsigned normalized shorts.  Values are clamped to {@code [0, 1]}.
+     *
+     * @param source the source floats.
+     * @param components the number of components per vertex.
+     * @param destination the destination buffer.
+     * @param offset the byte offset of the first vertex from the destination position.
+     * @param stride the byte stride between vertices.
+     */
+    public static void encodeUnorm16(float[] source, int components, ByteBuffer destination, int offset, int stride) {
+        encode(Format.Unorm16, source, components, destination, offset, stride);
+    }
+
+    /**
+     * Encodes the specified floats as signed normalized bytes.  Values are clamped to {@code [-1, 1]}.
+     *
+     * @param source the source floats.
+     * @param components the number of components per vertex.
+     * @param destination the destination buffer.
+     * @param offset the byte offset of the first vertex from the destination position.
+     * @param stride the byte stride between vertices.
+     */
+    public static void encodeSnorm8(float[] source, int components, ByteBuffer destination, int offset, int stride) {
+        encode(Format.Snorm8, source, components, destination, offset, stride);
+    }
+
+    /**
+     * Encodes the specified floats as unsigned normalized bytes.  Values are clamped to {@code [0, 1]}.
+     *
+     * @param source the source floats.
+     * @param components the number of components per vertex.
+     * @param destination the destination buffer.
+     * @param offset the byte offset of the first vertex from the destination position.
+     * @param stride the byte stride between vertices.
+     */
+    public static void encodeUnorm8(float[] source, int components, ByteBuffer destination, int offset, int stride) {
+        encode(Format.Unorm8, source, components, destination, offset, stride);
+    }
+
+    /**
+     * Encodes the specified floats as packed {@code GL_INT_2_10_10_10_REV} values, one per vertex.  Vertices of three
+     * components, such as normals, are packed with a fourth component of zero.
+     *
+     * @param source the source floats.
+     * @param components the number of components per vertex, which must be {@code 3} or {@code 4}.
+     * @param destination the destination buffer.
+     * @param offset the byte offset of the first vertex from the destination position.
+     * @param stride the byte stride between vertices.
+     */
+    public static void encodeSnorm2101010(float[] source, int components, ByteBuffer destination, int offset,
+                                          int stride) {
+        encode(Format.Snorm2101010, source, components, destination, offset, stride);
+    }
+
+    /**
+     * Encodes the specified floats as packed {@code GL_UNSIGNED_INT_2_10_10_10_REV} values, one per vertex.  Vertices
+     * of three components are packed with a fourth component of zero.
+     *
+     * @param source the source floats.
+     * @param components the number of components per vertex, which must be {@code 3} or {@code 4}.
+     * @param destination the destination buffer.
+     * @param offset the byte offset of the first vertex from the destination position.
+     * @param stride the byte stride between vertices.
+     */
+    public static void encodeUnorm2101010(float[] source, int components, ByteBuffer destination, int offset,
+                                          int stride) {
+        encode(Format.Unorm2101010, source, components, destination, offset, stride);
+    }
+
+    /**
+     * Encodes the specified floats in the specified format, splitting large arrays across threads.
+     *
+     * @param format the encoded format.
+     * @param source the source floats.
+     * @param components the number of components per vertex.
+     * @param destination the destination buffer.
+     * @param offset the byte offset of the first vertex from the destination position.
+     * @param stride the byte stride between vertices.
+     */
+    private static void encode(Format format, float[] source, int components, ByteBuffer destination, int offset,
+                               int stride) {
+        if (components < 1 || components > 4 || (format.packed && components < 3)) {
+            throw new GLVertexArrayException("Cannot encode [" + components + "] components as [" + format + "].");
+        }
+        int count = source.length / components;
+        int vertexSize = format.packed ? 4 : format.byteSize * components;
+        if (count > 0 && offset + (long) (count - 1) * stride + vertexSize > destination.remaining()) {
+            throw new GLVertexArrayException("Destination has [" + destination.remaining() + "] bytes remaining but ["
+                                             + count + "] vertices do not fit.");
+        }
+        // Absolute puts on separate duplicates never touch shared state, so chunks can be written concurrently.
+        int base = destination.position() + offset;
+        if (count < PARALLEL_THRESHOLD) {
+            encodeRange(format, source, components, destination, base, stride, 0, count);
+        } else {
+            int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> encodeRange(
+                    format, source, components, destination, base, stride, chunk * CHUNK_SIZE,
+                    Math.min(count, (chunk + 1) * CHUNK_SIZE)));
+        }
+    }
+
+    /**
+     * Encodes the specified range of vertices.
+     *
+     * @param format the encoded format.
+     * @param source the source floats.
+     * @param components the number of components per vertex.
+     * @param destination the destination buffer.
+     * @param base the byte index of the first vertex.
+     * @param stride the byte stride between vertices.
+     * @param from the first vertex to encode.
+     * @param to the vertex after the last vertex to encode.
+     */
+    private static void encodeRange(Format format, float[] source, int components, ByteBuffer destination, int base,
+                                    int stride, int from, int to) {
+        ByteBuffer out = destination.duplicate().order(ByteOrder.nativeOrder());
+        int src = from * components;
+        for (int v = from, dst = base + from * stride; v < to; v++, dst += stride, src += components) {
+            switch (format) {
+                case Snorm2101010:
+                    out.putInt(dst, packSnorm2101010(source[src], source[src + 1], source[src + 2],
+                                                     components == 4 ? source[src + 3] : 0));
+                    break;
+                case Unorm2101010:
+                    out.putInt(dst, packUnorm2101010(source[src], source[src + 1], source[src + 2],
+                                                     components == 4 ? source[src + 3] : 0));
+                    break;
+                case Half:
+                    for (int c = 0; c < components; c++) {
+                        out.putShort(dst + (c << 1), toHalf(source[src + c]));
+                    }
+                    break;
+                case Snorm16:
+                    for (int c = 0; c < components; c++) {
+                        out.putShort(dst + (c << 1), (short) snorm(source[src + c], Short.MAX_VALUE));
+                    }
+                    break;
+                case Unorm16:
+                    for (int c = 0; c < components; c++) {
+                        out.putShort(dst + (c << 1), (short) unorm(source[src + c], 0xffff));
+                    }
+                    break;
+                case Snorm8:
+                    for (int c = 0; c < components; c++) {
+                        out.put(dst + c, (byte) snorm(source[src + c], Byte.MAX_VALUE));
+                    }
+                    break;
+                case Unorm8:
+                    for (int c = 0; c < components; c++) {
+                        out.put(dst + c, (byte) unorm(source[src + c], 0xff));
+                    }
+                    break;
+                default:
+                    throw new GLVertexArrayException("Unknown format [" + format + "].");
+            }
+        }
+    }
+
+    /**
+     * Converts the specified value to a signed normalized integer with the specified maximum.
+     *
+     * @param value the value.
+     * @param max the largest integer.
+     * @return the signed normalized integer.
+     */
+    private static int snorm(float value, int max) {
+        return Math.round(Math.max(-1.0f, Math.min(1.0f, value)) * max);
+    }
+
+    /**
+     * Converts the specified value to an unsigned normalized integer with the specified maximum.
+     *
+     * @param value the value.
+     * @param max the largest integer.
+     * @return the unsigned normalized integer.
+     */
+    private static int unorm(float value, int max) {
+        return Math.round(Math.max(0.0f, Math.min(1.0f, value)) * max);
+    }
+
+
+    /**
+     * The encoded formats.
+     */
+    private enum Format {
+
+        /** Half floats. */
+        Half(2, false),
+
+        /** Signed normalized shorts. */
+        Snorm16(2, false),
+
+        /** Unsigned normalized shorts. */
+        Unorm16(2, false),
+
+        /** Signed normalized bytes. */
+        Snorm8(1, false),
+
+        /** Unsigned normalized bytes. */
+        Unorm8(1, false),
+
+        /** Signed normalized packed 10_10_10_2 integers. */
+        Snorm2101010(4, true),
+
+        /** Unsigned normalized packed 10_10_10_2 integers. */
+        Unorm2101010(4, true),
+
+        // End of enumeration
+        ;
+
+        /** The byte size of an encoded component. */
+        private final int byteSize;
+
+        /** If all components of a vertex are packed into one value. */
+        private final boolean packed;
+
+        /**
+         * Creates a new format.
+         *
+         * @param byteSize the byte size of an encoded component.
+         * @param packed if all components of a vertex are packed into one value.
+         */
+        Format(int byteSize, boolean packed) {
+            this.byteSize = byteSize;
+            this.packed = packed;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.game30.javagl.arrays;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.game30.javagl.memory.GLMemory;
+import com.game30.javagl.programs.GLAttribute;
+import com.game30.javagl.programs.GLAttributeType;
+
+/**
+ * A GLVertexLayout describes how the attributes of a vertex are interleaved within a single buffer.  Attributes are
+ * added in order by name, size and type, and the byte offset of each attribute and the stride of a vertex are computed
+ * from them.  Each attribute is aligned to four bytes, or to its component size if that is larger, and the stride is
+ * padded to the largest alignment so every vertex is aligned the same way.
+ *
+ * <p>Interleaving keeps all the attributes of a vertex next to each other, which improves the cache locality of vertex
+ * fetching and needs only one buffer for all attributes.  Data kept as one buffer per attribute can be interleaved with
+ * {@link #pack(Buffer...)}, and a vertex array is set up for the layout with {@link GLVertexArray#attach(
+ * GLVertexLayout, com.game30.javagl.programs.GLProgram, com.game30.javagl.buffers.GLBuffer)}.
+ *
+ * @author Brian Norman
+ * @since 1.0.0
+ */
+public class GLVertexLayout {
+
+    /** The smallest byte alignment of an attribute. */
+    private static final int MIN_ALIGNMENT = 4;
+
+    /** The elements of the layout in order. */
+    private final List<Element> elements;
+
+    /** The byte size of a vertex before padding. */
+    private int size;
+
+    /** The largest byte alignment of an element. */
+    private int alignment;
+
+    /**
+     * Constructs an empty GLVertexLayout instance.
+     */
+    public GLVertexLayout() {
+        this.elements = new ArrayList<>();
+        this.alignment = MIN_ALIGNMENT;
+    }
+
+    /**
+     * Adds an attribute which is not normalized to the end of the layout.
+     *
+     * @param name the attribute name.
+     * @param size the attribute array size.
+     * @param type the attribute primitive type.
+     * @return this layout.
+     */
+    public GLVertexLayout add(CharSequence name, int size, GLAttributeType type) {
+        return add(name, size, type, false);
+    }
+
+    /**
+     * Adds an attribute to the end of the layout.
+     *
+     * @param name the attribute name.
+     * @param size the attribute array size.
+     * @param type the attribute primitive type.
+     * @param normalized if fixed-point values of the attribute are normalized.
+     * @return this layout.
+     */
+    public GLVertexLayout add(CharSequence name, int size, GLAttributeType type, boolean normalized) {
+        if (size < 1 || size > 4) {
+            throw new GLVertexArrayException("Attribute [" + name + "] size [" + size + "] is not within [1, 4].");
+        } else if (type.isPacked() && size != 4) {
+            throw new GLVertexArrayException("Packed attribute [" + name + "] must have a size of 4.");
+        }
+        int align = Math.max(MIN_ALIGNMENT, type.getByteSize());
+        int offset = align(this.size, align);
+        elements.add(new Element(name.toString(), size, type, normalized, offset));
+        this.size = offset + type.getByteSize(size);
+        this.alignment = Math.max(alignment, align);
+        return this;
+    }
+
+    /**
+     * Returns the number of attributes in the layout.
+     *
+     * @return the attribute count.
+     */
+    public int getCount() {
+        return elements.size();
+    }
+
+    /**
+     * Returns the byte offset between the start of consecutive vertices.
+     *
+     * @return the vertex stride.
+     */
+    public int getStride() {
+        return align(size, alignment);
+    }
+
+    /**
+     * Returns the name of the attribute at the specified position.
+     *
+     * @param i the attribute position.
+     * @return the attribute name.
+     */
+    public String getName(int i) {
+        return elements.get(i).name;
+    }
+
+    /**
+     * Returns the array size of the attribute at the specified position.
+     *
+     * @param i the attribute position.
+     * @return the attribute array size.
+     */
+    public int getSize(int i) {
+        return elements.get(i).size;
+    }
+
+    /**
+     * Returns the primitive type of the attribute at the specified position.
+     *
+     * @param i the attribute position.
+     * @return the attribute primitive type.
+     */
+    public GLAttributeType getType(int i) {
+        return elements.get(i).type;
+    }
+
+    /**
+     * Returns if the attribute at the specified position is normalized.
+     *
+     * @param i the attribute position.
+     * @return if the attribute is normalized.
+     */
+    public boolean isNormalized(int i) {
+        return elements.get(i).normalized;
+    }
+
+    /**
+     * Returns the byte offset within a vertex of the attribute at the specified position.
+     *
+     * @param i the attribute position.
+     * @return the attribute byte offset.
+     */
+    public int getOffset(int i) {
+        return elements.get(i).offset;
+    }
+
+    /**
+     * Returns the position of the attribute with the specified name, or {@code -1} if the layout has no such
+     * attribute.
+     *
+     * @param name the attribute name.
+     * @return the attribute position.
+     */
+    public int indexOf(CharSequence name) {
+        String key = name.toString();
+        for (int i = 0; i < elements.size(); i++) {
+            if (elements.get(i).name.equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Sets the size, type, normalization, stride and offset of the specified program attribute from the layout
+     * attribute at the specified position.
+     *
+     * @param i the attribute position.
+     * @param attribute the program attribute to configure.
+     */
+    public void configure(int i, GLAttribute attribute) {
+        Element element = elements.get(i);
+        attribute.setSize(element.size);
+        attribute.setType(element.type);
+        attribute.setNormalized(element.normalized);
+        attribute.setStride(getStride());
+        attribute.setOffset(element.offset);
+    }
+
+    /**
+     * Interleaves the specified attribute data into a new buffer allocated from the {@link GLMemory} provider.  There
+     * must be one buffer for each attribute of the layout, in order.
+     *
+     * @param data the data of each attribute.
+     * @return the interleaved vertex data.
+     * @see #packInto(ByteBuffer, Buffer...)
+     */
+    public ByteBuffer pack(Buffer... data) {
+        ByteBuffer destination = GLMemory.allocate(getVertexCount(data) * getStride());
+        packInto(destination, data);
+        destination.flip();
+        return destination;
+    }
+
+    /**
+     * Interleaves the specified attribute data into the specified buffer starting at its position, which is advanced
+     * past the packed vertices.  There must be one buffer for each attribute of the layout, in order, and each must
+     * hold the remaining components of every vertex in the type matching the attribute: a {@link ByteBuffer} for byte
+     * types, a {@link ShortBuffer} for short types, an {@link IntBuffer} for integer types, a {@link FloatBuffer} for
+     * floats and a {@link DoubleBuffer} for doubles.  Half floats are given as a {@link ShortBuffer} and packed types
+     * as an {@link IntBuffer} with one value per vertex.  The positions of the attribute buffers are not changed.
+     * Padding bytes are left untouched.
+     *
+     * @param destination the buffer to fill.
+     * @param data the data of each attribute.
+     * @return the number of vertices packed.
+     */
+    public int packInto(ByteBuffer destination, Buffer... data) {
+        int count = getVertexCount(data);
+        int stride = getStride();
+        if (destination.remaining() < count * stride) {
+            throw new GLVertexArrayException("Destination has [" + destination.remaining() + "] bytes remaining but ["
+                                               + count * stride + "] are needed.");
+        }
+        ByteBuffer out = destination.duplicate().order(ByteOrder.nativeOrder());
+        int base = destination.position();
+        for (int i = 0; i < elements.size(); i++) {
+            Element element = elements.get(i);
+            pack(out, base + element.offset, stride, element.getComponents(), data[i], count);
+        }
+        destination.position(base + count * stride);
+        return count;
+    }
+
+    /**
+     * Returns the number of vertices held by the specified attribute data.
+     *
+     * @param data the data of each attribute.
+     * @return the vertex count.
+     */
+    private int getVertexCount(Buffer... data) {
+        if (data.length != elements.size()) {
+            throw new GLVertexArrayException("Layout has [" + elements.size() + "] attributes but [" + data.length
+                                               + "] buffers were given.");
+        }
+        int count = -1;
+        for (int i = 0; i < data.length; i++) {
+            Element element = elements.get(i);
+            if (componentSize(data[i]) != element.type.getByteSize()) {
+                throw new GLVertexArrayException("Buffer [" + data[i] + "] does not match attribute [" + element.name
+                                                   + "] of type [" + element.type + "].");
+            }
+            int vertices = data[i].remaining() / element.getComponents();
+            if (count >= 0 && vertices != count) {
+                throw new GLVertexArrayException("Attribute [" + element.name + "] has [" + vertices
+                                                   + "] vertices but [" + count + "] were expected.");
+            }
+            count = vertices;
+        }
+        return Math.max(count, 0);
+    }
+
+    /**
+     * Returns the byte size of a component of the specified buffer.
+     *
+     * @param buffer the buffer.
+     * @return the component byte size.
+     */
+    private static int componentSize(Buffer buffer) {
+        if (buffer instanceof ByteBuffer) {
+            return 1;
+        } else if (buffer instanceof ShortBuffer) {
+            return 2;
+        } else if (buffer instanceof IntBuffer || buffer instanceof FloatBuffer) {
+            return 4;
+        } else if (buffer instanceof DoubleBuffer) {
+            return 8;
+        } else {
+            throw new GLVertexArrayException("Buffer [" + buffer + "] is not a supported attribute buffer.");
+        }
+    }
+
+    /**
+     * Copies the components of one attribute of every vertex into the specified buffer.  The source type is checked
+     * once so the copy loops stay monomorphic.
+     *
+     * @param out the destination buffer.
+     * @param start the byte index of the attribute of the first vertex.
+     * @param stride the vertex stride.
+     * @param size the attribute array size.
+     * @param source the attribute data.
+     * @param count the vertex count.
+     */
+    private static void pack(ByteBuffer out, int start, int stride, int size, Buffer source, int count) {
+        int src = source.position();
+        if (source instanceof FloatBuffer) {
+            FloatBuffer in = (FloatBuffer) source;
+            for (int v = 0, dst = start; v < count; v++, dst += stride) {
+                for (int c = 0; c < size; c++) {
+                    out.putFloat(dst + (c << 2), in.get(src++));
+                }
+            }
+        } else if (source instanceof ByteBuffer) {
+            ByteBuffer in = (ByteBuffer) source;
+            for (int v = 0, dst = start; v < count; v++, dst += stride) {
+                for (int c = 0; c < size; c++) {
+                    out.put(dst + c, in.get(src++));
+                }
+            }
+        } else if (source instanceof ShortBuffer) {
+            ShortBuffer in = (ShortBuffer) source;
+            for (int v = 0, dst = start; v < count; v++, dst += stride) {
+                for (int c = 0; c < size; c++) {
+                    out.putShort(dst + (c << 1), in.get(src++));
+                }
+            }
+        } else if (source instanceof IntBuffer) {
+            IntBuffer in = (IntBuffer) source;
+            for (int v = 0, dst = start; v < count; v++, dst += stride) {
+                for (int c = 0; c < size; c++) {
+                    out.putInt(dst + (c << 2), in.get(src++));
+                }
+            }
+        } else {
+            DoubleBuffer in = (DoubleBuffer) source;
+            for (int v = 0, dst = start; v < count; v++, dst += stride) {
+                for (int c = 0; c < size; c++) {
+                    out.putDouble(dst + (c << 3), in.get(src++));
+                }
+            }
+        }
+    }
+
+    /**
+     * Rounds the specified value up to the specified power-of-two alignment.
+     *
+     * @param value the value.
+     * @param alignment the alignment.
+     * @return the aligned value.
+     */
+    private static int align(int value, int alignment) {
+        return (value + alignment - 1) & -alignment;
+    }
+
+
+    /**
+     * An attribute of the layout.
+     */
+    private static final class Element {
+
+        /** The attribute name. */
+        private final String name;
+
+        /** The attribute array size. */
+        private final int size;
+
+        /** The attribute primitive type. */
+        private final GLAttributeType type;
+
+        /** If the attribute is normalized. */
+        private final boolean normalized;
+
+        /** The byte offset of the attribute within a vertex. */
+        private final int offset;
+
+        /**
+         * Constructs an Element instance.
+         *
+         * @param name the attribute name.
+         * @param size the attribute array size.
+         * @param type the attribute primitive type.
+         * @param normalized if the attribute is normalized.
+         * @param offset the byte offset of the attribute within a vertex.
+         */
+        private Element(String name, int size, GLAttributeType type, boolean normalized, int offset) {
+            this.name = name;
+            this.size = size;
+            this.type = type;
+            this.normalized = normalized;
+            this.offset = offset;
+        }
+
+        /**
+         * Returns the number of values per vertex in the attribute data.
+         *
+         * @return the number of values per vertex.
+         */
+        private int getComponents() {
+            return type.isPacked() ? 1 : size;
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.game30.javagl.buffers;
 
 import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.CompletableFuture;
 
 import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
 
+import com.game30.javagl.GLContextState;
 import com.game30.javagl.GLDeletable;
 import com.game30.javagl.GLIndexed;
 import com.game30.javagl.GLObject;
@@ -37,7 +43,7 @@ public interface GLBuffer extends GLObject {
      * @param target the GLBufferTarget to unbind.
      */
     static void unbindTarget(GLBufferTarget target) {
-        GL15.glBindBuffer(target.glInt(), GLIndexed.NULL_INDEX);
+        GLContextState.current().bindBuffer(target, GLIndexed.NULL_INDEX);
     }
 
 
@@ -49,17 +55,33 @@ public interface GLBuffer extends GLObject {
     @Override
     default void delete() {
         GL15.glDeleteBuffers(getIndex());
+        GLContextState.current().forgetBuffer(getIndex());
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Default implementation is to do nothing if the buffer is already bound to its target, otherwise require
+     * existence then bind the buffer through the {@link GLContextState}.
+     */
     @Override
     default void bind() {
-        GLDeletable.requireExists(this);
-        GL15.glBindBuffer(getTarget().glInt(), getIndex());
+        GLContextState state = GLContextState.current();
+        if (!state.isBufferBound(getTarget(), getIndex())) {
+            GLDeletable.requireExists(this);
+            state.bindBuffer(getTarget(), getIndex());
+        }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Default implementation is to unbind the target through the {@link GLContextState}, which only binds the zero
+     * buffer when its {@link com.game30.javagl.GLUnbindPolicy} requires it.
+     */
     @Override
     default void unbind() {
-        unbindTarget(getTarget());
+        GLContextState.current().unbindBuffer(getTarget());
     }
 
     /**
@@ -84,7 +106,22 @@ public interface GLBuffer extends GLObject {
     GLBufferUsage getUsage();
 
     /**
-     * Reads data from the OpenGL buffer and returns it as a {@link Buffer}.
+     * Returns the size in bytes of the storage of the buffer.
+     *
+     * <p>Default implementation is to query OpenGL for the size of the buffer.
+     *
+     * @return buffer size in bytes.
+     */
+    default long getByteSize() {
+        bind();
+        long byteSize = GL15.glGetBufferParameteri(getTarget().glInt(), GL15.GL_BUFFER_SIZE);
+        unbind();
+        return byteSize;
+    }
+
+    /**
+     * Reads data from the OpenGL buffer and returns it as a {@link Buffer}.  The returned buffer is allocated from the
+     * {@link com.game30.javagl.memory.GLMemory} provider and can be returned to it once it is no longer needed.
      *
      * @return data from buffer.
      */
@@ -92,8 +129,8 @@ public interface GLBuffer extends GLObject {
         if (GLBufferUsageAccess.Read != getUsage().getAccess()) {
             throw new GLBufferException("Cannot read data to a [" + getUsage() + "] buffer.");
         }
+        int size = getType().fromByteSize((int) getByteSize());
         bind();
-        int size = getType().fromByteSize(GL15.glGetBufferParameteri(getTarget().glInt(), GL15.GL_BUFFER_SIZE));
         Buffer buffer = getType().readFromBuffer(getTarget(), 0, size);
         unbind();
         return buffer;
@@ -101,7 +138,8 @@ public interface GLBuffer extends GLObject {
 
     /**
      * Reads data from the OpenGL buffer at the specific offset for the specific length and returns it as a {@link
-     * Buffer}.
+     * Buffer}.  The returned buffer is allocated from the {@link com.game30.javagl.memory.GLMemory} provider and can be
+     * returned to it once it is no longer needed.
      *
      * @param offset the offset to start the read.
      * @param length the length of the read.
@@ -117,6 +155,60 @@ public interface GLBuffer extends GLObject {
         return buffer;
     }
 
+    /**
+     * Reads data from the OpenGL buffer starting at the specified byte offset into the remaining elements of the
+     * specified buffer.  This allows the same buffer to be reused for every read so no memory is allocated.  The
+     * destination does not need to be of the same primitive type as the buffer.
+     *
+     * @param destination the buffer to fill.
+     * @param byteOffset the byte offset to start the read.
+     * @return the specified destination buffer.
+     */
+    default Buffer read(Buffer destination, long byteOffset) {
+        if (GLBufferUsageAccess.Read != getUsage().getAccess()) {
+            throw new GLBufferException("Cannot read data to a [" + getUsage() + "] buffer.");
+        }
+        bind();
+        GLBufferType.getType(destination).readFromBuffer(getTarget(), byteOffset, destination);
+        unbind();
+        return destination;
+    }
+
+    /**
+     * Reads data from the start of the OpenGL buffer into the remaining elements of the specified buffer.
+     *
+     * @param destination the buffer to fill.
+     * @return the specified destination buffer.
+     */
+    default Buffer read(Buffer destination) {
+        return read(destination, 0);
+    }
+
+    /**
+     * Starts an asynchronous read of the specified byte range of the OpenGL buffer with the specified readback.  The
+     * returned future is completed by {@link GLBufferReadback#poll()} once the graphics card has copied the data, so
+     * the pipeline is never stalled.
+     *
+     * @param readback the readback which tracks the read.
+     * @param byteOffset the byte offset to start the read.
+     * @param byteLength the byte length of the read.
+     * @return the future which is completed with the data read.
+     */
+    default CompletableFuture<ByteBuffer> readAsync(GLBufferReadback readback, long byteOffset, int byteLength) {
+        return readback.read(this, byteOffset, byteLength);
+    }
+
+    /**
+     * Starts an asynchronous read of the entire OpenGL buffer with the specified readback.
+     *
+     * @param readback the readback which tracks the read.
+     * @return the future which is completed with the data read.
+     * @see #readAsync(GLBufferReadback, long, int)
+     */
+    default CompletableFuture<ByteBuffer> readAsync(GLBufferReadback readback) {
+        return readAsync(readback, 0, (int) getByteSize());
+    }
+
     /**
      * Writes data to the OpenGL buffer.
      *
@@ -130,4 +222,86 @@ public interface GLBuffer extends GLObject {
         getType().writeToBuffer(getTarget(), data, getUsage());
         unbind();
     }
+
+    /**
+     * Writes data to the OpenGL buffer starting at the specified byte offset.  The existing storage of the buffer is
+     * kept, so the data must fit within the storage previously specified by {@link #write(Buffer)} or {@link
+     * #allocate(long)}.  The data does not need to be of the same primitive type as the buffer.
+     *
+     * @param offset the byte offset to start the write.
+     * @param data data to write.
+     */
+    default void write(long offset, Buffer data) {
+        if (GLBufferUsageAccess.Write != getUsage().getAccess()) {
+            throw new GLBufferException("Cannot write data to a [" + getUsage() + "] buffer.");
+        }
+        bind();
+        GLBufferType.getType(data).writeToBuffer(getTarget(), offset, data);
+        unbind();
+    }
+
+    /**
+     * Maps the specified byte range of the OpenGL buffer into client memory.  Data can then be written straight into
+     * memory owned by the driver instead of being copied from client memory.  The buffer must be unmapped by closing
+     * the returned mapping before it is used by OpenGL, unless it is mapped with {@link GLBufferMapFlag#Persistent}.
+     *
+     * @param byteOffset the byte offset of the range.
+     * @param byteLength the byte length of the range.
+     * @param flags the map flags, which must include {@link GLBufferMapFlag#Read} or {@link GLBufferMapFlag#Write}.
+     * @return the mapping of the range.
+     */
+    default GLBufferMapping map(long byteOffset, long byteLength, GLBufferMapFlag... flags) {
+        int bits = GLBufferMapFlag.toBits(flags);
+        if (GLBufferMapFlag.Write.isSet(bits) && GLBufferUsageAccess.Write != getUsage().getAccess()) {
+            throw new GLBufferException("Cannot map a [" + getUsage() + "] buffer for writing.");
+        } else if (GLBufferMapFlag.Read.isSet(bits) && GLBufferUsageAccess.Read != getUsage().getAccess()) {
+            throw new GLBufferException("Cannot map a [" + getUsage() + "] buffer for reading.");
+        } else if (!GLBufferMapFlag.Write.isSet(bits) && !GLBufferMapFlag.Read.isSet(bits)) {
+            throw new GLBufferException("Cannot map [" + this + "] without read or write access.");
+        }
+        bind();
+        ByteBuffer bytes = GL30.glMapBufferRange(getTarget().glInt(), byteOffset, byteLength, bits);
+        unbind();
+        if (bytes == null) {
+            throw new GLBufferException("Could not map [" + byteLength + "] bytes at [" + byteOffset + "] of [" + this
+                                        + "].");
+        }
+        bytes.order(ByteOrder.nativeOrder());
+        return new GLBufferMapping(this, byteOffset, byteLength, bits, bytes);
+    }
+
+    /**
+     * Copies the specified byte range of the OpenGL buffer into the specified buffer.  The copy is done by the
+     * graphics card with {@code glCopyBufferSubData}, so the data never passes through client memory.  The buffers are
+     * bound to {@link GLBufferTarget#CopyRead} and {@link GLBufferTarget#CopyWrite} so no other target is disturbed.
+     * Both ranges may be within the same buffer as long as they do not overlap.
+     *
+     * @param destination the buffer to copy into.
+     * @param srcOffset the byte offset within this buffer to start the copy.
+     * @param dstOffset the byte offset within the destination buffer to copy to.
+     * @param length the byte length of the copy.
+     */
+    default void copyTo(GLBuffer destination, long srcOffset, long dstOffset, long length) {
+        GLDeletable.requireExists(this);
+        GLDeletable.requireExists(destination);
+        GLContextState state = GLContextState.current();
+        state.bindBuffer(GLBufferTarget.CopyRead, getIndex());
+        state.bindBuffer(GLBufferTarget.CopyWrite, destination.getIndex());
+        GL31.glCopyBufferSubData(GLBufferTarget.CopyRead.glInt(), GLBufferTarget.CopyWrite.glInt(), srcOffset,
+                                 dstOffset, length);
+        state.unbindBuffer(GLBufferTarget.CopyRead);
+        state.unbindBuffer(GLBufferTarget.CopyWrite);
+    }
+
+    /**
+     * Allocates uninitialized storage of the specified size for the OpenGL buffer.  Any previous storage is released.
+     * This is useful for buffers which are only written with {@link #write(long, Buffer)} or written by OpenGL.
+     *
+     * @param byteSize the size of the storage in bytes.
+     */
+    default void allocate(long byteSize) {
+        bind();
+        GL15.glBufferData(getTarget().glInt(), byteSize, getUsage().glInt());
+        unbind();
+    }
 }
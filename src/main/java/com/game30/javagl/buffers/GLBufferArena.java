@@ -0,0 +1,371 @@
+package com.game30.javagl.buffers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.game30.javagl.GLDeletable;
+
+/**
+ * A GLBufferArena sub-allocates many small byte ranges from a few large OpenGL buffers.  Every buffer object costs
+ * driver memory and every draw from a different buffer costs a bind, so objects such as small meshes are better packed
+ * together into shared buffers.
+ *
+ * <p>The arena keeps a list of large blocks for each {@link GLBufferUsage}.  Each block is a buffer with a free list of
+ * byte ranges ordered by offset.  Allocation takes the first free range large enough, and freed ranges are merged with
+ * the free ranges on either side so the free list never holds two adjacent ranges.  A new block is created when no
+ * block has a large enough free range.  Allocations are rounded up to the alignment of the arena, which keeps every
+ * slice suitably aligned for vertex attributes and indices.
+ *
+ * <p>{@link #compact(GLBufferUsage)} packs the live slices of blocks with gaps into as few blocks as possible and
+ * deletes the emptied blocks.  This changes the buffer and offset of the moved slices, so any vertex arrays
+ * referencing them must be set up again.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLBufferArena implements GLDeletable {
+
+    /** The default byte size of a block. */
+    public static final long DEFAULT_BLOCK_SIZE = 4L << 20;
+
+    /** The default byte alignment of a slice. */
+    public static final int DEFAULT_ALIGNMENT = 16;
+
+    /** The factory used to create blocks. */
+    private final GLBufferFactory factory;
+
+    /** The bind target of the blocks. */
+    private final GLBufferTarget target;
+
+    /** The byte size of a block. */
+    private final long blockSize;
+
+    /** The byte alignment of a slice. */
+    private final int alignment;
+
+    /** The blocks of each usage. */
+    private final Map<GLBufferUsage, List<Block>> blocks;
+
+    /** If the arena exists. */
+    private boolean exists;
+
+    /**
+     * Constructs a GLBufferArena instance for the specified target with the default block size and alignment.
+     *
+     * @param target the bind target of the blocks.
+     */
+    public GLBufferArena(GLBufferTarget target) {
+        this(GLBufferFactory.getDefault(), target, DEFAULT_BLOCK_SIZE, DEFAULT_ALIGNMENT);
+    }
+
+    /**
+     * Constructs a GLBufferArena instance with the specified parameters.
+     *
+     * @param factory the factory used to create blocks.
+     * @param target the bind target of the blocks.
+     * @param blockSize the byte size of a block.
+     * @param alignment the byte alignment of a slice, which must be a power of two.
+     */
+    public GLBufferArena(GLBufferFactory factory, GLBufferTarget target, long blockSize, int alignment) {
+        if (blockSize <= 0) {
+            throw new GLBufferException("Block size must be positive.");
+        }
+        if (alignment <= 0 || Integer.bitCount(alignment) != 1) {
+            throw new GLBufferException("Alignment [" + alignment + "] is not a power of two.");
+        }
+        this.factory = factory;
+        this.target = target;
+        this.blockSize = blockSize;
+        this.alignment = alignment;
+        this.blocks = new EnumMap<>(GLBufferUsage.class);
+        this.exists = true;
+    }
+
+    @Override
+    public boolean exists() {
+        return exists;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Every block is deleted, so every slice handed out becomes invalid.
+     */
+    @Override
+    public void delete() {
+        for (List<Block> list : blocks.values()) {
+            for (Block block : list) {
+                block.buffer.delete();
+            }
+        }
+        blocks.clear();
+        exists = false;
+    }
+
+    /**
+     * Returns the bind target of the blocks.
+     *
+     * @return the arena target.
+     */
+    public GLBufferTarget getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the number of blocks of the specified usage.
+     *
+     * @param usage the block usage.
+     * @return the number of blocks.
+     */
+    public int getBlockCount(GLBufferUsage usage) {
+        List<Block> list = blocks.get(usage);
+        return list == null ? 0 : list.size();
+    }
+
+    /**
+     * Returns the number of bytes handed out from blocks of the specified usage, including alignment padding.
+     *
+     * @param usage the block usage.
+     * @return the number of used bytes.
+     */
+    public long getUsedBytes(GLBufferUsage usage) {
+        long used = 0;
+        for (Block block : blocks.getOrDefault(usage, Collections.emptyList())) {
+            used += block.used;
+        }
+        return used;
+    }
+
+    /**
+     * Allocates a slice of the specified byte length from a block of the specified usage.
+     *
+     * @param usage the usage of the buffer containing the slice.
+     * @param length the byte length of the slice.
+     * @return a new slice.
+     */
+    public GLBufferSlice allocate(GLBufferUsage usage, long length) {
+        GLDeletable.requireExists(this);
+        if (length <= 0) {
+            throw new GLBufferException("Slice length must be positive.");
+        }
+        long aligned = align(length);
+        List<Block> list = blocks.computeIfAbsent(usage, k -> new ArrayList<>());
+        for (Block block : list) {
+            long offset = block.take(aligned);
+            if (offset >= 0) {
+                return block.add(new GLBufferSlice(this, usage, block.buffer, offset, length));
+            }
+        }
+        Block block = new Block(createBuffer(usage, Math.max(blockSize, aligned)), Math.max(blockSize, aligned));
+        list.add(block);
+        return block.add(new GLBufferSlice(this, usage, block.buffer, block.take(aligned), length));
+    }
+
+    /**
+     * Returns the range of the specified slice to the free list of its block.
+     *
+     * @param slice the slice to free.
+     */
+    void free(GLBufferSlice slice) {
+        for (Block block : blocks.getOrDefault(slice.getUsage(), Collections.emptyList())) {
+            if (block.buffer == slice.getBuffer()) {
+                block.release(slice);
+                return;
+            }
+        }
+        throw new GLBufferException("[" + slice + "] does not belong to [" + this + "].");
+    }
+
+    /**
+     * Compacts the blocks of the specified usage into as few blocks as possible.  Blocks with no live slices are
+     * deleted, and blocks whose live slices have no gaps between them are kept as they are.  The live slices of every
+     * other block are copied by the graphics card, largest first, into the free space at the end of the kept blocks,
+     * then into fresh blocks when that space runs out, and the emptied blocks are deleted.
+     *
+     * @param usage the usage of the blocks to compact.
+     */
+    public void compact(GLBufferUsage usage) {
+        GLDeletable.requireExists(this);
+        List<Block> list = blocks.get(usage);
+        if (list == null) {
+            return;
+        }
+        List<Block> packed = new ArrayList<>(list.size());
+        List<Block> fragmented = new ArrayList<>();
+        List<GLBufferSlice> slices = new ArrayList<>();
+        for (Block block : list) {
+            if (block.live.isEmpty()) {
+                block.buffer.delete();
+            } else if (block.isPacked()) {
+                packed.add(block);
+            } else {
+                fragmented.add(block);
+                slices.addAll(block.live);
+            }
+        }
+        slices.sort(Comparator.comparingLong(GLBufferSlice::getLength).reversed());
+
+        for (GLBufferSlice slice : slices) {
+            long aligned = align(slice.getLength());
+            Block destination = null;
+            long offset = -1;
+            for (Block block : packed) {
+                offset = block.take(aligned);
+                if (offset >= 0) {
+                    destination = block;
+                    break;
+                }
+            }
+            if (destination == null) {
+                long size = Math.max(blockSize, aligned);
+                destination = new Block(createBuffer(usage, size), size);
+                packed.add(destination);
+                offset = destination.take(aligned);
+            }
+            slice.getBuffer().copyTo(destination.buffer, slice.getOffset(), offset, slice.getLength());
+            slice.relocate(destination.buffer, offset);
+            destination.add(slice);
+        }
+        for (Block block : fragmented) {
+            block.buffer.delete();
+        }
+        blocks.put(usage, packed);
+    }
+
+    /**
+     * Rounds the specified byte length up to the alignment of the arena.
+     *
+     * @param length the byte length.
+     * @return the aligned byte length.
+     */
+    private long align(long length) {
+        return (length + alignment - 1) & -alignment;
+    }
+
+    /**
+     * Creates a buffer with uninitialized storage for a block.
+     *
+     * @param usage the buffer usage.
+     * @param size the byte size of the block.
+     * @return a new buffer.
+     */
+    private GLBuffer createBuffer(GLBufferUsage usage, long size) {
+        GLBuffer buffer = factory.create(GLBufferType.Byte, target, usage);
+        buffer.allocate(size);
+        return buffer;
+    }
+
+
+    /**
+     * A large buffer and the free list of byte ranges within it.
+     */
+    private final class Block {
+
+        /** The buffer of the block. */
+        private final GLBuffer buffer;
+
+        /** The byte size of the block. */
+        private final long size;
+
+        /** The free ranges of the block, mapping byte offset to byte length. */
+        private final TreeMap<Long, Long> free;
+
+        /** The slices handed out from the block. */
+        private final Set<GLBufferSlice> live;
+
+        /** The number of bytes handed out from the block. */
+        private long used;
+
+        /**
+         * Constructs a Block instance where the entire buffer is free.
+         *
+         * @param buffer the buffer of the block.
+         * @param size the byte size of the block.
+         */
+        private Block(GLBuffer buffer, long size) {
+            this.buffer = buffer;
+            this.size = size;
+            this.free = new TreeMap<>();
+            this.live = new HashSet<>();
+            this.free.put(0L, size);
+        }
+
+        /**
+         * Returns {@code true} if the live slices of the block have no gaps between them, so the only free range is at
+         * the end of the block.
+         *
+         * @return if the block is packed.
+         */
+        private boolean isPacked() {
+            return free.isEmpty() || free.size() == 1 && free.firstKey() == used;
+        }
+
+        /**
+         * Takes the first free range large enough for the specified aligned byte length.
+         *
+         * @param length the aligned byte length.
+         * @return the byte offset of the range taken, or {@code -1} if no free range is large enough.
+         */
+        private long take(long length) {
+            for (Map.Entry<Long, Long> entry : free.entrySet()) {
+                long offset = entry.getKey();
+                long available = entry.getValue();
+                if (available >= length) {
+                    free.remove(offset);
+                    if (available > length) {
+                        free.put(offset + length, available - length);
+                    }
+                    used += length;
+                    return offset;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Records the specified slice as handed out from the block.
+         *
+         * @param slice the slice.
+         * @return the specified slice.
+         */
+        private GLBufferSlice add(GLBufferSlice slice) {
+            live.add(slice);
+            return slice;
+        }
+
+        /**
+         * Returns the range of the specified slice to the free list, merging it with the adjacent free ranges.
+         *
+         * @param slice the slice to release.
+         */
+        private void release(GLBufferSlice slice) {
+            if (!live.remove(slice)) {
+                return;
+            }
+            long offset = slice.getOffset();
+            long length = align(slice.getLength());
+            used -= length;
+
+            Map.Entry<Long, Long> before = free.floorEntry(offset);
+            if (before != null && before.getKey() + before.getValue() == offset) {
+                free.remove(before.getKey());
+                offset = before.getKey();
+                length += before.getValue();
+            }
+            Long after = free.get(offset + length);
+            if (after != null) {
+                free.remove(offset + length);
+                length += after;
+            }
+            free.put(offset, length);
+        }
+    }
+}
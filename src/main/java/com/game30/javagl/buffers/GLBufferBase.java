@@ -1,12 +1,22 @@
 package com.game30.javagl.buffers;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL15;
+import org.lwjgl.system.MemoryUtil;
 
 import com.game30.javagl.GLObjectBase;
 
 /**
  * Base class for {@link GLBuffer}s.  This provides basic target and usage behavior.
  *
+ * <p>The buffer can optionally keep a shadow copy of its contents in client memory.  While shadowed, partial writes only
+ * update the shadow copy and record the dirty byte range.  Dirty ranges are merged as they are recorded and uploaded
+ * together by {@link #flush()}, which should be called before the buffer is drawn.  This turns many small updates into
+ * a few {@code glBufferSubData} calls and never re-uploads data which did not change.
+ *
  * @author Brian Norman
  * @version 1.0.0-SNAPSHOT
  * @since 1.0.0
@@ -22,6 +32,15 @@ public class GLBufferBase extends GLObjectBase implements GLBuffer {
     /** The buffer usage pattern. */
     private final GLBufferUsage usage;
 
+    /** The size in bytes of the buffer storage. */
+    private long byteSize;
+
+    /** The shadow copy of the buffer contents, or {@code null} if the buffer is not shadowed. */
+    private ByteBuffer shadow;
+
+    /** The dirty byte ranges of the shadow copy. */
+    private GLBufferRanges dirty;
+
     /**
      * Constructs a GLBufferBase instance with the specified primitive type, bind target and usage pattern.
      *
@@ -30,7 +49,19 @@ public class GLBufferBase extends GLObjectBase implements GLBuffer {
      * @param usage the buffer usage pattern.
      */
     protected GLBufferBase(GLBufferType type, GLBufferTarget target, GLBufferUsage usage) {
-        super(GL15.glGenBuffers());
+        this(type, target, usage, GL15.glGenBuffers());
+    }
+
+    /**
+     * Constructs a GLBufferBase instance which wraps the existing OpenGL buffer with the specified index.
+     *
+     * @param type the buffer primitive type.
+     * @param target the buffer bind target.
+     * @param usage the buffer usage pattern.
+     * @param index the index of the existing buffer.
+     */
+    protected GLBufferBase(GLBufferType type, GLBufferTarget target, GLBufferUsage usage, int index) {
+        super(index);
         this.type = type;
         this.target = target;
         this.usage = usage;
@@ -39,7 +70,17 @@ public class GLBufferBase extends GLObjectBase implements GLBuffer {
     @Override
     public void delete() {
         GLBuffer.super.delete();
+        detach();
+    }
+
+    /**
+     * Marks the buffer as deleted without deleting the OpenGL buffer.  This is used when the OpenGL buffer is handed
+     * over to another owner, such as a {@link GLBufferPool}.
+     */
+    protected void detach() {
         super.delete();
+        shadow = null;
+        dirty = null;
     }
 
     @Override
@@ -56,4 +97,172 @@ public class GLBufferBase extends GLObjectBase implements GLBuffer {
     public GLBufferUsage getUsage() {
         return usage;
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The size is tracked as the storage is specified, so OpenGL is never queried.
+     */
+    @Override
+    public long getByteSize() {
+        return byteSize;
+    }
+
+    @Override
+    public void write(Buffer data) {
+        GLBuffer.super.write(data);
+        byteSize = GLBufferType.getType(data).toByteSize(data.remaining());
+        if (shadow != null) {
+            if (shadow.capacity() != byteSize) {
+                shadow = BufferUtils.createByteBuffer((int) byteSize);
+            }
+            copyToShadow(0, data, (int) byteSize);
+            dirty.clear();
+        }
+    }
+
+    @Override
+    public void write(long offset, Buffer data) {
+        if (shadow == null) {
+            GLBuffer.super.write(offset, data);
+            return;
+        }
+        if (GLBufferUsageAccess.Write != getUsage().getAccess()) {
+            throw new GLBufferException("Cannot write data to a [" + getUsage() + "] buffer.");
+        }
+        int byteSize = GLBufferType.getType(data).toByteSize(data.remaining());
+        if (offset < 0 || offset + byteSize > shadow.capacity()) {
+            throw new GLBufferException("Write of [" + byteSize + "] bytes at [" + offset + "] is outside of [" + this
+                                        + "].");
+        }
+        copyToShadow((int) offset, data, byteSize);
+        dirty.add(offset, offset + byteSize);
+    }
+
+    @Override
+    public void allocate(long byteSize) {
+        GLBuffer.super.allocate(byteSize);
+        this.byteSize = byteSize;
+        if (shadow != null) {
+            shadow = BufferUtils.createByteBuffer((int) byteSize);
+            dirty.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Dirty ranges of the shadow copy are flushed before the copy.  A shadowed buffer cannot be copied into, since
+     * its shadow copy would no longer match its contents.
+     */
+    @Override
+    public void copyTo(GLBuffer destination, long srcOffset, long dstOffset, long length) {
+        if (destination instanceof GLBufferBase && ((GLBufferBase) destination).isShadowed()) {
+            throw new GLBufferException("Cannot copy into shadowed [" + destination + "].");
+        }
+        flush();
+        GLBuffer.super.copyTo(destination, srcOffset, dstOffset, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Dirty ranges of the shadow copy are flushed before mapping.  A shadowed buffer cannot be mapped for writing,
+     * since its shadow copy would no longer match its contents.
+     */
+    @Override
+    public GLBufferMapping map(long byteOffset, long byteLength, GLBufferMapFlag... flags) {
+        if (shadow != null && GLBufferMapFlag.Write.isSet(GLBufferMapFlag.toBits(flags))) {
+            throw new GLBufferException("Cannot map shadowed [" + this + "] for writing.");
+        }
+        flush();
+        return GLBuffer.super.map(byteOffset, byteLength, flags);
+    }
+
+    /**
+     * Returns {@code true} if the buffer keeps a shadow copy of its contents.
+     *
+     * @return if the buffer is shadowed.
+     */
+    public boolean isShadowed() {
+        return shadow != null;
+    }
+
+    /**
+     * Starts keeping a shadow copy of the buffer contents.  This respecifies the storage of the buffer with the
+     * specified size and initializes both the storage and the shadow copy to zero.
+     *
+     * @param byteSize the size of the buffer in bytes.
+     */
+    public void enableShadow(int byteSize) {
+        shadow = BufferUtils.createByteBuffer(byteSize);
+        dirty = new GLBufferRanges();
+        bind();
+        GLBufferType.Byte.writeToBuffer(getTarget(), shadow, getUsage());
+        unbind();
+        this.byteSize = byteSize;
+    }
+
+    /**
+     * Stops keeping a shadow copy of the buffer contents.  Any dirty ranges are flushed first.
+     */
+    public void disableShadow() {
+        flush();
+        shadow = null;
+        dirty = null;
+    }
+
+    /**
+     * Returns the shadow copy of the buffer contents, or {@code null} if the buffer is not shadowed.  Changes made
+     * directly to the returned buffer must be recorded with {@link #markDirty(long, long)}.
+     *
+     * @return the shadow copy.
+     */
+    public ByteBuffer getShadow() {
+        return shadow;
+    }
+
+    /**
+     * Records that the specified byte range of the shadow copy has changed and needs to be uploaded.
+     *
+     * @param offset the byte offset of the range.
+     * @param length the byte length of the range.
+     */
+    public void markDirty(long offset, long length) {
+        if (shadow == null) {
+            throw new GLBufferException("Buffer [" + this + "] is not shadowed.");
+        }
+        dirty.add(Math.max(0, offset), Math.min(shadow.capacity(), offset + length));
+    }
+
+    /**
+     * Uploads all dirty ranges of the shadow copy to the buffer in a single pass.  Does nothing if the buffer is not
+     * shadowed or nothing changed since the last flush.
+     */
+    public void flush() {
+        if (shadow == null || dirty.size() == 0) {
+            return;
+        }
+        bind();
+        for (int i = 0; i < dirty.size(); i++) {
+            long start = dirty.getStart(i);
+            shadow.limit((int) dirty.getEnd(i)).position((int) start);
+            GLBufferType.Byte.writeToBuffer(getTarget(), start, shadow);
+        }
+        unbind();
+        shadow.clear();
+        dirty.clear();
+    }
+
+    /**
+     * Copies the remaining elements of the specified buffer into the shadow copy at the specified byte offset.
+     *
+     * @param offset the byte offset within the shadow copy.
+     * @param data the data to copy.
+     * @param byteSize the byte size of the remaining data.
+     */
+    private void copyToShadow(int offset, Buffer data, int byteSize) {
+        MemoryUtil.memCopy(GLBufferType.getType(data).address(data), MemoryUtil.memAddress0(shadow) + offset,
+                           byteSize);
+    }
 }
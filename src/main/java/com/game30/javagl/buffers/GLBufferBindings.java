@@ -0,0 +1,291 @@
+package com.game30.javagl.buffers;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
+import org.lwjgl.opengl.GL40;
+import org.lwjgl.opengl.GL42;
+import org.lwjgl.opengl.GL43;
+
+import com.game30.javagl.GLContextState;
+import com.game30.javagl.GLIndexed;
+
+/**
+ * The indexed binding points of one of the buffer targets which have them: {@link GLBufferTarget#Uniform}, {@link
+ * GLBufferTarget#ShaderStorage}, {@link GLBufferTarget#AtomicCounter} and {@link GLBufferTarget#TransformFeedback}.
+ * Shader blocks do not name buffers directly, they name a binding point, and any buffer range bound to that point is
+ * seen by every program whose block uses it.
+ *
+ * <p>Binding points are handed out by {@link #allocate()} so that independent parts of an application do not use the
+ * same point by accident.  Data shared by many programs, such as the camera, is then written once to a buffer which is
+ * bound once to an allocated point, and the block of each program is assigned that point.
+ *
+ * <p>The buffer range bound to each point is cached, so binding a range which is already bound is skipped.  There is
+ * one instance per target for each OpenGL context, returned by {@link
+ * GLContextState#getBufferBindings(GLBufferTarget)}, so every part of an application allocates from and binds through
+ * the same instance.  The cache is invalidated with the rest of the context state, which must be done if the bindings
+ * were changed by anything else.
+ *
+ * <p>The transform feedback binding points belong to the bound transform feedback object rather than the context, so
+ * their cache is invalidated whenever a different transform feedback object is bound.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLBufferBindings {
+
+    /** The marker for a binding which is not known. */
+    private static final int UNKNOWN = -1;
+
+    /** The indexed buffer target. */
+    private final GLBufferTarget target;
+
+    /** The allocated binding points. */
+    private final BitSet allocated;
+
+    /** The buffer bound to each binding point. */
+    private int[] buffers;
+
+    /** The byte offset of the range bound to each binding point. */
+    private long[] offsets;
+
+    /** The byte size of the range bound to each binding point, or {@code 0} for the whole buffer. */
+    private long[] sizes;
+
+    /** The number of binding points, or {@code 0} if not yet queried. */
+    private int maxBindings;
+
+    /** The byte alignment of bound range offsets, or {@code 0} if not yet queried. */
+    private int offsetAlignment;
+
+    /**
+     * Constructs a GLBufferBindings instance for the specified indexed target.  Instances are only created by the
+     * {@link GLContextState}, which keeps one per target.
+     *
+     * @param target the indexed buffer target.
+     * @throws GLBufferException if the target does not have indexed binding points.
+     */
+    protected GLBufferBindings(GLBufferTarget target) {
+        if (target != GLBufferTarget.Uniform && target != GLBufferTarget.ShaderStorage
+            && target != GLBufferTarget.AtomicCounter && target != GLBufferTarget.TransformFeedback) {
+            throw new GLBufferException("Target [" + target + "] does not have indexed binding points.");
+        }
+        this.target = target;
+        this.allocated = new BitSet();
+        this.buffers = new int[0];
+        this.offsets = new long[0];
+        this.sizes = new long[0];
+    }
+
+    /**
+     * Returns the indexed buffer target.
+     *
+     * @return the buffer target.
+     */
+    public GLBufferTarget getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the number of binding points of the target.
+     *
+     * @return the binding point count.
+     */
+    public int getMaxBindings() {
+        if (maxBindings == 0) {
+            switch (target) {
+                case Uniform:
+                    maxBindings = GL11.glGetInteger(GL31.GL_MAX_UNIFORM_BUFFER_BINDINGS);
+                    break;
+                case ShaderStorage:
+                    maxBindings = GL11.glGetInteger(GL43.GL_MAX_SHADER_STORAGE_BUFFER_BINDINGS);
+                    break;
+                case AtomicCounter:
+                    maxBindings = GL11.glGetInteger(GL42.GL_MAX_ATOMIC_COUNTER_BUFFER_BINDINGS);
+                    break;
+                default:
+                    maxBindings = GL11.glGetInteger(GL40.GL_MAX_TRANSFORM_FEEDBACK_BUFFERS);
+                    break;
+            }
+        }
+        return maxBindings;
+    }
+
+    /**
+     * Returns the byte alignment the offset of a bound range must have.
+     *
+     * @return the offset alignment.
+     */
+    public int getOffsetAlignment() {
+        if (offsetAlignment == 0) {
+            switch (target) {
+                case Uniform:
+                    offsetAlignment = GL11.glGetInteger(GL31.GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT);
+                    break;
+                case ShaderStorage:
+                    offsetAlignment = GL11.glGetInteger(GL43.GL_SHADER_STORAGE_BUFFER_OFFSET_ALIGNMENT);
+                    break;
+                default:
+                    offsetAlignment = 4;
+                    break;
+            }
+        }
+        return offsetAlignment;
+    }
+
+    /**
+     * Allocates the lowest free binding point.
+     *
+     * @return the binding point.
+     * @throws GLBufferException if every binding point is allocated.
+     */
+    public int allocate() {
+        int binding = allocated.nextClearBit(0);
+        if (binding >= getMaxBindings()) {
+            throw new GLBufferException("All [" + getMaxBindings() + "] binding points of [" + target
+                                        + "] are allocated.");
+        }
+        allocated.set(binding);
+        return binding;
+    }
+
+    /**
+     * Frees the specified binding point so it can be allocated again.  The buffer bound to it stays bound.
+     *
+     * @param binding the binding point.
+     */
+    public void free(int binding) {
+        if (!allocated.get(binding)) {
+            throw new GLBufferException("Binding point [" + binding + "] of [" + target + "] is not allocated.");
+        }
+        allocated.clear(binding);
+    }
+
+    /**
+     * Returns {@code true} if the specified binding point is allocated.
+     *
+     * @param binding the binding point.
+     * @return if the binding point is allocated.
+     */
+    public boolean isAllocated(int binding) {
+        return allocated.get(binding);
+    }
+
+    /**
+     * Binds the whole of the specified buffer to the specified binding point, unless it is already bound.
+     *
+     * @param binding the binding point.
+     * @param buffer the buffer to bind.
+     */
+    public void bind(int binding, GLBuffer buffer) {
+        if (!isBound(binding, buffer.getIndex(), 0, 0)) {
+            GL30.glBindBufferBase(target.glInt(), binding, buffer.getIndex());
+            bound(binding, buffer.getIndex(), 0, 0);
+        }
+    }
+
+    /**
+     * Binds the specified byte range of the specified buffer to the specified binding point, unless it is already
+     * bound.  Several blocks of data can be kept in one buffer and bound separately, as long as each range starts at
+     * a multiple of {@link #getOffsetAlignment()}.
+     *
+     * @param binding the binding point.
+     * @param buffer the buffer to bind.
+     * @param offset the byte offset of the range.
+     * @param size the byte size of the range.
+     */
+    public void bind(int binding, GLBuffer buffer, long offset, long size) {
+        if (offset % getOffsetAlignment() != 0) {
+            throw new GLBufferException("Offset [" + offset + "] is not a multiple of the [" + getOffsetAlignment()
+                                        + "] byte alignment of [" + target + "].");
+        } else if (size <= 0) {
+            throw new GLBufferException("Size [" + size + "] of the range of [" + buffer + "] must be positive.");
+        }
+        if (!isBound(binding, buffer.getIndex(), offset, size)) {
+            GL30.glBindBufferRange(target.glInt(), binding, buffer.getIndex(), offset, size);
+            bound(binding, buffer.getIndex(), offset, size);
+        }
+    }
+
+    /**
+     * Unbinds whatever buffer is bound to the specified binding point.
+     *
+     * @param binding the binding point.
+     */
+    public void unbind(int binding) {
+        if (!isBound(binding, GLIndexed.NULL_INDEX, 0, 0)) {
+            GL30.glBindBufferBase(target.glInt(), binding, GLIndexed.NULL_INDEX);
+            bound(binding, GLIndexed.NULL_INDEX, 0, 0);
+        }
+    }
+
+    /**
+     * Forgets every cached binding.  This must be called after the bindings were changed by anything other than this
+     * instance.
+     */
+    public void invalidate() {
+        Arrays.fill(buffers, UNKNOWN);
+    }
+
+    /**
+     * Records that the specified buffer was deleted.  OpenGL reverts every binding point the buffer was bound to back
+     * to zero.
+     *
+     * @param index the deleted buffer index.
+     */
+    public void forgetBuffer(int index) {
+        for (int i = 0; i < buffers.length; i++) {
+            if (buffers[i] == index) {
+                buffers[i] = GLIndexed.NULL_INDEX;
+                offsets[i] = 0;
+                sizes[i] = 0;
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if the specified range is known to be bound to the specified binding point.
+     *
+     * @param binding the binding point.
+     * @param buffer the buffer index.
+     * @param offset the byte offset of the range.
+     * @param size the byte size of the range, or {@code 0} for the whole buffer.
+     * @return if the range is bound.
+     */
+    private boolean isBound(int binding, int buffer, long offset, long size) {
+        if (binding < 0 || binding >= getMaxBindings()) {
+            throw new GLBufferException("Binding point [" + binding + "] is outside of the [" + getMaxBindings()
+                                        + "] binding points of [" + target + "].");
+        }
+        return GLContextState.current().isEnabled() && binding < buffers.length && buffers[binding] == buffer
+               && offsets[binding] == offset && sizes[binding] == size;
+    }
+
+    /**
+     * Records the range bound to the specified binding point.  Indexed binds also bind the buffer to the generic
+     * binding point of the target, which is recorded in the {@link GLContextState}.
+     *
+     * @param binding the binding point.
+     * @param buffer the buffer index.
+     * @param offset the byte offset of the range.
+     * @param size the byte size of the range, or {@code 0} for the whole buffer.
+     */
+    private void bound(int binding, int buffer, long offset, long size) {
+        if (binding >= buffers.length) {
+            int length = Math.max(binding + 1, buffers.length << 1);
+            int from = buffers.length;
+            buffers = Arrays.copyOf(buffers, length);
+            offsets = Arrays.copyOf(offsets, length);
+            sizes = Arrays.copyOf(sizes, length);
+            Arrays.fill(buffers, from, length, UNKNOWN);
+        }
+        buffers[binding] = buffer;
+        offsets[binding] = offset;
+        sizes[binding] = size;
+        GLContextState.current().setBufferBound(target, buffer);
+    }
+}
@@ -1,6 +1,13 @@
 package com.game30.javagl.buffers;
 
+import java.io.IOException;
 import java.nio.Buffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * A factory interface for {@link GLBuffer}s.
@@ -11,6 +18,9 @@ import java.nio.Buffer;
  */
 public interface GLBufferFactory {
 
+    /** The default number of bytes of a file mapped at once when a buffer is created from a file. */
+    int DEFAULT_FILE_CHUNK_SIZE = 1 << 26;
+
     /**
      * Returns the default OpenGL buffer factory.
      *
@@ -44,4 +54,148 @@ public interface GLBufferFactory {
         buffer.write(data);
         return buffer;
     }
+
+    /**
+     * Creates a new OpenGL buffer holding the specified region of a file, stored in native byte order.
+     *
+     * @param type the buffer primitive type.
+     * @param target the bind target for the buffer.
+     * @param usage the usage pattern for the buffer.
+     * @param file the file to read.
+     * @param position the byte position of the region within the file.
+     * @param length the byte length of the region.
+     * @return a new OpenGL buffer.
+     * @see #create(GLBufferType, GLBufferTarget, GLBufferUsage, Path, long, long, ByteOrder, int)
+     */
+    default GLBuffer create(GLBufferType type, GLBufferTarget target, GLBufferUsage usage, Path file, long position,
+                            long length) {
+        return create(type, target, usage, file, position, length, ByteOrder.nativeOrder(), DEFAULT_FILE_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a new OpenGL buffer holding the specified region of a file.  The file is mapped into memory a chunk at a
+     * time and each mapped chunk is written straight to the buffer, so the data is never copied into the Java heap or a
+     * separate direct buffer.  Chunking bounds the address space mapped at once, which lets files larger than the 2 GB
+     * limit of a single mapping be uploaded.
+     *
+     * <p>Mapped data is written as is, so the file must be stored in native byte order.  The byte order of the file is
+     * given so that a file written on a machine of the other order is rejected rather than uploaded corrupted.
+     *
+     * @param type the buffer primitive type.
+     * @param target the bind target for the buffer.
+     * @param usage the usage pattern for the buffer.
+     * @param file the file to read.
+     * @param position the byte position of the region within the file.
+     * @param length the byte length of the region.
+     * @param order the byte order the file was written in.
+     * @param chunkSize the number of bytes mapped at once.
+     * @return a new OpenGL buffer.
+     * @throws GLBufferException if the file is not in native byte order or could not be read.
+     */
+    default GLBuffer create(GLBufferType type, GLBufferTarget target, GLBufferUsage usage, Path file, long position,
+                            long length, ByteOrder order, int chunkSize) {
+        if (order != ByteOrder.nativeOrder()) {
+            throw new GLBufferException("File [" + file + "] is " + order + " but OpenGL expects "
+                                        + ByteOrder.nativeOrder() + ".");
+        } else if (chunkSize <= 0) {
+            throw new GLBufferException("Chunk size [" + chunkSize + "] must be positive.");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (position < 0 || length < 0 || position + length > channel.size()) {
+                throw new GLBufferException("Region of [" + length + "] bytes at [" + position + "] is outside of ["
+                                            + file + "].");
+            }
+            GLBuffer buffer = create(type, target, usage);
+            try {
+                buffer.allocate(length);
+                for (long offset = 0; offset < length; offset += chunkSize) {
+                    MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position + offset,
+                                                         Math.min(chunkSize, length - offset));
+                    chunk.order(order);
+                    buffer.write(offset, chunk);
+                }
+            } catch (IOException | RuntimeException e) {
+                buffer.delete();
+                throw e;
+            }
+            return buffer;
+        } catch (IOException e) {
+            throw new GLBufferException("Could not read [" + file + "].", e);
+        }
+    }
+
+    /**
+     * Creates a new OpenGL index buffer holding the specified indices in the narrowest type which can store them.
+     *
+     * @param usage the usage pattern for the buffer.
+     * @param indices the indices the buffer should contain.
+     * @return a new OpenGL index buffer.
+     */
+    default GLIndexBuffer createIndex(GLBufferUsage usage, IntBuffer indices) {
+        return new GLIndexBuffer(usage, indices);
+    }
+
+    /**
+     * Creates a new OpenGL index buffer holding the specified indices in the narrowest type which can store them, where
+     * the specified sentinel restarts the primitive.
+     *
+     * @param usage the usage pattern for the buffer.
+     * @param indices the indices the buffer should contain.
+     * @param restartIndex the primitive restart sentinel used in the indices.
+     * @return a new OpenGL index buffer.
+     */
+    default GLIndexBuffer createIndex(GLBufferUsage usage, IntBuffer indices, int restartIndex) {
+        return new GLIndexBuffer(usage, indices, restartIndex);
+    }
+
+    /**
+     * Creates a new OpenGL index buffer holding indices which are already stored as unsigned bytes, shorts or ints,
+     * such as indices read from a mesh file.  Restart sentinels must already be the largest value of the type.
+     *
+     * @param usage the usage pattern for the buffer.
+     * @param indices the stored indices the buffer should contain.
+     * @param restart if the indices contain primitive restart sentinels.
+     * @return a new OpenGL index buffer.
+     */
+    default GLIndexBuffer createIndex(GLBufferUsage usage, Buffer indices, boolean restart) {
+        return new GLIndexBuffer(usage, indices, restart);
+    }
+
+    /**
+     * Creates a new OpenGL indirect draw buffer with room for the specified number of commands before growing.
+     *
+     * @param usage the usage pattern for the buffer.
+     * @param indexed if the buffer holds indexed draw commands.
+     * @param capacity the initial number of commands.
+     * @return a new OpenGL indirect draw buffer.
+     */
+    default GLDrawIndirectBuffer createDrawIndirect(GLBufferUsage usage, boolean indexed, int capacity) {
+        return new GLDrawIndirectBuffer(usage, indexed, capacity);
+    }
+
+    /**
+     * Creates a new growable OpenGL buffer from the specified parameters.
+     *
+     * @param type the buffer primitive type.
+     * @param target the bind target for the buffer.
+     * @param usage the usage pattern for the buffer.
+     * @param capacity the initial byte capacity of the buffer.
+     * @return a new growable OpenGL buffer.
+     */
+    default GLGrowableBuffer createGrowable(GLBufferType type, GLBufferTarget target, GLBufferUsage usage,
+                                            long capacity) {
+        return new GLGrowableBuffer(type, target, usage, capacity);
+    }
+
+    /**
+     * Creates a new persistently mapped OpenGL streaming buffer from the specified parameters.
+     *
+     * @param target the bind target for the buffer.
+     * @param regionSize the size in bytes of a single frame region.
+     * @param regionCount the number of frame regions.
+     * @return a new OpenGL streaming buffer.
+     */
+    default GLStreamingBuffer createStreaming(GLBufferTarget target, int regionSize, int regionCount) {
+        return new GLStreamingBuffer(target, regionSize, regionCount);
+    }
 }
@@ -0,0 +1,138 @@
+package com.game30.javagl.buffers;
+
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL44;
+
+import com.game30.javagl.GLMagicInteger;
+import com.game30.javagl.GLMagicIntegerException;
+
+/**
+ * An enumeration of the flags which control how a range of an OpenGL buffer is mapped into client memory.  A mapping
+ * must have {@link #Read} or {@link #Write} access, and the remaining flags relax how OpenGL synchronizes the mapping
+ * with the graphics card.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @see <a href="https://www.opengl.org/wiki/Buffer_Object#Mapping">Buffer Mapping on OpenGL wiki</a>
+ * @since 1.0.0
+ */
+public enum GLBufferMapFlag implements GLMagicInteger {
+
+    /**
+     * The mapping can be read from.
+     */
+    Read(GL30.GL_MAP_READ_BIT),
+
+    /**
+     * The mapping can be written to.
+     */
+    Write(GL30.GL_MAP_WRITE_BIT),
+
+    /**
+     * The previous contents of the mapped range are discarded, so OpenGL does not need to copy them into client memory
+     * or wait for the graphics card to finish with them.  Cannot be used with {@link #Read}.
+     */
+    InvalidateRange(GL30.GL_MAP_INVALIDATE_RANGE_BIT),
+
+    /**
+     * The previous contents of the entire buffer are discarded.  Cannot be used with {@link #Read}.
+     */
+    InvalidateBuffer(GL30.GL_MAP_INVALIDATE_BUFFER_BIT),
+
+    /**
+     * Modified parts of the mapping are only made visible to OpenGL when they are flushed with {@link
+     * GLBufferMapping#flush(long, long)}.  Requires {@link #Write}.
+     */
+    FlushExplicit(GL30.GL_MAP_FLUSH_EXPLICIT_BIT),
+
+    /**
+     * OpenGL does not wait for pending commands which use the buffer before mapping it.  The caller is responsible for
+     * not writing data which the graphics card is still reading.
+     */
+    Unsynchronized(GL30.GL_MAP_UNSYNCHRONIZED_BIT),
+
+    /**
+     * The buffer can be used by OpenGL while it is mapped.  Requires storage created with the same flag.
+     */
+    Persistent(GL44.GL_MAP_PERSISTENT_BIT),
+
+    /**
+     * Writes to a persistent mapping are visible to OpenGL without an explicit flush.  Requires {@link #Persistent}.
+     */
+    Coherent(GL44.GL_MAP_COHERENT_BIT),
+
+    // End of enumeration
+    ;
+
+    /**
+     * Returns the GLBufferMapFlag that corresponds to the specified OpenGL magic integer.
+     *
+     * @param glInt the map flag magic integer.
+     * @return the corresponding GLBufferMapFlag.
+     * @throws GLMagicIntegerException if the specified magic integer does not match a enumeration instance.
+     */
+    public static GLBufferMapFlag fromGLInt(int glInt) throws GLMagicIntegerException {
+        // While it may not be the most elegant, switch is definitely the fastest.
+        switch (glInt) {
+            case GL30.GL_MAP_READ_BIT:
+                return GLBufferMapFlag.Read;
+            case GL30.GL_MAP_WRITE_BIT:
+                return GLBufferMapFlag.Write;
+            case GL30.GL_MAP_INVALIDATE_RANGE_BIT:
+                return GLBufferMapFlag.InvalidateRange;
+            case GL30.GL_MAP_INVALIDATE_BUFFER_BIT:
+                return GLBufferMapFlag.InvalidateBuffer;
+            case GL30.GL_MAP_FLUSH_EXPLICIT_BIT:
+                return GLBufferMapFlag.FlushExplicit;
+            case GL30.GL_MAP_UNSYNCHRONIZED_BIT:
+                return GLBufferMapFlag.Unsynchronized;
+            case GL44.GL_MAP_PERSISTENT_BIT:
+                return GLBufferMapFlag.Persistent;
+            case GL44.GL_MAP_COHERENT_BIT:
+                return GLBufferMapFlag.Coherent;
+            default:
+                throw new GLMagicIntegerException("Could not match to a GLBufferMapFlag.");
+        }
+    }
+
+    /**
+     * Returns the bitfield of the specified flags.
+     *
+     * @param flags the map flags.
+     * @return the combined magic integer.
+     */
+    public static int toBits(GLBufferMapFlag... flags) {
+        int bits = 0;
+        for (GLBufferMapFlag flag : flags) {
+            bits |= flag.glInt();
+        }
+        return bits;
+    }
+
+    /** The OpenGL magic integer of the map flag. */
+    private final int glInt;
+
+    /**
+     * Creates a new map flag with the specified magic integer.
+     *
+     * @param glInt the map flag magic integer.
+     */
+    GLBufferMapFlag(int glInt) {
+        this.glInt = glInt;
+    }
+
+    /**
+     * Returns {@code true} if the flag is set in the specified bitfield.
+     *
+     * @param bits the bitfield of map flags.
+     * @return if the flag is set.
+     */
+    public boolean isSet(int bits) {
+        return (bits & glInt) != 0;
+    }
+
+    @Override
+    public int glInt() {
+        return glInt;
+    }
+}
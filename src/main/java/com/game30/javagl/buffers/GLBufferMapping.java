@@ -0,0 +1,186 @@
+package com.game30.javagl.buffers;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL30;
+
+/**
+ * A GLBufferMapping is a range of an OpenGL buffer mapped into client memory by {@link GLBuffer#map(long, long,
+ * GLBufferMapFlag...)}.  Data written to the mapping goes straight into memory owned by the driver, which saves the
+ * copy {@code glBufferData} makes of client data.
+ *
+ * <p>The buffer cannot be used by OpenGL while it is mapped, unless it was mapped with {@link
+ * GLBufferMapFlag#Persistent}.  Closing the mapping unmaps the buffer, which fits try-with-resources:
+ * <pre>{@code
+ * try (GLBufferMapping mapping = buffer.map(0, size, GLBufferMapFlag.Write, GLBufferMapFlag.InvalidateRange)) {
+ *     mapping.getBytes().putFloat(x).putFloat(y);
+ * }
+ * }</pre>
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLBufferMapping implements AutoCloseable {
+
+    /** The mapped buffer. */
+    private final GLBuffer buffer;
+
+    /** The byte offset of the mapping within the buffer. */
+    private final long offset;
+
+    /** The byte length of the mapping. */
+    private final long length;
+
+    /** The bitfield of map flags. */
+    private final int flags;
+
+    /** The mapped memory. */
+    private final ByteBuffer bytes;
+
+    /** The mapped memory viewed as the primitive type of the buffer. */
+    private Buffer data;
+
+    /** If the buffer is still mapped. */
+    private boolean mapped;
+
+    /**
+     * Constructs a GLBufferMapping instance.
+     *
+     * @param buffer the mapped buffer.
+     * @param offset the byte offset of the mapping within the buffer.
+     * @param length the byte length of the mapping.
+     * @param flags the bitfield of map flags.
+     * @param bytes the mapped memory.
+     */
+    protected GLBufferMapping(GLBuffer buffer, long offset, long length, int flags, ByteBuffer bytes) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.flags = flags;
+        this.bytes = bytes;
+        this.mapped = true;
+    }
+
+    /**
+     * Returns the mapped buffer.
+     *
+     * @return the mapped buffer.
+     */
+    public GLBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the byte offset of the mapping within the buffer.
+     *
+     * @return the mapping byte offset.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the byte length of the mapping.
+     *
+     * @return the mapping byte length.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Returns {@code true} if the specified flag was used to map the buffer.
+     *
+     * @param flag the map flag.
+     * @return if the flag is set.
+     */
+    public boolean hasFlag(GLBufferMapFlag flag) {
+        return flag.isSet(flags);
+    }
+
+    /**
+     * Returns {@code true} if the buffer is still mapped.
+     *
+     * @return if the buffer is mapped.
+     */
+    public boolean isMapped() {
+        return mapped;
+    }
+
+    /**
+     * Returns the mapped memory in native byte order.  The buffer must not be used after the mapping is closed.
+     *
+     * @return the mapped memory.
+     */
+    public ByteBuffer getBytes() {
+        requireMapped();
+        return bytes;
+    }
+
+    /**
+     * Returns the mapped memory viewed as the primitive type of the buffer.  The view is created once and shares its
+     * position with later calls.
+     *
+     * @return the typed view of the mapped memory.
+     */
+    public Buffer getData() {
+        requireMapped();
+        if (data == null) {
+            data = buffer.getType().view(bytes);
+        }
+        return data;
+    }
+
+    /**
+     * Makes the specified byte range of the mapping visible to OpenGL.  Only valid for mappings with {@link
+     * GLBufferMapFlag#FlushExplicit}.
+     *
+     * @param byteOffset the byte offset of the range, relative to the start of the mapping.
+     * @param byteLength the byte length of the range.
+     */
+    public void flush(long byteOffset, long byteLength) {
+        requireMapped();
+        if (!hasFlag(GLBufferMapFlag.FlushExplicit)) {
+            throw new GLBufferException("Mapping of [" + buffer + "] was not mapped with explicit flushes.");
+        }
+        if (byteOffset < 0 || byteOffset + byteLength > length) {
+            throw new GLBufferException("Flush of [" + byteLength + "] bytes at [" + byteOffset + "] is outside of the"
+                                        + " mapping of [" + buffer + "].");
+        }
+        buffer.bind();
+        GL30.glFlushMappedBufferRange(buffer.getTarget().glInt(), byteOffset, byteLength);
+        buffer.unbind();
+    }
+
+    /**
+     * Unmaps the buffer.  Does nothing if the buffer is already unmapped.
+     *
+     * @throws GLBufferException if the contents of the buffer were lost while it was mapped, such as when the screen
+     * mode changed, in which case they must be written again.
+     */
+    @Override
+    public void close() {
+        if (!mapped) {
+            return;
+        }
+        mapped = false;
+        buffer.bind();
+        boolean intact = GL15.glUnmapBuffer(buffer.getTarget().glInt());
+        buffer.unbind();
+        if (!intact) {
+            throw new GLBufferException("Contents of [" + buffer + "] were lost while mapped.");
+        }
+    }
+
+    /**
+     * Validates that the buffer is still mapped.
+     */
+    private void requireMapped() {
+        if (!mapped) {
+            throw new GLBufferException("Mapping of [" + buffer + "] is closed.");
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.game30.javagl.buffers;
+
+import java.nio.Buffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.lwjgl.opengl.GL15;
+
+import com.game30.javagl.GLContextState;
+import com.game30.javagl.GLDeletable;
+
+/**
+ * A GLBufferPool is a {@link GLBufferFactory} which recycles OpenGL buffers.  Creating and deleting buffers costs a
+ * round-trip to the driver and a fresh storage allocation each time, which shows up as hitches when many short-lived
+ * buffers are created every second.
+ *
+ * <p>Buffers created by the pool are {@link GLPooledBuffer}s.  Deleting one returns its OpenGL buffer and storage to
+ * the pool, keyed by bind target, usage and power-of-two size class.  The next request for a buffer of the same key is
+ * served from the pool without any calls to OpenGL.  Idle buffers are deleted once they have been idle for longer than
+ * the idle time, or when the storage of all idle buffers exceeds the byte budget, oldest first.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLBufferPool implements GLBufferFactory, GLDeletable {
+
+    /** The default byte budget of idle buffers. */
+    public static final long DEFAULT_BYTE_BUDGET = 64L << 20;
+
+    /** The default idle time in milliseconds. */
+    public static final long DEFAULT_IDLE_TIME = 5000L;
+
+    /**
+     * Returns the size class of the specified byte size.  Class zero holds buffers without storage and class
+     * {@code n} holds storage of {@code 2^(n-1)} bytes.
+     *
+     * @param byteSize the byte size.
+     * @return the size class which fits the byte size.
+     */
+    static int sizeClass(long byteSize) {
+        return byteSize <= 0 ? 0 : 65 - Long.numberOfLeadingZeros(byteSize - 1);
+    }
+
+    /**
+     * Returns the byte capacity of the storage of the specified size class.
+     *
+     * @param sizeClass the size class.
+     * @return the byte capacity.
+     */
+    static long classCapacity(int sizeClass) {
+        return sizeClass == 0 ? 0 : 1L << (sizeClass - 1);
+    }
+
+
+    /** The byte budget of idle buffers. */
+    private final long byteBudget;
+
+    /** The idle time in nanoseconds. */
+    private final long idleTime;
+
+    /** The idle buffers of each key, oldest first. */
+    private final Map<Integer, Deque<IdleBuffer>> idle;
+
+    /** Every idle buffer, oldest first.  Buffers that have been reused are skipped. */
+    private final Deque<IdleBuffer> released;
+
+    /** The total byte capacity of the idle buffers. */
+    private long idleBytes;
+
+    /** The number of idle buffers. */
+    private int idleCount;
+
+    /** The number of buffers served from the pool. */
+    private long hits;
+
+    /** The number of buffers created because the pool had none. */
+    private long misses;
+
+    /** The number of idle buffers deleted. */
+    private long evictions;
+
+    /** If the pool exists. */
+    private boolean exists;
+
+    /**
+     * Constructs a GLBufferPool instance with the default byte budget and idle time.
+     */
+    public GLBufferPool() {
+        this(DEFAULT_BYTE_BUDGET, DEFAULT_IDLE_TIME);
+    }
+
+    /**
+     * Constructs a GLBufferPool instance with the specified byte budget and idle time.
+     *
+     * @param byteBudget the byte budget of idle buffers.
+     * @param idleTime the time in milliseconds a buffer can stay idle before it is deleted.
+     */
+    public GLBufferPool(long byteBudget, long idleTime) {
+        this.byteBudget = byteBudget;
+        this.idleTime = TimeUnit.MILLISECONDS.toNanos(idleTime);
+        this.idle = new HashMap<>();
+        this.released = new ArrayDeque<>();
+        this.exists = true;
+    }
+
+    @Override
+    public boolean exists() {
+        return exists;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Every idle buffer is deleted.  Buffers still in use are deleted normally once they are deleted.
+     */
+    @Override
+    public void delete() {
+        for (IdleBuffer buffer : released) {
+            if (!buffer.reused) {
+                deleteBuffer(buffer);
+            }
+        }
+        released.clear();
+        idle.clear();
+        idleBytes = 0;
+        idleCount = 0;
+        exists = false;
+    }
+
+    @Override
+    public GLPooledBuffer create(GLBufferType type, GLBufferTarget target, GLBufferUsage usage) {
+        return create(type, target, usage, 0);
+    }
+
+    @Override
+    public GLPooledBuffer create(GLBufferTarget target, GLBufferUsage usage, Buffer data) {
+        GLBufferType type = GLBufferType.getType(data);
+        GLPooledBuffer buffer = create(type, target, usage, type.toByteSize(data.remaining()));
+        buffer.write(data);
+        return buffer;
+    }
+
+    /**
+     * Creates an OpenGL buffer with storage of at least the specified byte size.  The buffer is served from the pool
+     * if an idle buffer of the same target, usage and size class exists.  Otherwise a new buffer is created with the
+     * capacity of the size class.
+     *
+     * @param type the buffer primitive type.
+     * @param target the bind target for the buffer.
+     * @param usage the usage pattern for the buffer.
+     * @param byteSize the minimum byte size of the storage.
+     * @return a pooled OpenGL buffer.
+     */
+    public GLPooledBuffer create(GLBufferType type, GLBufferTarget target, GLBufferUsage usage, long byteSize) {
+        GLDeletable.requireExists(this);
+        int sizeClass = sizeClass(byteSize);
+        Deque<IdleBuffer> deque = idle.get(key(target, usage, sizeClass));
+        IdleBuffer reuse = deque == null ? null : deque.pollLast();
+        if (reuse != null) {
+            reuse.reused = true;
+            idleBytes -= reuse.capacity;
+            idleCount--;
+            hits++;
+            return new GLPooledBuffer(this, type, target, usage, reuse.index, reuse.capacity);
+        }
+        misses++;
+        GLPooledBuffer buffer = new GLPooledBuffer(this, type, target, usage, GL15.glGenBuffers(), 0);
+        if (sizeClass > 0) {
+            buffer.allocate(classCapacity(sizeClass));
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns the number of buffers served from the pool.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of buffers created because the pool had no idle buffer of the same key.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of idle buffers deleted because they were idle too long or over the byte budget.
+     *
+     * @return the eviction count.
+     */
+    public long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns the number of idle buffers in the pool.
+     *
+     * @return the idle count.
+     */
+    public int getIdleCount() {
+        return idleCount;
+    }
+
+    /**
+     * Returns the total byte capacity of the idle buffers in the pool.
+     *
+     * @return the idle byte count.
+     */
+    public long getIdleBytes() {
+        return idleBytes;
+    }
+
+    /**
+     * Deletes every idle buffer which has been idle longer than the idle time, then the oldest idle buffers until the
+     * byte budget is met.  This is called whenever a buffer is released, but should also be called periodically, such
+     * as once a frame, so buffers do not stay idle forever when none are released.
+     */
+    public void trim() {
+        long now = System.nanoTime();
+        while (!released.isEmpty()) {
+            IdleBuffer oldest = released.peekFirst();
+            if (oldest.reused) {
+                released.pollFirst();
+            } else if (idleBytes > byteBudget || now - oldest.time > idleTime) {
+                released.pollFirst();
+                idle.get(oldest.key).pollFirst();
+                idleBytes -= oldest.capacity;
+                idleCount--;
+                evictions++;
+                deleteBuffer(oldest);
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns the OpenGL buffer of the specified pooled buffer to the pool.
+     *
+     * @param buffer the buffer to release.
+     * @return {@code true} if the buffer was returned to the pool, {@code false} if it must be deleted.
+     */
+    boolean release(GLPooledBuffer buffer) {
+        if (!exists) {
+            return false;
+        }
+        // Storage of a shadowed buffer may not be a power of two, so round the class down to one that it still fits.
+        long capacity = buffer.getCapacity();
+        int sizeClass = capacity <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(capacity);
+        int key = key(buffer.getTarget(), buffer.getUsage(), sizeClass);
+        IdleBuffer entry = new IdleBuffer(buffer.getIndex(), key, capacity, System.nanoTime());
+        idle.computeIfAbsent(key, k -> new ArrayDeque<>()).addLast(entry);
+        released.addLast(entry);
+        idleBytes += capacity;
+        idleCount++;
+        trim();
+        return true;
+    }
+
+    /**
+     * Deletes the OpenGL buffer of the specified idle buffer.
+     *
+     * @param buffer the idle buffer.
+     */
+    private static void deleteBuffer(IdleBuffer buffer) {
+        GL15.glDeleteBuffers(buffer.index);
+        GLContextState.current().forgetBuffer(buffer.index);
+    }
+
+    /**
+     * Returns the pool key of the specified target, usage and size class.
+     *
+     * @param target the buffer target.
+     * @param usage the buffer usage.
+     * @param sizeClass the size class.
+     * @return the pool key.
+     */
+    private static int key(GLBufferTarget target, GLBufferUsage usage, int sizeClass) {
+        return (target.ordinal() * GLBufferUsage.values().length + usage.ordinal()) * 65 + sizeClass;
+    }
+
+
+    /**
+     * An OpenGL buffer waiting in the pool.
+     */
+    private static final class IdleBuffer {
+
+        /** The index of the OpenGL buffer. */
+        private final int index;
+
+        /** The pool key of the buffer. */
+        private final int key;
+
+        /** The byte capacity of the buffer storage. */
+        private final long capacity;
+
+        /** The time in nanoseconds the buffer was released. */
+        private final long time;
+
+        /** If the buffer has been served from the pool again. */
+        private boolean reused;
+
+        /**
+         * Constructs an IdleBuffer instance.
+         *
+         * @param index the index of the OpenGL buffer.
+         * @param key the pool key of the buffer.
+         * @param capacity the byte capacity of the buffer storage.
+         * @param time the time in nanoseconds the buffer was released.
+         */
+        private IdleBuffer(int index, int key, long capacity, long time) {
+            this.index = index;
+            this.key = key;
+            this.capacity = capacity;
+            this.time = time;
+        }
+    }
+}
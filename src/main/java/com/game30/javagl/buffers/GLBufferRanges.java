@@ -0,0 +1,119 @@
+package com.game30.javagl.buffers;
+
+import java.util.Arrays;
+
+/**
+ * A sorted set of byte ranges within an OpenGL buffer.  Ranges which overlap or are adjacent are merged as they are
+ * added, so the set always contains the fewest ranges that cover everything added since it was last cleared.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+final class GLBufferRanges {
+
+    /** The initial number of ranges that can be held before growing. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The inclusive start of each range, sorted ascending. */
+    private long[] starts;
+
+    /** The exclusive end of each range. */
+    private long[] ends;
+
+    /** The number of ranges. */
+    private int count;
+
+    /**
+     * Constructs an empty GLBufferRanges instance.
+     */
+    GLBufferRanges() {
+        this.starts = new long[INITIAL_CAPACITY];
+        this.ends = new long[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Returns the number of ranges.
+     *
+     * @return the range count.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Returns the inclusive start of the range at the specified index.
+     *
+     * @param index the range index.
+     * @return the range start.
+     */
+    long getStart(int index) {
+        return starts[index];
+    }
+
+    /**
+     * Returns the exclusive end of the range at the specified index.
+     *
+     * @param index the range index.
+     * @return the range end.
+     */
+    long getEnd(int index) {
+        return ends[index];
+    }
+
+    /**
+     * Removes all ranges.
+     */
+    void clear() {
+        count = 0;
+    }
+
+    /**
+     * Adds the specified range, merging it with any range it overlaps or touches.
+     *
+     * @param start the inclusive start of the range.
+     * @param end the exclusive end of the range.
+     */
+    void add(long start, long end) {
+        if (start >= end) {
+            return;
+        }
+
+        // First range whose end reaches the new start; everything before it stays untouched.
+        int first = 0;
+        int high = count;
+        while (first < high) {
+            int mid = (first + high) >>> 1;
+            if (ends[mid] < start) {
+                first = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        // Extend over every following range that starts before or at the new end.
+        int last = first;
+        while (last < count && starts[last] <= end) {
+            start = Math.min(start, starts[last]);
+            end = Math.max(end, ends[last]);
+            last++;
+        }
+
+        int merged = last - first;
+        if (merged == 0) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count << 1);
+                ends = Arrays.copyOf(ends, count << 1);
+            }
+            System.arraycopy(starts, first, starts, first + 1, count - first);
+            System.arraycopy(ends, first, ends, first + 1, count - first);
+            count++;
+        } else if (merged > 1) {
+            System.arraycopy(starts, last, starts, first + 1, count - last);
+            System.arraycopy(ends, last, ends, first + 1, count - last);
+            count -= merged - 1;
+        }
+        starts[first] = start;
+        ends[first] = end;
+    }
+}
@@ -0,0 +1,204 @@
+package com.game30.javagl.buffers;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.lwjgl.opengl.GL32;
+
+import com.game30.javagl.GLDeletable;
+import com.game30.javagl.memory.GLMemory;
+
+/**
+ * A GLBufferReadback reads data back from OpenGL buffers without stalling the pipeline.  Reading a buffer directly
+ * with {@link GLBuffer#read()} waits until the graphics card has finished every command which writes to the buffer.
+ *
+ * <p>Instead, {@link #read(GLBuffer, long, int)} copies the requested range on the graphics card into a staging buffer
+ * bound to {@link GLBufferTarget#CopyWrite}, places a fence after the copy and returns a {@link CompletableFuture}
+ * right away.  {@link #poll()} should be called once a frame; it completes the future of every copy whose fence has
+ * signalled with the data read from the staging buffer.  Results are usually available one or two frames later.  The
+ * data is allocated from the {@link GLMemory} provider.  Staging buffers are recycled once their data is read.
+ *
+ * <p>All methods must be called on the thread of the OpenGL context.  Futures are completed on that thread as well.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLBufferReadback implements GLDeletable {
+
+    /** The factory used to create staging buffers. */
+    private final GLBufferFactory factory;
+
+    /** The pending reads in the order their fences were placed. */
+    private final Deque<PendingRead> pending;
+
+    /** The staging buffers which are not in use. */
+    private final List<GLBuffer> staging;
+
+    /** If the readback exists. */
+    private boolean exists;
+
+    /**
+     * Constructs a GLBufferReadback instance which creates staging buffers with the default buffer factory.
+     */
+    public GLBufferReadback() {
+        this(GLBufferFactory.getDefault());
+    }
+
+    /**
+     * Constructs a GLBufferReadback instance which creates staging buffers with the specified buffer factory.
+     *
+     * @param factory the buffer factory for staging buffers.
+     */
+    public GLBufferReadback(GLBufferFactory factory) {
+        this.factory = factory;
+        this.pending = new ArrayDeque<>();
+        this.staging = new ArrayList<>();
+        this.exists = true;
+    }
+
+    @Override
+    public boolean exists() {
+        return exists;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Every pending read is cancelled and every staging buffer is deleted.
+     */
+    @Override
+    public void delete() {
+        for (PendingRead read : pending) {
+            GL32.glDeleteSync(read.fence);
+            read.future.cancel(false);
+            read.buffer.delete();
+        }
+        pending.clear();
+        staging.forEach(GLBuffer::delete);
+        staging.clear();
+        exists = false;
+    }
+
+    /**
+     * Returns the number of reads which have not completed.
+     *
+     * @return the number of pending reads.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Starts an asynchronous read of the specified byte range of the specified buffer.  The range is copied into a
+     * staging buffer by the graphics card, so the source buffer does not need read access.
+     *
+     * @param source the buffer to read.
+     * @param offset the byte offset to start the read.
+     * @param length the byte length of the read.
+     * @return the future which is completed with the data read by a later {@link #poll()}.
+     */
+    public CompletableFuture<ByteBuffer> read(GLBuffer source, long offset, int length) {
+        GLDeletable.requireExists(this);
+        GLBuffer buffer = takeStaging(length);
+        source.copyTo(buffer, offset, 0, length);
+
+        long fence = GL32.glFenceSync(GL32.GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+        PendingRead read = new PendingRead(buffer, fence, length);
+        pending.addLast(read);
+        return read.future;
+    }
+
+    /**
+     * Completes every pending read whose fence has signalled.  This never waits on the graphics card and should be
+     * called once a frame.
+     *
+     * @return the number of reads completed.
+     */
+    public int poll() {
+        int completed = 0;
+        Iterator<PendingRead> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            PendingRead read = iterator.next();
+            int status = GL32.glClientWaitSync(read.fence, GL32.GL_SYNC_FLUSH_COMMANDS_BIT, 0);
+            if (status == GL32.GL_TIMEOUT_EXPIRED) {
+                // Fences signal in the order they were placed, so no later read can be complete either.
+                break;
+            }
+            iterator.remove();
+            GL32.glDeleteSync(read.fence);
+            if (status == GL32.GL_WAIT_FAILED) {
+                read.future.completeExceptionally(
+                        new GLBufferException("Could not wait for readback of [" + read.buffer + "]."));
+            } else {
+                ByteBuffer data = GLMemory.allocate(read.length);
+                read.buffer.read(data, 0);
+                read.future.complete(data);
+            }
+            staging.add(read.buffer);
+            completed++;
+        }
+        return completed;
+    }
+
+    /**
+     * Returns a staging buffer with storage for at least the specified number of bytes.  The smallest free staging
+     * buffer large enough is reused, otherwise a new one is created.
+     *
+     * @param length the required byte length.
+     * @return a staging buffer.
+     */
+    private GLBuffer takeStaging(int length) {
+        int best = -1;
+        for (int i = 0; i < staging.size(); i++) {
+            long byteSize = staging.get(i).getByteSize();
+            if (byteSize >= length && (best < 0 || byteSize < staging.get(best).getByteSize())) {
+                best = i;
+            }
+        }
+        if (best >= 0) {
+            return staging.remove(best);
+        }
+        GLBuffer buffer = factory.create(GLBufferType.Byte, GLBufferTarget.CopyWrite, GLBufferUsage.ReadStream);
+        buffer.allocate(length);
+        return buffer;
+    }
+
+
+    /**
+     * A read whose copy has been issued but whose data has not been read back yet.
+     */
+    private static final class PendingRead {
+
+        /** The staging buffer holding the copy. */
+        private final GLBuffer buffer;
+
+        /** The fence placed after the copy. */
+        private final long fence;
+
+        /** The byte length of the read. */
+        private final int length;
+
+        /** The future completed with the data read. */
+        private final CompletableFuture<ByteBuffer> future;
+
+        /**
+         * Constructs a PendingRead instance.
+         *
+         * @param buffer the staging buffer holding the copy.
+         * @param fence the fence placed after the copy.
+         * @param length the byte length of the read.
+         */
+        private PendingRead(GLBuffer buffer, long fence, int length) {
+            this.buffer = buffer;
+            this.fence = fence;
+            this.length = length;
+            this.future = new CompletableFuture<>();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.game30.javagl.buffers;
+
+import java.nio.Buffer;
+
+/**
+ * A GLBufferSlice is a byte range of a larger OpenGL buffer handed out by a {@link GLBufferArena}.  Many slices share
+ * the same buffer, so objects drawn from slices of the same buffer do not need to rebind buffers between draws.  Draw
+ * calls use the byte offset of the slice within its buffer.
+ *
+ * <p>The buffer and offset of a slice can change when its arena is compacted, so they should be read again after
+ * {@link GLBufferArena#compact(GLBufferUsage)}.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public final class GLBufferSlice {
+
+    /** The arena which handed out the slice. */
+    private final GLBufferArena arena;
+
+    /** The usage of the buffer containing the slice. */
+    private final GLBufferUsage usage;
+
+    /** The byte length of the slice. */
+    private final long length;
+
+    /** The buffer containing the slice. */
+    private GLBuffer buffer;
+
+    /** The byte offset of the slice within its buffer. */
+    private long offset;
+
+    /** If the slice has been freed. */
+    private boolean freed;
+
+    /**
+     * Constructs a GLBufferSlice instance.
+     *
+     * @param arena the arena which handed out the slice.
+     * @param usage the usage of the buffer containing the slice.
+     * @param buffer the buffer containing the slice.
+     * @param offset the byte offset of the slice within its buffer.
+     * @param length the byte length of the slice.
+     */
+    GLBufferSlice(GLBufferArena arena, GLBufferUsage usage, GLBuffer buffer, long offset, long length) {
+        this.arena = arena;
+        this.usage = usage;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Returns the buffer containing the slice.
+     *
+     * @return the slice buffer.
+     */
+    public GLBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the byte offset of the slice within its buffer.
+     *
+     * @return the slice byte offset.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the byte length of the slice.
+     *
+     * @return the slice byte length.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the usage of the buffer containing the slice.
+     *
+     * @return the slice usage.
+     */
+    public GLBufferUsage getUsage() {
+        return usage;
+    }
+
+    /**
+     * Returns {@code true} if the slice has been freed.
+     *
+     * @return if the slice is freed.
+     */
+    public boolean isFreed() {
+        return freed;
+    }
+
+    /**
+     * Writes data to the start of the slice.
+     *
+     * @param data data to write.
+     */
+    public void write(Buffer data) {
+        write(0, data);
+    }
+
+    /**
+     * Writes data to the slice starting at the specified byte offset within the slice.
+     *
+     * @param byteOffset the byte offset within the slice to start the write.
+     * @param data data to write.
+     */
+    public void write(long byteOffset, Buffer data) {
+        if (freed) {
+            throw new GLBufferException("Cannot write to freed [" + this + "].");
+        }
+        long byteSize = GLBufferType.getType(data).toByteSize(data.remaining());
+        if (byteOffset < 0 || byteOffset + byteSize > length) {
+            throw new GLBufferException("Write of [" + byteSize + "] bytes at [" + byteOffset + "] is outside of ["
+                                        + this + "].");
+        }
+        buffer.write(offset + byteOffset, data);
+    }
+
+    /**
+     * Returns the slice to its arena.  The slice must not be used afterwards.
+     */
+    public void free() {
+        if (!freed) {
+            arena.free(this);
+            freed = true;
+        }
+    }
+
+    /**
+     * Moves the slice to the specified buffer and byte offset.  Used by the arena when it is compacted.
+     *
+     * @param buffer the new buffer containing the slice.
+     * @param offset the new byte offset of the slice.
+     */
+    void relocate(GLBuffer buffer, long offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[buffer=" + buffer + ", offset=" + offset + ", length=" + length + "]";
+    }
+}
@@ -7,8 +7,10 @@ import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
 
-import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL15;
+import org.lwjgl.system.MemoryUtil;
+
+import com.game30.javagl.memory.GLMemory;
 
 /**
  * An enumeration of the different primitive types which an OpenGL buffer can store.
@@ -34,15 +36,30 @@ public enum GLBufferType {
 
         @Override
         ByteBuffer readFromBuffer(GLBufferTarget target, long offset, int length) {
-            ByteBuffer data = BufferUtils.createByteBuffer(length);
+            ByteBuffer data = GLMemory.allocate(length);
             GL15.glGetBufferSubData(target.glInt(), offset, data);
             return data;
         }
 
+        @Override
+        void readFromBuffer(GLBufferTarget target, long offset, Buffer data) {
+            GL15.glGetBufferSubData(target.glInt(), offset, (ByteBuffer) data);
+        }
+
         @Override
         void writeToBuffer(GLBufferTarget target, Buffer data, GLBufferUsage usage) {
             GL15.glBufferData(target.glInt(), (ByteBuffer) data, usage.glInt());
         }
+
+        @Override
+        void writeToBuffer(GLBufferTarget target, long offset, Buffer data) {
+            GL15.glBufferSubData(target.glInt(), offset, (ByteBuffer) data);
+        }
+
+        @Override
+        ByteBuffer view(ByteBuffer bytes) {
+            return bytes;
+        }
     },
 
     /**
@@ -56,15 +73,30 @@ public enum GLBufferType {
 
         @Override
         ShortBuffer readFromBuffer(GLBufferTarget target, long offset, int length) {
-            ShortBuffer data = BufferUtils.createShortBuffer(length);
+            ShortBuffer data = GLMemory.allocate(toByteSize(length)).asShortBuffer();
             GL15.glGetBufferSubData(target.glInt(), offset, data);
             return data;
         }
 
+        @Override
+        void readFromBuffer(GLBufferTarget target, long offset, Buffer data) {
+            GL15.glGetBufferSubData(target.glInt(), offset, (ShortBuffer) data);
+        }
+
         @Override
         void writeToBuffer(GLBufferTarget target, Buffer data, GLBufferUsage usage) {
             GL15.glBufferData(target.glInt(), (ShortBuffer) data, usage.glInt());
         }
+
+        @Override
+        void writeToBuffer(GLBufferTarget target, long offset, Buffer data) {
+            GL15.glBufferSubData(target.glInt(), offset, (ShortBuffer) data);
+        }
+
+        @Override
+        ShortBuffer view(ByteBuffer bytes) {
+            return bytes.asShortBuffer();
+        }
     },
 
     /**
@@ -78,15 +110,30 @@ public enum GLBufferType {
 
         @Override
         IntBuffer readFromBuffer(GLBufferTarget target, long offset, int length) {
-            IntBuffer data = BufferUtils.createIntBuffer(length);
+            IntBuffer data = GLMemory.allocate(toByteSize(length)).asIntBuffer();
             GL15.glGetBufferSubData(target.glInt(), offset, data);
             return data;
         }
 
+        @Override
+        void readFromBuffer(GLBufferTarget target, long offset, Buffer data) {
+            GL15.glGetBufferSubData(target.glInt(), offset, (IntBuffer) data);
+        }
+
         @Override
         void writeToBuffer(GLBufferTarget target, Buffer data, GLBufferUsage usage) {
             GL15.glBufferData(target.glInt(), (IntBuffer) data, usage.glInt());
         }
+
+        @Override
+        void writeToBuffer(GLBufferTarget target, long offset, Buffer data) {
+            GL15.glBufferSubData(target.glInt(), offset, (IntBuffer) data);
+        }
+
+        @Override
+        IntBuffer view(ByteBuffer bytes) {
+            return bytes.asIntBuffer();
+        }
     },
 
     /**
@@ -100,15 +147,30 @@ public enum GLBufferType {
 
         @Override
         FloatBuffer readFromBuffer(GLBufferTarget target, long offset, int length) {
-            FloatBuffer data = BufferUtils.createFloatBuffer(length);
+            FloatBuffer data = GLMemory.allocate(toByteSize(length)).asFloatBuffer();
             GL15.glGetBufferSubData(target.glInt(), offset, data);
             return data;
         }
 
+        @Override
+        void readFromBuffer(GLBufferTarget target, long offset, Buffer data) {
+            GL15.glGetBufferSubData(target.glInt(), offset, (FloatBuffer) data);
+        }
+
         @Override
         void writeToBuffer(GLBufferTarget target, Buffer data, GLBufferUsage usage) {
             GL15.glBufferData(target.glInt(), (FloatBuffer) data, usage.glInt());
         }
+
+        @Override
+        void writeToBuffer(GLBufferTarget target, long offset, Buffer data) {
+            GL15.glBufferSubData(target.glInt(), offset, (FloatBuffer) data);
+        }
+
+        @Override
+        FloatBuffer view(ByteBuffer bytes) {
+            return bytes.asFloatBuffer();
+        }
     },
 
     /**
@@ -122,15 +184,30 @@ public enum GLBufferType {
 
         @Override
         DoubleBuffer readFromBuffer(GLBufferTarget target, long offset, int length) {
-            DoubleBuffer data = BufferUtils.createDoubleBuffer(length);
+            DoubleBuffer data = GLMemory.allocate(toByteSize(length)).asDoubleBuffer();
             GL15.glGetBufferSubData(target.glInt(), offset, data);
             return data;
         }
 
+        @Override
+        void readFromBuffer(GLBufferTarget target, long offset, Buffer data) {
+            GL15.glGetBufferSubData(target.glInt(), offset, (DoubleBuffer) data);
+        }
+
         @Override
         void writeToBuffer(GLBufferTarget target, Buffer data, GLBufferUsage usage) {
             GL15.glBufferData(target.glInt(), (DoubleBuffer) data, usage.glInt());
         }
+
+        @Override
+        void writeToBuffer(GLBufferTarget target, long offset, Buffer data) {
+            GL15.glBufferSubData(target.glInt(), offset, (DoubleBuffer) data);
+        }
+
+        @Override
+        DoubleBuffer view(ByteBuffer bytes) {
+            return bytes.asDoubleBuffer();
+        }
     },
 
     // End of enumeration
@@ -189,6 +266,7 @@ public enum GLBufferType {
 
     /**
      * Reads the buffer bound to the specified target starting from the specified offset and for the specified length.
+     * The returned buffer is allocated from the {@link GLMemory} provider.
      *
      * @param target buffer target to read.
      * @param offset offset to start reading.
@@ -197,6 +275,16 @@ public enum GLBufferType {
      */
     abstract Buffer readFromBuffer(GLBufferTarget target, long offset, int length);
 
+    /**
+     * Reads the buffer bound to the specified target starting from the specified byte offset into the remaining
+     * elements of the specified buffer.  No memory is allocated.
+     *
+     * @param target buffer target to read.
+     * @param offset byte offset to start reading.
+     * @param data the buffer to fill with the data read from the bound buffer.
+     */
+    abstract void readFromBuffer(GLBufferTarget target, long offset, Buffer data);
+
     /**
      * Writes the specified buffer data too the buffer bound to the specified target with the specified usage pattern.
      *
@@ -205,4 +293,34 @@ public enum GLBufferType {
      * @param usage usage pattern to set on the bound buffer.
      */
     abstract void writeToBuffer(GLBufferTarget target, Buffer data, GLBufferUsage usage);
+
+    /**
+     * Writes the specified buffer data to the buffer bound to the specified target starting at the specified byte
+     * offset.  Unlike {@link #writeToBuffer(GLBufferTarget, Buffer, GLBufferUsage)}, this does not respecify the
+     * storage of the bound buffer, so the written range must fit within the existing storage.
+     *
+     * @param target buffer target to write.
+     * @param offset byte offset to start writing.
+     * @param data data to write to the bound buffer.
+     */
+    abstract void writeToBuffer(GLBufferTarget target, long offset, Buffer data);
+
+    /**
+     * Returns a view of the remaining bytes of the specified buffer as the primitive type.  The view shares the memory
+     * of the byte buffer and uses its byte order.
+     *
+     * @param bytes the byte buffer.
+     * @return the typed view.
+     */
+    abstract Buffer view(ByteBuffer bytes);
+
+    /**
+     * Returns the address of the element at the current position of the specified direct buffer.
+     *
+     * @param data the direct buffer.
+     * @return the address of the current position.
+     */
+    long address(Buffer data) {
+        return MemoryUtil.memAddress0(data) + toByteSize(data.position());
+    }
 }
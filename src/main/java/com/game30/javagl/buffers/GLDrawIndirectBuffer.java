@@ -0,0 +1,215 @@
+package com.game30.javagl.buffers;
+
+import java.nio.ByteBuffer;
+
+import com.game30.javagl.memory.GLMemory;
+
+/**
+ * A GLDrawIndirectBuffer holds the parameters of many draw calls, so they can be submitted to OpenGL as one multi-draw
+ * call instead of one call per object.  Commands are encoded into client memory with absolute puts, which never
+ * allocates, then uploaded together by {@link #upload()} and drawn with {@link
+ * com.game30.javagl.arrays.GLVertexArray#drawIndirect(com.game30.javagl.arrays.GLDrawMode, GLIndexBuffer,
+ * GLDrawIndirectBuffer)}.
+ *
+ * <p>An indexed buffer holds {@code DrawElementsIndirectCommand} records and a non-indexed buffer holds {@code
+ * DrawArraysIndirectCommand} records.  Objects drawn by one multi-draw call usually need different per-object data.
+ * The common convention is to give every command a single instance and a base instance equal to its draw number, which
+ * {@link #addElements(int, int, int)} and {@link #addArrays(int, int)} do.  The shader then finds the data of its draw
+ * with {@code gl_BaseInstanceARB}, or from an instanced attribute with a divisor of one, which starts at the base
+ * instance.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLDrawIndirectBuffer extends GLBufferBase {
+
+    /** The byte size of a {@code DrawElementsIndirectCommand}. */
+    public static final int ELEMENTS_COMMAND_SIZE = 5 * 4;
+
+    /** The byte size of a {@code DrawArraysIndirectCommand}. */
+    public static final int ARRAYS_COMMAND_SIZE = 4 * 4;
+
+    /** If the buffer holds indexed draw commands. */
+    private final boolean indexed;
+
+    /** The encoded commands in native byte order. */
+    private ByteBuffer commands;
+
+    /** The number of encoded commands. */
+    private int count;
+
+    /** The byte capacity of the buffer storage. */
+    private int storageSize;
+
+    /**
+     * Constructs a GLDrawIndirectBuffer instance with room for the specified number of commands before growing.
+     *
+     * @param usage the buffer usage pattern.
+     * @param indexed if the buffer holds indexed draw commands.
+     * @param capacity the initial number of commands.
+     */
+    protected GLDrawIndirectBuffer(GLBufferUsage usage, boolean indexed, int capacity) {
+        super(GLBufferType.Integer, GLBufferTarget.DrawIndirect, usage);
+        this.indexed = indexed;
+        this.commands = GLMemory.allocate(Math.max(1, capacity) * (indexed ? ELEMENTS_COMMAND_SIZE
+                                                                          : ARRAYS_COMMAND_SIZE));
+        commands.clear();
+    }
+
+    /**
+     * Returns {@code true} if the buffer holds indexed draw commands.
+     *
+     * @return if the commands are indexed.
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Returns the byte size of each command.
+     *
+     * @return the command stride.
+     */
+    public int getStride() {
+        return indexed ? ELEMENTS_COMMAND_SIZE : ARRAYS_COMMAND_SIZE;
+    }
+
+    /**
+     * Returns the number of encoded commands.
+     *
+     * @return the command count.
+     */
+    public int getCommandCount() {
+        return count;
+    }
+
+    /**
+     * Encodes an indexed draw command whose base instance is its draw number.
+     *
+     * @param indexCount the number of indices to draw.
+     * @param firstIndex the first index to draw.
+     * @param baseVertex the value added to every index.
+     * @return the draw number of the command.
+     */
+    public int addElements(int indexCount, int firstIndex, int baseVertex) {
+        return addElements(indexCount, 1, firstIndex, baseVertex, count);
+    }
+
+    /**
+     * Encodes an indexed draw command.
+     *
+     * @param indexCount the number of indices to draw.
+     * @param instanceCount the number of instances to draw.
+     * @param firstIndex the first index to draw.
+     * @param baseVertex the value added to every index.
+     * @param baseInstance the first instance number.
+     * @return the draw number of the command.
+     */
+    public int addElements(int indexCount, int instanceCount, int firstIndex, int baseVertex, int baseInstance) {
+        if (!indexed) {
+            throw new GLBufferException("Cannot encode an indexed command into [" + this + "].");
+        }
+        int index = reserve();
+        commands.putInt(index, indexCount)
+                .putInt(index + 4, instanceCount)
+                .putInt(index + 8, firstIndex)
+                .putInt(index + 12, baseVertex)
+                .putInt(index + 16, baseInstance);
+        return count++;
+    }
+
+    /**
+     * Encodes a non-indexed draw command whose base instance is its draw number.
+     *
+     * @param vertexCount the number of vertices to draw.
+     * @param firstVertex the first vertex to draw.
+     * @return the draw number of the command.
+     */
+    public int addArrays(int vertexCount, int firstVertex) {
+        return addArrays(vertexCount, 1, firstVertex, count);
+    }
+
+    /**
+     * Encodes a non-indexed draw command.
+     *
+     * @param vertexCount the number of vertices to draw.
+     * @param instanceCount the number of instances to draw.
+     * @param firstVertex the first vertex to draw.
+     * @param baseInstance the first instance number.
+     * @return the draw number of the command.
+     */
+    public int addArrays(int vertexCount, int instanceCount, int firstVertex, int baseInstance) {
+        if (indexed) {
+            throw new GLBufferException("Cannot encode a non-indexed command into [" + this + "].");
+        }
+        int index = reserve();
+        commands.putInt(index, vertexCount)
+                .putInt(index + 4, instanceCount)
+                .putInt(index + 8, firstVertex)
+                .putInt(index + 12, baseInstance);
+        return count++;
+    }
+
+    /**
+     * Sets the instance count of an encoded command.  Setting it to zero skips the command without removing it, such
+     * as when its object is culled.
+     *
+     * @param command the draw number of the command.
+     * @param instanceCount the number of instances to draw.
+     */
+    public void setInstanceCount(int command, int instanceCount) {
+        if (command < 0 || command >= count) {
+            throw new GLBufferException("Command [" + command + "] is outside of [" + count + "] commands.");
+        }
+        commands.putInt(command * getStride() + 4, instanceCount);
+    }
+
+    /**
+     * Discards every encoded command.  The buffer keeps its storage and the commands uploaded last.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Uploads the encoded commands to the buffer.  The storage is only respecified when the commands no longer fit.
+     */
+    public void upload() {
+        int byteSize = count * getStride();
+        commands.clear().limit(byteSize);
+        if (byteSize > storageSize) {
+            write(commands);
+            storageSize = byteSize;
+        } else if (byteSize > 0) {
+            write(0, commands);
+        }
+        commands.clear();
+    }
+
+    @Override
+    protected void detach() {
+        super.detach();
+        if (commands != null) {
+            GLMemory.free(commands);
+            commands = null;
+        }
+    }
+
+    /**
+     * Returns the byte index of the next command, growing the client memory if it is full.
+     *
+     * @return the byte index of the next command.
+     */
+    private int reserve() {
+        int index = count * getStride();
+        if (index + getStride() > commands.capacity()) {
+            ByteBuffer grown = GLMemory.allocate(commands.capacity() << 1);
+            commands.clear().limit(index);
+            grown.put(commands).clear();
+            GLMemory.free(commands);
+            commands = grown;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,163 @@
+package com.game30.javagl.buffers;
+
+import java.nio.Buffer;
+
+/**
+ * A GLGrowableBuffer is an OpenGL buffer whose storage grows as data is written past its end, like an {@link
+ * java.util.ArrayList} does.  It is meant for geometry which grows over time, such as procedurally generated meshes.
+ *
+ * <p>When a write does not fit, the capacity of the storage is at least doubled.  The existing contents are moved to
+ * the new storage by the graphics card with {@link #copyTo(GLBuffer, long, long, long)}, so they never pass through
+ * client memory.  The OpenGL buffer stays the same, so vertex arrays referencing it do not need to be set up again.
+ *
+ * <p>The byte size of the buffer is the number of bytes written, not the capacity of the storage.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLGrowableBuffer extends GLBufferBase {
+
+    /** The byte capacity of the buffer storage. */
+    private long capacity;
+
+    /** The number of bytes written. */
+    private long byteSize;
+
+    /**
+     * Constructs a GLGrowableBuffer instance with the specified primitive type, bind target, usage pattern and initial
+     * capacity.
+     *
+     * @param type the buffer primitive type.
+     * @param target the buffer bind target.
+     * @param usage the buffer usage pattern.
+     * @param capacity the initial byte capacity of the storage.
+     */
+    protected GLGrowableBuffer(GLBufferType type, GLBufferTarget target, GLBufferUsage usage, long capacity) {
+        super(type, target, usage);
+        if (capacity > 0) {
+            super.allocate(capacity);
+            this.capacity = capacity;
+        }
+    }
+
+    /**
+     * Returns the byte capacity of the buffer storage.
+     *
+     * @return the storage capacity.
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long getByteSize() {
+        return byteSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The data replaces the contents of the buffer.  The storage is only reallocated if the data does not fit.
+     */
+    @Override
+    public void write(Buffer data) {
+        long size = GLBufferType.getType(data).toByteSize(data.remaining());
+        if (size > capacity) {
+            reserve(size, false);
+        }
+        super.write(0, data);
+        byteSize = size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The storage grows if the data is written past its end.
+     */
+    @Override
+    public void write(long offset, Buffer data) {
+        long end = offset + GLBufferType.getType(data).toByteSize(data.remaining());
+        if (end > capacity) {
+            reserve(end, true);
+        }
+        super.write(offset, data);
+        byteSize = Math.max(byteSize, end);
+    }
+
+    /**
+     * Writes data to the end of the buffer, growing the storage if needed.
+     *
+     * @param data data to write.
+     * @return the byte offset the data was written to.
+     */
+    public long append(Buffer data) {
+        long offset = byteSize;
+        write(offset, data);
+        return offset;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The contents of the buffer are discarded, so its byte size becomes zero.
+     */
+    @Override
+    public void allocate(long byteSize) {
+        super.allocate(byteSize);
+        this.capacity = byteSize;
+        this.byteSize = 0;
+    }
+
+    /**
+     * Unsupported since the shadow copy cannot follow the storage as it grows.
+     *
+     * @param byteSize the size of the buffer in bytes.
+     * @throws GLBufferException always.
+     */
+    @Override
+    public void enableShadow(int byteSize) {
+        throw new GLBufferException("Cannot shadow the growable storage of [" + this + "].");
+    }
+
+    /**
+     * Discards the contents of the buffer without releasing its storage.
+     */
+    public void clear() {
+        byteSize = 0;
+    }
+
+    /**
+     * Grows the storage to at least the specified byte capacity.  Does nothing if the storage is already large enough.
+     *
+     * @param minCapacity the minimum byte capacity.
+     */
+    public void ensureCapacity(long minCapacity) {
+        if (minCapacity > capacity) {
+            reserve(minCapacity, true);
+        }
+    }
+
+    /**
+     * Reallocates the storage with at least the specified capacity, doubling the current capacity.
+     *
+     * @param minCapacity the minimum byte capacity.
+     * @param keep if the contents of the buffer are kept.
+     */
+    private void reserve(long minCapacity, boolean keep) {
+        long newCapacity = Math.max(minCapacity, capacity << 1);
+        if (!keep || byteSize == 0) {
+            super.allocate(newCapacity);
+        } else {
+            // The storage of a buffer cannot be resized in place, so the contents are parked in a temporary buffer.
+            GLBuffer temp = GLBufferFactory.getDefault().create(GLBufferType.Byte, GLBufferTarget.CopyWrite,
+                                                                 GLBufferUsage.NoneStream);
+            temp.allocate(byteSize);
+            copyTo(temp, 0, 0, byteSize);
+            super.allocate(newCapacity);
+            temp.copyTo(this, 0, 0, byteSize);
+            temp.delete();
+        }
+        capacity = newCapacity;
+    }
+}
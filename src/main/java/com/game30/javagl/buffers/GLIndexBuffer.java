@@ -0,0 +1,302 @@
+package com.game30.javagl.buffers;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+import com.game30.javagl.GLContextState;
+import com.game30.javagl.GLDeletable;
+import com.game30.javagl.memory.GLMemory;
+import com.game30.javagl.programs.GLAttributeType;
+
+/**
+ * A GLIndexBuffer is an element array buffer whose indices are stored in the smallest unsigned type which can hold
+ * them.  Indices are given as ints and scanned for the largest index when the buffer is created.  Meshes with fewer
+ * than 65,536 vertices are stored as unsigned shorts and meshes with fewer than 256 vertices as unsigned bytes, which
+ * halves or quarters the memory and bandwidth used by the indices.
+ *
+ * <p>An index buffer can use primitive restart, where a sentinel index ends the current strip or fan and starts a new
+ * one.  The sentinel given when the buffer is created is replaced by the largest value of the stored type, which is the
+ * fixed restart index OpenGL uses with {@code GL_PRIMITIVE_RESTART_FIXED_INDEX}, so that value is never used for a
+ * vertex.
+ *
+ * <p>The type of the indices is fixed when the buffer is created.  Later writes must be given in the stored type.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLIndexBuffer extends GLBufferBase {
+
+    /** The largest index which can be stored as an unsigned byte. */
+    private static final int MAX_BYTE_INDEX = 0xff;
+
+    /** The largest index which can be stored as an unsigned short. */
+    private static final int MAX_SHORT_INDEX = 0xffff;
+
+    /** If the indices contain primitive restart sentinels. */
+    private final boolean restart;
+
+    /** The number of indices in the buffer. */
+    private int count;
+
+    /**
+     * Constructs a GLIndexBuffer instance holding the specified indices without primitive restart.
+     *
+     * @param usage the buffer usage pattern.
+     * @param indices the indices.
+     */
+    protected GLIndexBuffer(GLBufferUsage usage, IntBuffer indices) {
+        this(usage, indices, false, 0);
+    }
+
+    /**
+     * Constructs a GLIndexBuffer instance holding the specified indices where the specified sentinel restarts the
+     * primitive.
+     *
+     * @param usage the buffer usage pattern.
+     * @param indices the indices.
+     * @param restartIndex the primitive restart sentinel.
+     */
+    protected GLIndexBuffer(GLBufferUsage usage, IntBuffer indices, int restartIndex) {
+        this(usage, indices, true, restartIndex);
+    }
+
+    /**
+     * Constructs a GLIndexBuffer instance holding indices which are already stored as unsigned bytes, shorts or ints.
+     * The index type is the primitive type of the data, and restart sentinels must already be the largest value of
+     * that type.
+     *
+     * @param usage the buffer usage pattern.
+     * @param indices the stored indices.
+     * @param restart if the indices contain primitive restart sentinels.
+     */
+    protected GLIndexBuffer(GLBufferUsage usage, Buffer indices, boolean restart) {
+        super(storedType(indices), GLBufferTarget.ElementArray, usage);
+        this.restart = restart;
+        super.write(indices);
+        this.count = indices.remaining();
+    }
+
+    /**
+     * Constructs a GLIndexBuffer instance holding the specified indices.
+     *
+     * @param usage the buffer usage pattern.
+     * @param indices the indices.
+     * @param restart if the indices contain primitive restart sentinels.
+     * @param restartIndex the primitive restart sentinel.
+     */
+    private GLIndexBuffer(GLBufferUsage usage, IntBuffer indices, boolean restart, int restartIndex) {
+        super(narrowestType(indices, restart, restartIndex), GLBufferTarget.ElementArray, usage);
+        this.restart = restart;
+        if (getType() == GLBufferType.Integer && !restart) {
+            super.write(indices);
+        } else {
+            ByteBuffer narrowed = GLMemory.allocate(getType().toByteSize(indices.remaining()));
+            try {
+                narrow(indices, getType(), narrowed, restart, restartIndex);
+                super.write(getType().view(narrowed));
+            } finally {
+                GLMemory.free(narrowed);
+            }
+        }
+        this.count = indices.remaining();
+    }
+
+    /**
+     * Returns the type of the stored indices, which must be passed to draw calls.
+     *
+     * @return the index type.
+     */
+    public GLAttributeType getIndexType() {
+        return indexType(getType());
+    }
+
+    /**
+     * Returns the number of indices in the buffer.
+     *
+     * @return the index count.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns {@code true} if the indices contain primitive restart sentinels.
+     *
+     * @return if primitive restart is used.
+     */
+    public boolean hasRestart() {
+        return restart;
+    }
+
+    /**
+     * Returns the stored primitive restart sentinel, which is the largest value of the index type.
+     *
+     * @return the restart index.
+     */
+    public int getRestartIndex() {
+        return maxValue(getType());
+    }
+
+    /**
+     * Binds the index buffer to the bound vertex array, where it stays attached as the indices of the vertex array.
+     * Unlike {@link #bind()}, which first unbinds any vertex array so its indices are not replaced, this is how a
+     * vertex array is given its indices.
+     */
+    public void attach() {
+        GLContextState state = GLContextState.current();
+        if (!state.isBufferBound(GLBufferTarget.ElementArray, getIndex())) {
+            GLDeletable.requireExists(this);
+            state.attachElementArray(getIndex());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The data must be of the stored index type and replaces all of the indices.
+     */
+    @Override
+    public void write(Buffer data) {
+        requireIndexType(data);
+        super.write(data);
+        count = data.remaining();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The data must be of the stored index type.
+     */
+    @Override
+    public void write(long offset, Buffer data) {
+        requireIndexType(data);
+        super.write(offset, data);
+        count = Math.max(count, getType().fromByteSize((int) offset) + data.remaining());
+    }
+
+    /**
+     * Validates that the specified data is of the stored index type.
+     *
+     * @param data the data to write.
+     */
+    private void requireIndexType(Buffer data) {
+        if (GLBufferType.getType(data) != getType()) {
+            throw new GLBufferException("Indices of [" + this + "] are stored as [" + getIndexType() + "] but ["
+                                        + GLBufferType.getType(data) + "] data was given.");
+        }
+    }
+
+    /**
+     * Returns the buffer type of the specified stored indices.
+     *
+     * @param indices the stored indices.
+     * @return the buffer type.
+     * @throws GLBufferException if indices cannot be stored in the type of the data.
+     */
+    private static GLBufferType storedType(Buffer indices) {
+        GLBufferType type = GLBufferType.getType(indices);
+        if (type != GLBufferType.Byte && type != GLBufferType.Short && type != GLBufferType.Integer) {
+            throw new GLBufferException("Indices cannot be stored as [" + type + "].");
+        }
+        return type;
+    }
+
+    /**
+     * Static method to return the narrowest buffer type which can hold the specified indices.  Indices are treated as
+     * unsigned, and when primitive restart is used the largest value of the type is kept free for the restart sentinel.
+     * This is the type an index buffer created from the indices stores them as.
+     *
+     * @param indices the indices.
+     * @param restart if the indices contain primitive restart sentinels.
+     * @param restartIndex the primitive restart sentinel.
+     * @return the narrowest buffer type.
+     * @throws GLBufferException if an index collides with the restart sentinel of the widest type.
+     */
+    public static GLBufferType narrowestType(IntBuffer indices, boolean restart, int restartIndex) {
+        long max = 0;
+        for (int i = indices.position(); i < indices.limit(); i++) {
+            int index = indices.get(i);
+            if (!restart || index != restartIndex) {
+                max = Math.max(max, Integer.toUnsignedLong(index));
+            }
+        }
+        if (restart && max == Integer.toUnsignedLong(maxValue(GLBufferType.Integer))) {
+            throw new GLBufferException("Index [" + max + "] collides with the primitive restart index.");
+        }
+        int reserved = restart ? 1 : 0;
+        if (max <= MAX_BYTE_INDEX - reserved) {
+            return GLBufferType.Byte;
+        } else if (max <= MAX_SHORT_INDEX - reserved) {
+            return GLBufferType.Short;
+        } else {
+            return GLBufferType.Integer;
+        }
+    }
+
+    /**
+     * Static method to copy the specified indices into the specified memory as the specified type, as returned by
+     * {@link #narrowestType(IntBuffer, boolean, int)}, replacing restart sentinels with the largest value of that type.
+     * The memory is filled from index zero in its own byte order, and the positions of the indices and the memory are
+     * not changed.
+     *
+     * @param indices the indices.
+     * @param type the buffer type to store the indices as.
+     * @param narrowed the memory to fill.
+     * @param restart if the indices contain primitive restart sentinels.
+     * @param restartIndex the primitive restart sentinel.
+     */
+    public static void narrow(IntBuffer indices, GLBufferType type, ByteBuffer narrowed, boolean restart,
+                              int restartIndex) {
+        int sentinel = maxValue(type);
+        int shift = type.getByteShift();
+        for (int i = indices.position(), j = 0; i < indices.limit(); i++, j += 1 << shift) {
+            int index = indices.get(i);
+            if (restart && index == restartIndex) {
+                index = sentinel;
+            }
+            if (shift == 0) {
+                narrowed.put(j, (byte) index);
+            } else if (shift == 1) {
+                narrowed.putShort(j, (short) index);
+            } else {
+                narrowed.putInt(j, index);
+            }
+        }
+    }
+
+    /**
+     * Static method to return the index type passed to draw calls for indices stored as the specified buffer type.
+     *
+     * @param type the buffer type of the stored indices.
+     * @return the index type.
+     */
+    public static GLAttributeType indexType(GLBufferType type) {
+        switch (type) {
+            case Byte:
+                return GLAttributeType.UnsignedByte;
+            case Short:
+                return GLAttributeType.UnsignedShort;
+            default:
+                return GLAttributeType.UnsignedInt;
+        }
+    }
+
+    /**
+     * Returns the largest unsigned value of the specified index type.
+     *
+     * @param type the index type.
+     * @return the largest value.
+     */
+    private static int maxValue(GLBufferType type) {
+        switch (type) {
+            case Byte:
+                return MAX_BYTE_INDEX;
+            case Short:
+                return MAX_SHORT_INDEX;
+            default:
+                return -1;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.game30.javagl.buffers;
+
+import java.nio.Buffer;
+
+/**
+ * A GLPooledBuffer is an OpenGL buffer handed out by a {@link GLBufferPool}.  Deleting a pooled buffer returns the
+ * OpenGL buffer and its storage to the pool instead of deleting it, after which this instance no longer exists.
+ *
+ * <p>The storage of a pooled buffer is kept at a power-of-two capacity.  Writing data which fits within the capacity
+ * updates the storage in place with {@code glBufferSubData}, so the driver never allocates new storage.  The byte size
+ * of the buffer is the size of the data last written, not the capacity of the storage.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLPooledBuffer extends GLBufferBase {
+
+    /** The pool which owns the buffer. */
+    private final GLBufferPool pool;
+
+    /** The byte capacity of the buffer storage. */
+    private long capacity;
+
+    /** The byte size of the data in the buffer. */
+    private long byteSize;
+
+    /**
+     * Constructs a GLPooledBuffer instance which wraps the existing OpenGL buffer with the specified index and storage
+     * capacity.
+     *
+     * @param pool the pool which owns the buffer.
+     * @param type the buffer primitive type.
+     * @param target the buffer bind target.
+     * @param usage the buffer usage pattern.
+     * @param index the index of the existing buffer.
+     * @param capacity the byte capacity of the buffer storage.
+     */
+    protected GLPooledBuffer(GLBufferPool pool, GLBufferType type, GLBufferTarget target, GLBufferUsage usage,
+                             int index, long capacity) {
+        super(type, target, usage, index);
+        this.pool = pool;
+        this.capacity = capacity;
+        this.byteSize = capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The OpenGL buffer is returned to the pool if the pool still exists, otherwise it is deleted.
+     */
+    @Override
+    public void delete() {
+        if (exists() && pool.release(this)) {
+            detach();
+        } else {
+            super.delete();
+        }
+    }
+
+    /**
+     * Returns the byte capacity of the buffer storage.  This is at least the byte size of the buffer.
+     *
+     * @return the storage capacity.
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long getByteSize() {
+        return byteSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the data fits within the capacity of the storage, the storage is updated in place.  Otherwise new storage
+     * is allocated with the next power-of-two capacity.
+     */
+    @Override
+    public void write(Buffer data) {
+        if (GLBufferUsageAccess.Write != getUsage().getAccess()) {
+            throw new GLBufferException("Cannot write data to a [" + getUsage() + "] buffer.");
+        }
+        long size = GLBufferType.getType(data).toByteSize(data.remaining());
+        if (isShadowed()) {
+            super.write(data);
+            capacity = size;
+        } else {
+            if (size > capacity) {
+                allocate(GLBufferPool.classCapacity(GLBufferPool.sizeClass(size)));
+            }
+            super.write(0, data);
+        }
+        byteSize = size;
+    }
+
+    @Override
+    public void allocate(long byteSize) {
+        super.allocate(byteSize);
+        this.capacity = byteSize;
+        this.byteSize = byteSize;
+    }
+
+    @Override
+    public void enableShadow(int byteSize) {
+        super.enableShadow(byteSize);
+        this.capacity = byteSize;
+        this.byteSize = byteSize;
+    }
+}
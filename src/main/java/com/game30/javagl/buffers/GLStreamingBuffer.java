@@ -0,0 +1,226 @@
+package com.game30.javagl.buffers;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL32;
+import org.lwjgl.opengl.GL44;
+import org.lwjgl.system.MemoryUtil;
+
+/**
+ * A GLStreamingBuffer is an OpenGL buffer with immutable storage that is persistently mapped into client memory.  It
+ * is meant for geometry that is regenerated every frame, such as sprites, particles or debug lines.
+ *
+ * <p>The storage of the buffer is split into a fixed number of equally sized regions.  Each frame, {@link #begin()}
+ * hands out the next region as a writable {@link ByteBuffer} and {@link #end()} places a fence after the commands that
+ * read from it.  A region is only handed out again once its fence has signalled, so the processor never writes data the
+ * graphics card is still reading and OpenGL never has to reallocate or implicitly synchronize the storage.  Three
+ * regions is usually enough to hide the latency between the processor and the graphics card.
+ *
+ * <p>Since the storage is immutable, the buffer cannot be written with {@link #write(Buffer)}.  Data is written into
+ * the region returned by {@link #begin()} and drawn from the byte offset returned by {@link #getOffset()}.  This
+ * requires OpenGL 4.4 or ARB_buffer_storage.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLStreamingBuffer extends GLBufferBase {
+
+    /** The storage and map flags of the buffer. */
+    private static final int FLAGS = GL30.GL_MAP_WRITE_BIT | GL44.GL_MAP_PERSISTENT_BIT | GL44.GL_MAP_COHERENT_BIT;
+
+    /** The number of nanoseconds to wait for a fence before checking again. */
+    private static final long FENCE_TIMEOUT = 1_000_000L;
+
+    /** The size in bytes of a single region. */
+    private final int regionSize;
+
+    /** The region views of the mapped storage. */
+    private final ByteBuffer[] regions;
+
+    /** The fences guarding each region, or {@link MemoryUtil#NULL} if the region is not in use. */
+    private final long[] fences;
+
+    /** The index of the current region. */
+    private int current;
+
+    /**
+     * Constructs a GLStreamingBuffer instance with the specified bind target, region size and region count.  The
+     * storage of the buffer is allocated and mapped immediately.
+     *
+     * @param target the buffer bind target.
+     * @param regionSize the size in bytes of a single region.
+     * @param regionCount the number of regions.
+     */
+    protected GLStreamingBuffer(GLBufferTarget target, int regionSize, int regionCount) {
+        super(GLBufferType.Byte, target, GLBufferUsage.WriteStream);
+        if (regionSize <= 0 || regionCount <= 0) {
+            throw new GLBufferException("Region size and count must be positive.");
+        }
+        this.regionSize = regionSize;
+        this.regions = new ByteBuffer[regionCount];
+        this.fences = new long[regionCount];
+        this.current = regionCount - 1;
+
+        final long size = (long) regionSize * regionCount;
+        bind();
+        GL44.glBufferStorage(target.glInt(), size, FLAGS);
+        ByteBuffer mapped = GL30.glMapBufferRange(target.glInt(), 0, size, FLAGS);
+        unbind();
+        if (mapped == null) {
+            throw new GLBufferException("Could not map storage of [" + this + "].");
+        }
+        mapped.order(ByteOrder.nativeOrder());
+        for (int i = 0; i < regionCount; i++) {
+            regions[i] = MemoryUtil.memSlice(mapped, i * regionSize, regionSize).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    @Override
+    public void delete() {
+        for (int i = 0; i < fences.length; i++) {
+            if (fences[i] != MemoryUtil.NULL) {
+                GL32.glDeleteSync(fences[i]);
+                fences[i] = MemoryUtil.NULL;
+            }
+        }
+        if (exists()) {
+            bind();
+            GL15.glUnmapBuffer(getTarget().glInt());
+            unbind();
+        }
+        super.delete();
+    }
+
+    /**
+     * Unsupported since the storage of a streaming buffer is immutable.
+     *
+     * @param data data to write.
+     * @throws GLBufferException always.
+     */
+    @Override
+    public void write(Buffer data) {
+        throw new GLBufferException("Cannot respecify the immutable storage of [" + this + "].");
+    }
+
+    /**
+     * Unsupported since the storage of a streaming buffer is only written through its mapped regions.
+     *
+     * @param offset the byte offset to start the write.
+     * @param data data to write.
+     * @throws GLBufferException always.
+     */
+    @Override
+    public void write(long offset, Buffer data) {
+        throw new GLBufferException("Cannot write to the immutable storage of [" + this + "] except through regions.");
+    }
+
+    /**
+     * Unsupported since the storage of a streaming buffer is immutable.
+     *
+     * @param byteSize the size of the storage in bytes.
+     * @throws GLBufferException always.
+     */
+    @Override
+    public void allocate(long byteSize) {
+        throw new GLBufferException("Cannot respecify the immutable storage of [" + this + "].");
+    }
+
+    /**
+     * Unsupported since the storage of a streaming buffer is only written through its mapped regions.
+     *
+     * @param byteSize the size of the buffer in bytes.
+     * @throws GLBufferException always.
+     */
+    @Override
+    public void enableShadow(int byteSize) {
+        throw new GLBufferException("Cannot shadow the immutable storage of [" + this + "].");
+    }
+
+    /**
+     * Unsupported since the storage of a streaming buffer is already mapped.
+     *
+     * @param byteOffset the byte offset of the range.
+     * @param byteLength the byte length of the range.
+     * @param flags the map flags.
+     * @throws GLBufferException always.
+     */
+    @Override
+    public GLBufferMapping map(long byteOffset, long byteLength, GLBufferMapFlag... flags) {
+        throw new GLBufferException("Storage of [" + this + "] is already mapped.");
+    }
+
+    @Override
+    public long getByteSize() {
+        return (long) regionSize * regions.length;
+    }
+
+    /**
+     * Returns the size in bytes of a single region.
+     *
+     * @return the region size.
+     */
+    public int getRegionSize() {
+        return regionSize;
+    }
+
+    /**
+     * Returns the number of regions the storage is split into.
+     *
+     * @return the region count.
+     */
+    public int getRegionCount() {
+        return regions.length;
+    }
+
+    /**
+     * Returns the byte offset within the buffer of the current region.  This is the offset that draw calls should use
+     * for the data written into the region returned by {@link #begin()}.
+     *
+     * @return the byte offset of the current region.
+     */
+    public long getOffset() {
+        return (long) current * regionSize;
+    }
+
+    /**
+     * Advances to the next region and returns it as a writable buffer.  If the graphics card is still reading from the
+     * region, this waits until the fence placed by {@link #end()} has signalled.  The returned buffer is cleared and in
+     * native byte order.
+     *
+     * @return the writable view of the next region.
+     */
+    public ByteBuffer begin() {
+        current = (current + 1) % regions.length;
+        long fence = fences[current];
+        if (fence != MemoryUtil.NULL) {
+            int status = GL32.glClientWaitSync(fence, GL32.GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_TIMEOUT);
+            while (status == GL32.GL_TIMEOUT_EXPIRED) {
+                status = GL32.glClientWaitSync(fence, 0, FENCE_TIMEOUT);
+            }
+            GL32.glDeleteSync(fence);
+            fences[current] = MemoryUtil.NULL;
+            if (status == GL32.GL_WAIT_FAILED) {
+                throw new GLBufferException("Could not wait for region [" + current + "] of [" + this + "].");
+            }
+        }
+        ByteBuffer region = regions[current];
+        region.clear();
+        return region;
+    }
+
+    /**
+     * Places a fence after all commands issued so far.  This should be called once all draw calls that read from the
+     * current region have been issued.
+     */
+    public void end() {
+        if (fences[current] != MemoryUtil.NULL) {
+            GL32.glDeleteSync(fences[current]);
+        }
+        fences[current] = GL32.glFenceSync(GL32.GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+    }
+}
@@ -0,0 +1,455 @@
+package com.game30.javagl.commands;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import com.game30.javagl.arrays.GLDrawMode;
+import com.game30.javagl.arrays.GLVertexArray;
+import com.game30.javagl.buffers.GLBuffer;
+import com.game30.javagl.buffers.GLIndexBuffer;
+import com.game30.javagl.memory.GLMemory;
+import com.game30.javagl.programs.GLProgram;
+import com.game30.javagl.programs.GLUniform;
+import com.game30.javagl.textures.GLTexture;
+
+/**
+ * A GLCommandBuffer records OpenGL commands so that they can be prepared on any thread and replayed later on the thread
+ * which owns the OpenGL context.  Recording makes no OpenGL calls, so draws can be prepared by many threads in
+ * parallel, each recording into a buffer of its own.
+ *
+ * <p>Commands are encoded into off-heap memory which only grows, and the objects they refer to are kept in a table of
+ * references.  Uniform values and buffer data are copied into the command memory when recorded, so the caller may
+ * reuse its own memory right away.  Replay reads the commands back through views of the command memory, so neither
+ * recording into a buffer with enough capacity nor replaying allocates.
+ *
+ * <p>A command buffer is not thread-safe.  Each buffer must only be recorded into by one thread at a time, and must be
+ * handed over to the context thread, such as by joining the recording task, before it is replayed.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLCommandBuffer implements AutoCloseable {
+
+    /** The command to use a program. */
+    private static final int USE_PROGRAM = 1;
+
+    /** The command to bind a texture to a texture unit. */
+    private static final int BIND_TEXTURE = 2;
+
+    /** The command to write int values to a uniform. */
+    private static final int WRITE_UNIFORM_INT = 3;
+
+    /** The command to write float values to a uniform. */
+    private static final int WRITE_UNIFORM_FLOAT = 4;
+
+    /** The command to write double values to a uniform. */
+    private static final int WRITE_UNIFORM_DOUBLE = 5;
+
+    /** The command to write data to part of a buffer. */
+    private static final int WRITE_BUFFER = 6;
+
+    /** The command to draw a range of vertices. */
+    private static final int DRAW_ARRAYS = 7;
+
+    /** The command to draw a range of indices. */
+    private static final int DRAW_ELEMENTS = 8;
+
+    /** The byte alignment of command data, which suits every primitive type. */
+    private static final int DATA_ALIGNMENT = 8;
+
+    /** The draw modes by ordinal. */
+    private static final GLDrawMode[] MODES = GLDrawMode.values();
+
+    /** The encoded commands in native byte order. */
+    private ByteBuffer commands;
+
+    /** An int view of the command memory. */
+    private IntBuffer ints;
+
+    /** A float view of the command memory. */
+    private FloatBuffer floats;
+
+    /** A double view of the command memory. */
+    private DoubleBuffer doubles;
+
+    /** A byte view of the command memory. */
+    private ByteBuffer bytes;
+
+    /** The byte size of the encoded commands. */
+    private int size;
+
+    /** The objects referred to by the commands. */
+    private Object[] references;
+
+    /** The number of referenced objects. */
+    private int referenceCount;
+
+    /** The number of encoded commands. */
+    private int count;
+
+    /**
+     * Constructs a GLCommandBuffer instance with the specified byte capacity before growing.
+     *
+     * @param capacity the initial byte capacity.
+     */
+    public GLCommandBuffer(int capacity) {
+        this.references = new Object[64];
+        resize(Math.max(DATA_ALIGNMENT, align(capacity)));
+    }
+
+    /**
+     * Returns the number of recorded commands.
+     *
+     * @return the command count.
+     */
+    public int getCommandCount() {
+        return count;
+    }
+
+    /**
+     * Returns the byte size of the recorded commands.
+     *
+     * @return the command byte size.
+     */
+    public int getByteSize() {
+        return size;
+    }
+
+    /**
+     * Records a command to use the specified program.
+     *
+     * @param program the program to use.
+     * @return this command buffer.
+     */
+    public GLCommandBuffer useProgram(GLProgram program) {
+        int index = reserve(USE_PROGRAM, 2);
+        commands.putInt(index + 4, reference(program));
+        return this;
+    }
+
+    /**
+     * Records a command to bind the specified texture to the specified texture unit.
+     *
+     * @param texture the texture to bind.
+     * @param unit the texture unit, starting from zero.
+     * @return this command buffer.
+     */
+    public GLCommandBuffer bindTexture(GLTexture texture, int unit) {
+        int index = reserve(BIND_TEXTURE, 3);
+        commands.putInt(index + 4, reference(texture)).putInt(index + 8, unit);
+        return this;
+    }
+
+    /**
+     * Records a command to write the specified int values to the specified uniform of the program in use.
+     *
+     * @param uniform the uniform to write.
+     * @param values the values, as many as the uniform type holds.
+     * @return this command buffer.
+     */
+    public GLCommandBuffer writeUniform(GLUniform uniform, int[] values) {
+        int index = reserveUniform(WRITE_UNIFORM_INT, uniform, values.length, 4);
+        for (int i = 0; i < values.length; i++) {
+            commands.putInt(index + (i << 2), values[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Records a command to write the specified float values to the specified uniform of the program in use.
+     *
+     * @param uniform the uniform to write.
+     * @param values the values, as many as the uniform type holds.
+     * @return this command buffer.
+     */
+    public GLCommandBuffer writeUniform(GLUniform uniform, float[] values) {
+        int index = reserveUniform(WRITE_UNIFORM_FLOAT, uniform, values.length, 4);
+        for (int i = 0; i < values.length; i++) {
+            commands.putFloat(index + (i << 2), values[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Records a command to write the specified double values to the specified uniform of the program in use.
+     *
+     * @param uniform the uniform to write.
+     * @param values the values, as many as the uniform type holds.
+     * @return this command buffer.
+     */
+    public GLCommandBuffer writeUniform(GLUniform uniform, double[] values) {
+        int index = reserveUniform(WRITE_UNIFORM_DOUBLE, uniform, values.length, 8);
+        for (int i = 0; i < values.length; i++) {
+            commands.putDouble(index + (i << 3), values[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Records a command to write the remaining values of the specified int, float or double buffer to the specified
+     * uniform of the program in use.  The position of the buffer is not changed.
+     *
+     * @param uniform the uniform to write.
+     * @param data the values, as many as the uniform type holds.
+     * @return this command buffer.
+     */
+    public GLCommandBuffer writeUniform(GLUniform uniform, Buffer data) {
+        int length = data.remaining();
+        int start = data.position();
+        if (data instanceof IntBuffer) {
+            IntBuffer values = (IntBuffer) data;
+            int index = reserveUniform(WRITE_UNIFORM_INT, uniform, length, 4);
+            for (int i = 0; i < length; i++) {
+                commands.putInt(index + (i << 2), values.get(start + i));
+            }
+        } else if (data instanceof FloatBuffer) {
+            FloatBuffer values = (FloatBuffer) data;
+            int index = reserveUniform(WRITE_UNIFORM_FLOAT, uniform, length, 4);
+            for (int i = 0; i < length; i++) {
+                commands.putFloat(index + (i << 2), values.get(start + i));
+            }
+        } else if (data instanceof DoubleBuffer) {
+            DoubleBuffer values = (DoubleBuffer) data;
+            int index = reserveUniform(WRITE_UNIFORM_DOUBLE, uniform, length, 8);
+            for (int i = 0; i < length; i++) {
+                commands.putDouble(index + (i << 3), values.get(start + i));
+            }
+        } else {
+            throw new GLCommandException("Cannot write a [" + data.getClass().getSimpleName() + "] to a uniform.");
+        }
+        return this;
+    }
+
+    /**
+     * Records a command to write the remaining bytes of the specified data to the specified buffer, starting at the
+     * specified byte offset.  The position of the data is not changed.
+     *
+     * @param buffer the buffer to write.
+     * @param offset the byte offset to start the write.
+     * @param data the data to write.
+     * @return this command buffer.
+     */
+    public GLCommandBuffer writeBuffer(GLBuffer buffer, long offset, ByteBuffer data) {
+        int length = data.remaining();
+        int index = reserve(WRITE_BUFFER, 6 + (align(length) >> 2));
+        commands.putInt(index + 4, reference(buffer)).putInt(index + 8, length).putLong(index + 16, offset);
+        int start = data.position();
+        bytes.limit(index + 24 + length).position(index + 24);
+        bytes.put(data);
+        data.position(start);
+        return this;
+    }
+
+    /**
+     * Records a command to draw the specified range of vertices of the specified vertex array.
+     *
+     * @param vertexArray the vertex array to draw.
+     * @param mode the primitive type to draw.
+     * @param first the first vertex to draw.
+     * @param count the number of vertices to draw.
+     * @return this command buffer.
+     * @see GLVertexArray#draw(GLDrawMode, int, int)
+     */
+    public GLCommandBuffer draw(GLVertexArray vertexArray, GLDrawMode mode, int first, int count) {
+        int index = reserve(DRAW_ARRAYS, 5);
+        commands.putInt(index + 4, reference(vertexArray))
+                .putInt(index + 8, mode.ordinal())
+                .putInt(index + 12, first)
+                .putInt(index + 16, count);
+        return this;
+    }
+
+    /**
+     * Records a command to draw the specified range of indices of the specified vertex array.
+     *
+     * @param vertexArray the vertex array to draw.
+     * @param mode the primitive type to draw.
+     * @param indices the indices of the vertices to draw.
+     * @param first the first index to draw.
+     * @param count the number of indices to draw.
+     * @return this command buffer.
+     * @see GLVertexArray#draw(GLDrawMode, GLIndexBuffer, int, int)
+     */
+    public GLCommandBuffer draw(GLVertexArray vertexArray, GLDrawMode mode, GLIndexBuffer indices, int first,
+                                int count) {
+        int index = reserve(DRAW_ELEMENTS, 6);
+        commands.putInt(index + 4, reference(vertexArray))
+                .putInt(index + 8, reference(indices))
+                .putInt(index + 12, mode.ordinal())
+                .putInt(index + 16, first)
+                .putInt(index + 20, count);
+        return this;
+    }
+
+    /**
+     * Replays the recorded commands in the order they were recorded.  This must be called on the thread which owns the
+     * OpenGL context.  The commands are kept, so they can be replayed again until the buffer is cleared.
+     */
+    public void execute() {
+        int index = 0;
+        while (index < size) {
+            int words = commands.getInt(index) >>> 8;
+            switch (commands.getInt(index) & 0xff) {
+                case USE_PROGRAM:
+                    ((GLProgram) references[commands.getInt(index + 4)]).use();
+                    break;
+                case BIND_TEXTURE:
+                    ((GLTexture) references[commands.getInt(index + 4)]).bind(commands.getInt(index + 8));
+                    break;
+                case WRITE_UNIFORM_INT:
+                    ints.limit((index + 16 >> 2) + commands.getInt(index + 8)).position(index + 16 >> 2);
+                    ((GLUniform) references[commands.getInt(index + 4)]).write(ints);
+                    break;
+                case WRITE_UNIFORM_FLOAT:
+                    floats.limit((index + 16 >> 2) + commands.getInt(index + 8)).position(index + 16 >> 2);
+                    ((GLUniform) references[commands.getInt(index + 4)]).write(floats);
+                    break;
+                case WRITE_UNIFORM_DOUBLE:
+                    doubles.limit((index + 16 >> 3) + commands.getInt(index + 8)).position(index + 16 >> 3);
+                    ((GLUniform) references[commands.getInt(index + 4)]).write(doubles);
+                    break;
+                case WRITE_BUFFER:
+                    bytes.limit(index + 24 + commands.getInt(index + 8)).position(index + 24);
+                    ((GLBuffer) references[commands.getInt(index + 4)]).write(commands.getLong(index + 16), bytes);
+                    break;
+                case DRAW_ARRAYS:
+                    ((GLVertexArray) references[commands.getInt(index + 4)]).draw(MODES[commands.getInt(index + 8)],
+                                                                                 commands.getInt(index + 12),
+                                                                                 commands.getInt(index + 16));
+                    break;
+                case DRAW_ELEMENTS:
+                    ((GLVertexArray) references[commands.getInt(index + 4)]).draw(MODES[commands.getInt(index + 12)],
+                                                                                 (GLIndexBuffer) references[
+                                                                                         commands.getInt(index + 8)],
+                                                                                 commands.getInt(index + 16),
+                                                                                 commands.getInt(index + 20));
+                    break;
+                default:
+                    throw new GLCommandException("Unknown command at [" + index + "] of [" + this + "].");
+            }
+            index += words << 2;
+        }
+    }
+
+    /**
+     * Discards every recorded command and reference.  The command memory is kept for the next recording.
+     */
+    public void clear() {
+        Arrays.fill(references, 0, referenceCount, null);
+        referenceCount = 0;
+        size = 0;
+        count = 0;
+    }
+
+    /**
+     * Frees the command memory.  The buffer cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (commands != null) {
+            clear();
+            GLMemory.free(commands);
+            commands = null;
+            ints = null;
+            floats = null;
+            doubles = null;
+            bytes = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[count=" + count + ", size=" + size + "]";
+    }
+
+    /**
+     * Reserves room for a uniform write command and returns the byte index of its values.
+     *
+     * @param command the command.
+     * @param uniform the uniform to write.
+     * @param length the number of values.
+     * @param valueSize the byte size of each value.
+     * @return the byte index of the values.
+     */
+    private int reserveUniform(int command, GLUniform uniform, int length, int valueSize) {
+        if (length != uniform.getType().getSize()) {
+            throw new GLCommandException("Uniform [" + uniform.getName() + "] of type [" + uniform.getType()
+                                         + "] cannot be written with [" + length + "] values.");
+        }
+        int index = reserve(command, 4 + (align(length * valueSize) >> 2));
+        commands.putInt(index + 4, reference(uniform)).putInt(index + 8, length);
+        return index + 16;
+    }
+
+    /**
+     * Reserves room for a command of the specified number of 4-byte words, rounded up so the next command stays
+     * aligned, and writes its header.
+     *
+     * @param command the command.
+     * @param words the number of 4-byte words of the command, including its header.
+     * @return the byte index of the command.
+     */
+    private int reserve(int command, int words) {
+        int byteSize = align(words << 2);
+        int index = size;
+        if (index + byteSize > commands.capacity()) {
+            resize(Math.max(index + byteSize, commands.capacity() << 1));
+        }
+        commands.putInt(index, (byteSize >> 2) << 8 | command);
+        size += byteSize;
+        count++;
+        return index;
+    }
+
+    /**
+     * Adds the specified object to the references and returns its position.
+     *
+     * @param object the referenced object.
+     * @return the reference position.
+     */
+    private int reference(Object object) {
+        if (object == null) {
+            throw new GLCommandException("Commands cannot refer to null objects.");
+        } else if (referenceCount == references.length) {
+            references = Arrays.copyOf(references, references.length << 1);
+        }
+        references[referenceCount] = object;
+        return referenceCount++;
+    }
+
+    /**
+     * Replaces the command memory with memory of the specified byte capacity, keeping the recorded commands.
+     *
+     * @param capacity the new byte capacity.
+     */
+    private void resize(int capacity) {
+        ByteBuffer resized = GLMemory.allocate(capacity);
+        if (commands != null) {
+            ByteBuffer recorded = commands.duplicate();
+            recorded.clear().limit(size);
+            resized.put(recorded);
+            GLMemory.free(commands);
+        }
+        resized.clear();
+        commands = resized;
+        ints = resized.asIntBuffer();
+        floats = resized.asFloatBuffer();
+        doubles = resized.asDoubleBuffer();
+        bytes = resized.duplicate();
+    }
+
+    /**
+     * Rounds the specified byte size up to the data alignment.
+     *
+     * @param byteSize the byte size.
+     * @return the aligned byte size.
+     */
+    private static int align(int byteSize) {
+        return (byteSize + DATA_ALIGNMENT - 1) & -DATA_ALIGNMENT;
+    }
+}
@@ -0,0 +1,93 @@
+package com.game30.javagl.commands;
+
+/**
+ * A GLCommandExecutor owns a fixed number of command streams, each of which is a {@link GLCommandBuffer} recorded by at
+ * most one thread, and replays them on the context thread in stream order.  Since each worker records into a stream of
+ * its own, recording needs no locks, and the order of the replayed commands only depends on how work was divided
+ * between the streams, not on how the threads were scheduled.
+ *
+ * <p>A frame is usually prepared by giving each worker a stream number, recording in parallel, waiting for every
+ * worker to finish, then calling {@link #execute()} on the context thread:
+ * <pre>{@code
+ * IntStream.range(0, executor.getStreamCount()).parallel()
+ *          .forEach(stream -> prepare(part(stream), executor.getStream(stream)));
+ * executor.execute();
+ * }</pre>
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLCommandExecutor implements AutoCloseable {
+
+    /** The command streams in replay order. */
+    private final GLCommandBuffer[] streams;
+
+    /**
+     * Constructs a GLCommandExecutor instance with the specified number of streams.
+     *
+     * @param streamCount the number of command streams.
+     * @param capacity the initial byte capacity of each stream.
+     */
+    public GLCommandExecutor(int streamCount, int capacity) {
+        if (streamCount <= 0) {
+            throw new GLCommandException("Stream count [" + streamCount + "] must be positive.");
+        }
+        this.streams = new GLCommandBuffer[streamCount];
+        for (int i = 0; i < streamCount; i++) {
+            streams[i] = new GLCommandBuffer(capacity);
+        }
+    }
+
+    /**
+     * Returns the number of command streams.
+     *
+     * @return the stream count.
+     */
+    public int getStreamCount() {
+        return streams.length;
+    }
+
+    /**
+     * Returns the command stream at the specified position, which must only be recorded into by one thread at a time.
+     *
+     * @param stream the stream position.
+     * @return the command stream.
+     */
+    public GLCommandBuffer getStream(int stream) {
+        if (stream < 0 || stream >= streams.length) {
+            throw new GLCommandException("Stream [" + stream + "] is outside of [" + streams.length + "] streams.");
+        }
+        return streams[stream];
+    }
+
+    /**
+     * Replays every stream in stream order, then clears them for the next frame.  This must be called on the thread
+     * which owns the OpenGL context, after every recording thread has finished.
+     */
+    public void execute() {
+        for (GLCommandBuffer stream : streams) {
+            stream.execute();
+        }
+        clear();
+    }
+
+    /**
+     * Discards the commands of every stream without replaying them.
+     */
+    public void clear() {
+        for (GLCommandBuffer stream : streams) {
+            stream.clear();
+        }
+    }
+
+    /**
+     * Frees the memory of every stream.  The executor cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        for (GLCommandBuffer stream : streams) {
+            stream.close();
+        }
+    }
+}
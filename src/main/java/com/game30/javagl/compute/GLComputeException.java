@@ -0,0 +1,47 @@
+package com.game30.javagl.compute;
+
+import com.game30.javagl.GLException;
+
+/**
+ * A {@link GLException} specific to compute programs and their dispatch.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLComputeException extends GLException {
+
+    /**
+     * Constructs a new OpenGL exception.
+     */
+    public GLComputeException() {
+    }
+
+    /**
+     * Constructs a new exception with the specified message.
+     *
+     * @param message the exception message.
+     */
+    public GLComputeException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new OpenGL exception that wraps the specified cause with the specified message.
+     *
+     * @param message the exception message.
+     * @param cause the exception cause.
+     */
+    public GLComputeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Constructs a new OpenGL exception that wraps the specified cause.
+     *
+     * @param cause the exception cause.
+     */
+    public GLComputeException(Throwable cause) {
+        super(cause);
+    }
+}
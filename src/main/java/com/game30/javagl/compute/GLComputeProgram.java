@@ -0,0 +1,127 @@
+package com.game30.javagl.compute;
+
+import java.nio.IntBuffer;
+
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL43;
+
+import com.game30.javagl.GLContextState;
+import com.game30.javagl.buffers.GLBuffer;
+import com.game30.javagl.buffers.GLBufferTarget;
+import com.game30.javagl.memory.GLMemory;
+import com.game30.javagl.memory.GLMemoryStack;
+import com.game30.javagl.programs.GLProgram;
+
+/**
+ * A compute program is a program linked from a single {@link com.game30.javagl.programs.GLShaderStage#Compute} shader.
+ * Instead of being drawn, it is dispatched as a grid of work groups, each of which runs the number of invocations
+ * declared by the {@code local_size} layout of the shader.
+ *
+ * <p>Writes made by a dispatch are not visible to later commands until a {@link GLMemoryBarrier} for the way they are
+ * read has been issued.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @see <a href="https://www.opengl.org/wiki/Compute_Shader">Compute Shader on OpenGL wiki</a>
+ * @since 1.0.0
+ */
+public interface GLComputeProgram extends GLProgram {
+
+    /**
+     * Static method to return the largest number of work groups which can be dispatched in the specified dimension.
+     *
+     * @param dimension the dimension, from {@code 0} to {@code 2}.
+     * @return the largest work group count.
+     */
+    static int getMaxWorkGroupCount(int dimension) {
+        return GL30.glGetIntegeri(GL43.GL_MAX_COMPUTE_WORK_GROUP_COUNT, dimension);
+    }
+
+    /**
+     * Static method to return the largest work group size a shader can declare in the specified dimension.
+     *
+     * @param dimension the dimension, from {@code 0} to {@code 2}.
+     * @return the largest work group size.
+     */
+    static int getMaxWorkGroupSize(int dimension) {
+        return GL30.glGetIntegeri(GL43.GL_MAX_COMPUTE_WORK_GROUP_SIZE, dimension);
+    }
+
+
+    /**
+     * Returns the work group size the linked shader declared in the specified dimension.
+     *
+     * <p>Default implementation is to query the work group size of the program.
+     *
+     * @param dimension the dimension, from {@code 0} to {@code 2}.
+     * @return the work group size.
+     */
+    default int getWorkGroupSize(int dimension) {
+        if (dimension < 0 || dimension > 2) {
+            throw new GLComputeException("Dimension [" + dimension + "] is outside of [3] dimensions.");
+        }
+        try (GLMemoryStack stack = GLMemory.stack().push()) {
+            IntBuffer size = stack.mallocInt(3);
+            GL20.glGetProgramiv(getIndex(), GL43.GL_COMPUTE_WORK_GROUP_SIZE, size);
+            return size.get(dimension);
+        }
+    }
+
+    /**
+     * Dispatches the specified number of work groups in each dimension.
+     *
+     * <p>Default implementation is to use the program then dispatch it.
+     *
+     * @param x the number of work groups in the first dimension.
+     * @param y the number of work groups in the second dimension.
+     * @param z the number of work groups in the third dimension.
+     */
+    default void dispatch(int x, int y, int z) {
+        if (x < 0 || y < 0 || z < 0) {
+            throw new GLComputeException("Work group counts [" + x + ", " + y + ", " + z + "] must not be negative.");
+        }
+        use();
+        GL43.glDispatchCompute(x, y, z);
+    }
+
+    /**
+     * Dispatches enough work groups for at least the specified number of invocations in each dimension.  When a count
+     * is not a multiple of the work group size, the last work groups run invocations past the count, which the shader
+     * must skip.
+     *
+     * @param x the number of invocations in the first dimension.
+     * @param y the number of invocations in the second dimension.
+     * @param z the number of invocations in the third dimension.
+     * @see #dispatch(int, int, int)
+     */
+    default void dispatchInvocations(int x, int y, int z) {
+        int sizeX = getWorkGroupSize(0);
+        int sizeY = getWorkGroupSize(1);
+        int sizeZ = getWorkGroupSize(2);
+        dispatch((x + sizeX - 1) / sizeX, (y + sizeY - 1) / sizeY, (z + sizeZ - 1) / sizeZ);
+    }
+
+    /**
+     * Dispatches the number of work groups stored in the specified buffer, so the count can be computed by an earlier
+     * dispatch without reading it back.  Three unsigned ints, the counts in each dimension, are read from the specified
+     * byte offset, which must be a multiple of four.  If they were written by a shader, a {@link
+     * GLMemoryBarrier#Command} barrier must be issued before the dispatch.
+     *
+     * <p>Default implementation is to use the program, bind the buffer to the dispatch indirect target through the
+     * {@link GLContextState}, dispatch it, then unbind the buffer.
+     *
+     * @param buffer the buffer holding the work group counts.
+     * @param offset the byte offset of the work group counts.
+     */
+    default void dispatchIndirect(GLBuffer buffer, long offset) {
+        if ((offset & 3) != 0) {
+            throw new GLComputeException("Offset [" + offset + "] in [" + buffer + "] is not a multiple of four.");
+        }
+        use();
+        GLContextState state = GLContextState.current();
+        state.bindBuffer(GLBufferTarget.DispatchIndirect, buffer.getIndex());
+        GL43.glDispatchComputeIndirect(offset);
+        state.unbindBuffer(GLBufferTarget.DispatchIndirect);
+    }
+}
@@ -0,0 +1,47 @@
+package com.game30.javagl.compute;
+
+import com.game30.javagl.programs.GLAttributeFactory;
+import com.game30.javagl.programs.GLProgramBase;
+import com.game30.javagl.programs.GLUniformFactory;
+
+/**
+ * Base class for {@link GLComputeProgram}s.  The work group size is only queried once after each link.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLComputeProgramBase extends GLProgramBase implements GLComputeProgram {
+
+    /** The work group size in each dimension, or {@code null} if not yet queried. */
+    private int[] workGroupSize;
+
+    /**
+     * Constructs a GLComputeProgramBase instance.
+     *
+     * @param attributeFactory the factory of program attributes.
+     * @param uniformFactory the factory of program uniforms.
+     */
+    protected GLComputeProgramBase(GLAttributeFactory attributeFactory, GLUniformFactory uniformFactory) {
+        super(attributeFactory, uniformFactory);
+    }
+
+    @Override
+    public void link() {
+        super.link();
+        workGroupSize = null;
+    }
+
+    @Override
+    public int getWorkGroupSize(int dimension) {
+        if (workGroupSize == null) {
+            workGroupSize = new int[] {GLComputeProgram.super.getWorkGroupSize(0),
+                                       GLComputeProgram.super.getWorkGroupSize(1),
+                                       GLComputeProgram.super.getWorkGroupSize(2)};
+        }
+        if (dimension < 0 || dimension > 2) {
+            throw new GLComputeException("Dimension [" + dimension + "] is outside of [3] dimensions.");
+        }
+        return workGroupSize[dimension];
+    }
+}
@@ -0,0 +1,49 @@
+package com.game30.javagl.compute;
+
+import com.game30.javagl.programs.GLAttributeFactory;
+import com.game30.javagl.programs.GLShader;
+import com.game30.javagl.programs.GLShaderStage;
+import com.game30.javagl.programs.GLUniformFactory;
+
+/**
+ * A factory interface for {@link GLComputeProgram}s.
+ *
+ * @author Brian Norman
+ * @since 1.0.0
+ */
+public interface GLComputeProgramFactory {
+
+    static GLComputeProgramFactory getDefault() {
+        return GLComputeProgramBase::new;
+    }
+
+
+    GLComputeProgram create(GLAttributeFactory attributeFactory, GLUniformFactory uniformFactory);
+
+
+    default GLComputeProgram create() {
+        return create(GLAttributeFactory.getDefault(), GLUniformFactory.getDefault());
+    }
+
+    /**
+     * Creates a new OpenGL compute program from the specified compute shader and links it.
+     *
+     * @param shader the compiled compute shader.
+     * @return a new linked OpenGL compute program.
+     * @throws GLComputeException if the shader is not a compute shader or the program does not link.
+     */
+    default GLComputeProgram create(GLShader shader) {
+        if (shader.getStage() != GLShaderStage.Compute) {
+            throw new GLComputeException("Shader [" + shader + "] is not a compute shader.");
+        }
+        GLComputeProgram program = create();
+        program.attach(shader);
+        program.link();
+        if (!program.getLinkStatus()) {
+            String log = program.getInfoLog();
+            program.delete();
+            throw new GLComputeException("Compute program did not link: " + log);
+        }
+        return program;
+    }
+}
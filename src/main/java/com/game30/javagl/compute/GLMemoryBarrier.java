@@ -0,0 +1,188 @@
+package com.game30.javagl.compute;
+
+import org.lwjgl.opengl.GL42;
+import org.lwjgl.opengl.GL43;
+import org.lwjgl.opengl.GL44;
+
+import com.game30.javagl.GLMagicInteger;
+import com.game30.javagl.GLMagicIntegerException;
+
+/**
+ * An enumeration of the memory barriers which make writes made by shaders through images, shader storage blocks and
+ * atomic counters visible to later commands.  Such writes are not ordered with the commands which follow them, so a
+ * barrier must be issued between a compute dispatch and anything which reads what it wrote.  Each barrier is named
+ * after how the data is read <em>after</em> the barrier, not how it was written.
+ *
+ * @author Brian Norman
+ * @see <a href="https://www.opengl.org/wiki/Memory_Model#Ensuring_visibility">Memory Model on OpenGL wiki</a>
+ * @since 1.0.0
+ */
+public enum GLMemoryBarrier implements GLMagicInteger {
+
+    /**
+     * The data is read as vertex attributes.
+     */
+    VertexAttribArray(GL42.GL_VERTEX_ATTRIB_ARRAY_BARRIER_BIT),
+
+    /**
+     * The data is read as indices.
+     */
+    ElementArray(GL42.GL_ELEMENT_ARRAY_BARRIER_BIT),
+
+    /**
+     * The data is read by uniform blocks.
+     */
+    Uniform(GL42.GL_UNIFORM_BARRIER_BIT),
+
+    /**
+     * The data is read by texture fetches.
+     */
+    TextureFetch(GL42.GL_TEXTURE_FETCH_BARRIER_BIT),
+
+    /**
+     * The data is read or written by image loads, stores and atomics.
+     */
+    ShaderImageAccess(GL42.GL_SHADER_IMAGE_ACCESS_BARRIER_BIT),
+
+    /**
+     * The data is read as indirect draw or dispatch commands.
+     */
+    Command(GL42.GL_COMMAND_BARRIER_BIT),
+
+    /**
+     * The data is read or written by pixel transfers through pixel buffers.
+     */
+    PixelBuffer(GL42.GL_PIXEL_BUFFER_BARRIER_BIT),
+
+    /**
+     * The data is read or written by texture uploads and downloads.
+     */
+    TextureUpdate(GL42.GL_TEXTURE_UPDATE_BARRIER_BIT),
+
+    /**
+     * The data is read or written by buffer writes, copies and mappings.
+     */
+    BufferUpdate(GL42.GL_BUFFER_UPDATE_BARRIER_BIT),
+
+    /**
+     * The data is read or written by framebuffer operations.
+     */
+    Framebuffer(GL42.GL_FRAMEBUFFER_BARRIER_BIT),
+
+    /**
+     * The data is written by transform feedback.
+     */
+    TransformFeedback(GL42.GL_TRANSFORM_FEEDBACK_BARRIER_BIT),
+
+    /**
+     * The data is read or written by atomic counters.
+     */
+    AtomicCounter(GL42.GL_ATOMIC_COUNTER_BARRIER_BIT),
+
+    /**
+     * The data is read or written by shader storage blocks.
+     */
+    ShaderStorage(GL43.GL_SHADER_STORAGE_BARRIER_BIT),
+
+    /**
+     * The data is read by the client through a persistent mapping which is not coherent.
+     */
+    ClientMappedBuffer(GL44.GL_CLIENT_MAPPED_BUFFER_BARRIER_BIT),
+
+    /**
+     * The data is written by query results into a query buffer.
+     */
+    QueryBuffer(GL44.GL_QUERY_BUFFER_BARRIER_BIT),
+
+    /**
+     * The data is read in any way.  This is the simplest barrier, but also the most expensive.
+     */
+    All(GL42.GL_ALL_BARRIER_BITS),
+
+    // End of enumeration
+    ;
+
+    /**
+     * Returns the GLMemoryBarrier that corresponds to the specified OpenGL magic integer.
+     *
+     * @param glInt the memory barrier magic integer.
+     * @return the corresponding GLMemoryBarrier.
+     * @throws GLMagicIntegerException if the specified magic integer does not match a enumeration instance.
+     */
+    public static GLMemoryBarrier fromGLInt(int glInt) throws GLMagicIntegerException {
+        // While it may not be the most elegant, switch is definitely the fastest.
+        switch (glInt) {
+            case GL42.GL_VERTEX_ATTRIB_ARRAY_BARRIER_BIT:
+                return GLMemoryBarrier.VertexAttribArray;
+            case GL42.GL_ELEMENT_ARRAY_BARRIER_BIT:
+                return GLMemoryBarrier.ElementArray;
+            case GL42.GL_UNIFORM_BARRIER_BIT:
+                return GLMemoryBarrier.Uniform;
+            case GL42.GL_TEXTURE_FETCH_BARRIER_BIT:
+                return GLMemoryBarrier.TextureFetch;
+            case GL42.GL_SHADER_IMAGE_ACCESS_BARRIER_BIT:
+                return GLMemoryBarrier.ShaderImageAccess;
+            case GL42.GL_COMMAND_BARRIER_BIT:
+                return GLMemoryBarrier.Command;
+            case GL42.GL_PIXEL_BUFFER_BARRIER_BIT:
+                return GLMemoryBarrier.PixelBuffer;
+            case GL42.GL_TEXTURE_UPDATE_BARRIER_BIT:
+                return GLMemoryBarrier.TextureUpdate;
+            case GL42.GL_BUFFER_UPDATE_BARRIER_BIT:
+                return GLMemoryBarrier.BufferUpdate;
+            case GL42.GL_FRAMEBUFFER_BARRIER_BIT:
+                return GLMemoryBarrier.Framebuffer;
+            case GL42.GL_TRANSFORM_FEEDBACK_BARRIER_BIT:
+                return GLMemoryBarrier.TransformFeedback;
+            case GL42.GL_ATOMIC_COUNTER_BARRIER_BIT:
+                return GLMemoryBarrier.AtomicCounter;
+            case GL43.GL_SHADER_STORAGE_BARRIER_BIT:
+                return GLMemoryBarrier.ShaderStorage;
+            case GL44.GL_CLIENT_MAPPED_BUFFER_BARRIER_BIT:
+                return GLMemoryBarrier.ClientMappedBuffer;
+            case GL44.GL_QUERY_BUFFER_BARRIER_BIT:
+                return GLMemoryBarrier.QueryBuffer;
+            case GL42.GL_ALL_BARRIER_BITS:
+                return GLMemoryBarrier.All;
+            default:
+                throw new GLMagicIntegerException("Could not match to a GLMemoryBarrier.");
+        }
+    }
+
+    /**
+     * Issues a single barrier for the specified ways the data is read afterwards.
+     *
+     * @param barriers the ways the data is read.
+     */
+    public static void issue(GLMemoryBarrier... barriers) {
+        int bits = 0;
+        for (GLMemoryBarrier barrier : barriers) {
+            bits |= barrier.glInt;
+        }
+        GL42.glMemoryBarrier(bits);
+    }
+
+    /** The OpenGL magic integer of the memory barrier. */
+    private final int glInt;
+
+    /**
+     * Creates a new memory barrier with the specified magic integer.
+     *
+     * @param glInt the memory barrier magic integer.
+     */
+    GLMemoryBarrier(int glInt) {
+        this.glInt = glInt;
+    }
+
+    @Override
+    public int glInt() {
+        return glInt;
+    }
+
+    /**
+     * Issues the barrier.
+     */
+    public void issue() {
+        GL42.glMemoryBarrier(glInt);
+    }
+}
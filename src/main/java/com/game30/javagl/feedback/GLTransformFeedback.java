@@ -0,0 +1,241 @@
+package com.game30.javagl.feedback;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL40;
+import org.lwjgl.opengl.GL42;
+
+import com.game30.javagl.GLContextState;
+import com.game30.javagl.GLDeletable;
+import com.game30.javagl.GLIndexed;
+import com.game30.javagl.GLObject;
+import com.game30.javagl.arrays.GLDrawMode;
+import com.game30.javagl.buffers.GLBuffer;
+import com.game30.javagl.buffers.GLBufferTarget;
+import com.game30.javagl.queries.GLQuery;
+
+/**
+ * A transform feedback object captures the vertices output by the vertex or geometry shader into buffers, so geometry
+ * computed on the GPU, such as skinned meshes, can be computed once and drawn many times without ever leaving the GPU.
+ * The outputs captured are declared by {@link com.game30.javagl.programs.GLProgram#setFeedbackVaryings} before the
+ * program is linked.
+ *
+ * <p>A capture is made by attaching the capture buffers, calling {@link #begin(GLDrawMode)}, drawing, then calling
+ * {@link #end()}.  The captured vertices can be drawn again through a vertex array the capture buffer is attached to,
+ * either with a count read back from a {@link
+ * com.game30.javagl.queries.GLQueryTarget#TransformFeedbackPrimitivesWritten} query or, without any read back, with
+ * {@link #draw(GLDrawMode)}.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @see <a href="https://www.opengl.org/wiki/Transform_Feedback">Transform Feedback on OpenGL wiki</a>
+ * @since 1.0.0
+ */
+public interface GLTransformFeedback extends GLObject {
+
+    /**
+     * Static method to unbind any OpenGL transform feedback object from the current context.  This will bind the
+     * default transform feedback object.
+     */
+    static void unbindAny() {
+        GLContextState.current().bindTransformFeedback(GLIndexed.NULL_INDEX);
+    }
+
+    /**
+     * Static method to set whether primitives are discarded before rasterization.  Captures which only need the
+     * captured vertices, such as skinning, should discard to skip the cost of rasterizing.
+     *
+     * @param discard if primitives are discarded before rasterization.
+     */
+    static void setRasterizerDiscard(boolean discard) {
+        if (discard) {
+            GL11.glEnable(GL30.GL_RASTERIZER_DISCARD);
+        } else {
+            GL11.glDisable(GL30.GL_RASTERIZER_DISCARD);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Default implementation is to request of OpenGL if the transform feedback object exists.
+     */
+    @Override
+    default boolean exists() {
+        return GL40.glIsTransformFeedback(getIndex());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Default implementation is to request OpenGL to delete it.
+     */
+    @Override
+    default void delete() {
+        if (exists()) {
+            GL40.glDeleteTransformFeedbacks(getIndex());
+            GLContextState.current().forgetTransformFeedback(getIndex());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Default implementation is to do nothing if the transform feedback object is already bound, otherwise require
+     * existence then bind it through the {@link GLContextState}.
+     */
+    @Override
+    default void bind() {
+        GLContextState state = GLContextState.current();
+        if (!state.isTransformFeedbackBound(getIndex())) {
+            GLDeletable.requireExists(this);
+            state.bindTransformFeedback(getIndex());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Default implementation is to unbind any transform feedback object through the {@link GLContextState}, which
+     * only binds the default object when its {@link com.game30.javagl.GLUnbindPolicy} requires it.
+     */
+    @Override
+    default void unbind() {
+        GLContextState.current().unbindTransformFeedback();
+    }
+
+    /**
+     * Attaches the whole of the specified buffer to the specified capture binding.  With {@link
+     * com.game30.javagl.programs.GLFeedbackMode#Interleaved} every varying is captured to binding zero, otherwise each
+     * varying is captured to the binding of its position.
+     *
+     * <p>Default implementation is to bind the transform feedback object then bind the buffer to the indexed binding
+     * through the transform feedback {@link com.game30.javagl.buffers.GLBufferBindings} of the {@link
+     * GLContextState}.
+     *
+     * @param binding the capture binding.
+     * @param buffer the buffer to capture into.
+     */
+    default void attach(int binding, GLBuffer buffer) {
+        bind();
+        GLContextState.current().getBufferBindings(GLBufferTarget.TransformFeedback).bind(binding, buffer);
+    }
+
+    /**
+     * Attaches the specified byte range of the specified buffer to the specified capture binding.  The offset and size
+     * must be multiples of four.
+     *
+     * <p>Default implementation is to bind the transform feedback object then bind the range to the indexed binding
+     * through the transform feedback {@link com.game30.javagl.buffers.GLBufferBindings} of the {@link
+     * GLContextState}.
+     *
+     * @param binding the capture binding.
+     * @param buffer the buffer to capture into.
+     * @param offset the byte offset of the range.
+     * @param size the byte size of the range.
+     */
+    default void attach(int binding, GLBuffer buffer, long offset, long size) {
+        if ((offset & 3) != 0 || (size & 3) != 0) {
+            throw new GLTransformFeedbackException("Range of [" + size + "] bytes at [" + offset + "] of [" + buffer
+                                                   + "] is not a multiple of four bytes.");
+        }
+        bind();
+        GLContextState.current().getBufferBindings(GLBufferTarget.TransformFeedback).bind(binding, buffer, offset,
+                                                                                          size);
+    }
+
+    /**
+     * Starts capturing the vertices of the primitives drawn next.  Draws made during the capture must draw primitives
+     * of the specified type, or strips and loops which break down into it.
+     *
+     * <p>Default implementation is to bind the transform feedback object then begin the capture.
+     *
+     * @param primitive the captured primitive type: {@link GLDrawMode#Points}, {@link GLDrawMode#Lines} or {@link
+     * GLDrawMode#Triangles}.
+     * @throws GLTransformFeedbackException if the primitive type cannot be captured.
+     */
+    default void begin(GLDrawMode primitive) {
+        if (primitive != GLDrawMode.Points && primitive != GLDrawMode.Lines && primitive != GLDrawMode.Triangles) {
+            throw new GLTransformFeedbackException("Cannot capture [" + primitive + "] primitives.");
+        }
+        bind();
+        GL30.glBeginTransformFeedback(primitive.glInt());
+    }
+
+    /**
+     * Starts capturing the vertices of the primitives drawn next, counting the primitives written with the specified
+     * query.  The count is read from the query once the capture has ended.
+     *
+     * @param primitive the captured primitive type.
+     * @param written a {@link com.game30.javagl.queries.GLQueryTarget#TransformFeedbackPrimitivesWritten} query.
+     * @see #begin(GLDrawMode)
+     */
+    default void begin(GLDrawMode primitive, GLQuery written) {
+        written.begin();
+        begin(primitive);
+    }
+
+    /**
+     * Pauses the capture, so draws can be made which are not captured.  The capture buffers cannot be changed while
+     * paused.
+     *
+     * <p>Default implementation is to pause the active capture.
+     */
+    default void pause() {
+        GL40.glPauseTransformFeedback();
+    }
+
+    /**
+     * Resumes a paused capture.
+     *
+     * <p>Default implementation is to resume the paused capture.
+     */
+    default void resume() {
+        GL40.glResumeTransformFeedback();
+    }
+
+    /**
+     * Ends the capture.
+     *
+     * <p>Default implementation is to end the active capture.
+     */
+    default void end() {
+        GL30.glEndTransformFeedback();
+    }
+
+    /**
+     * Ends the capture, then stops counting primitives with the specified query.
+     *
+     * @param written the query given to {@link #begin(GLDrawMode, GLQuery)}.
+     */
+    default void end(GLQuery written) {
+        end();
+        written.end();
+    }
+
+    /**
+     * Draws the vertices captured by the last capture, without reading back how many there were.  The vertex array
+     * which the capture buffer is attached to must be bound.
+     *
+     * <p>Default implementation is to draw the transform feedback object.
+     *
+     * @param mode the primitive type to draw.
+     */
+    default void draw(GLDrawMode mode) {
+        GL40.glDrawTransformFeedback(mode.glInt(), getIndex());
+    }
+
+    /**
+     * Draws the specified number of instances of the vertices captured by the last capture.
+     *
+     * <p>Default implementation is to draw instances of the transform feedback object.
+     *
+     * @param mode the primitive type to draw.
+     * @param instances the number of instances to draw.
+     * @see #draw(GLDrawMode)
+     */
+    default void draw(GLDrawMode mode, int instances) {
+        GL42.glDrawTransformFeedbackInstanced(mode.glInt(), getIndex(), instances);
+    }
+}
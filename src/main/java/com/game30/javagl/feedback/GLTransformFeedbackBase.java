@@ -0,0 +1,27 @@
+package com.game30.javagl.feedback;
+
+import org.lwjgl.opengl.GL40;
+
+import com.game30.javagl.GLObjectBase;
+
+/**
+ * Base class for {@link GLTransformFeedback}s.  This provides basic index and existence behavior.
+ *
+ * @author Brian Norman
+ * @since 1.0.0
+ */
+public class GLTransformFeedbackBase extends GLObjectBase implements GLTransformFeedback {
+
+    /**
+     * Constructs a GLTransformFeedbackBase instance.
+     */
+    protected GLTransformFeedbackBase() {
+        super(GL40.glGenTransformFeedbacks());
+    }
+
+    @Override
+    public void delete() {
+        GLTransformFeedback.super.delete();
+        super.delete();
+    }
+}
@@ -0,0 +1,47 @@
+package com.game30.javagl.feedback;
+
+import com.game30.javagl.GLException;
+
+/**
+ * A {@link GLException} specific to transform feedback objects.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLTransformFeedbackException extends GLException {
+
+    /**
+     * Constructs a new OpenGL exception.
+     */
+    public GLTransformFeedbackException() {
+    }
+
+    /**
+     * Constructs a new exception with the specified message.
+     *
+     * @param message the exception message.
+     */
+    public GLTransformFeedbackException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new OpenGL exception that wraps the specified cause with the specified message.
+     *
+     * @param message the exception message.
+     * @param cause the exception cause.
+     */
+    public GLTransformFeedbackException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Constructs a new OpenGL exception that wraps the specified cause.
+     *
+     * @param cause the exception cause.
+     */
+    public GLTransformFeedbackException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.game30.javagl.feedback;
+
+/**
+ * A factory interface for {@link GLTransformFeedback}s.
+ *
+ * @author Brian Norman
+ * @since 1.0.0
+ */
+public interface GLTransformFeedbackFactory {
+
+    /**
+     * Creates a new OpenGL transform feedback object.
+     *
+     * @return a new OpenGL transform feedback object.
+     */
+    GLTransformFeedback create();
+}
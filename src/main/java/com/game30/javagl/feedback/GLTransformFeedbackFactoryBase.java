@@ -0,0 +1,15 @@
+package com.game30.javagl.feedback;
+
+/**
+ * The base factory implementation for {@link GLTransformFeedback}s.
+ *
+ * @author Brian Norman
+ * @since 1.0.0
+ */
+public class GLTransformFeedbackFactoryBase implements GLTransformFeedbackFactory {
+
+    @Override
+    public GLTransformFeedback create() {
+        return new GLTransformFeedbackBase();
+    }
+}
@@ -0,0 +1,74 @@
+package com.game30.javagl.memory;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Static access to the native memory used for temporary buffers passed to OpenGL.  Every temporary buffer allocated by
+ * this library comes from the {@link GLMemoryProvider} set here, which defaults to a {@link GLMemoryPool}.  Short-lived
+ * data can instead be allocated from the {@link GLMemoryStack} of the current thread.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public final class GLMemory {
+
+    /** The memory provider. */
+    private static volatile GLMemoryProvider provider = new GLMemoryPool();
+
+    /**
+     * Private constructor since this class only has static methods.
+     */
+    private GLMemory() {
+    }
+
+    /**
+     * Returns the memory provider.
+     *
+     * @return the memory provider.
+     */
+    public static GLMemoryProvider getProvider() {
+        return provider;
+    }
+
+    /**
+     * Sets the memory provider.  Memory allocated by the previous provider must still be freed with it.
+     *
+     * @param provider the memory provider.
+     */
+    public static void setProvider(GLMemoryProvider provider) {
+        GLMemory.provider = Objects.requireNonNull(provider);
+    }
+
+    /**
+     * Allocates native memory of the specified byte size from the memory provider.
+     *
+     * @param byteSize the byte size of the memory.
+     * @return a buffer of the allocated memory.
+     * @see GLMemoryProvider#allocate(int)
+     */
+    public static ByteBuffer allocate(int byteSize) {
+        return provider.allocate(byteSize);
+    }
+
+    /**
+     * Returns memory allocated by the memory provider.
+     *
+     * @param buffer a buffer of the memory to free.
+     * @see GLMemoryProvider#free(Buffer)
+     */
+    public static void free(Buffer buffer) {
+        provider.free(buffer);
+    }
+
+    /**
+     * Returns the stack of the current thread.
+     *
+     * @return the current memory stack.
+     */
+    public static GLMemoryStack stack() {
+        return GLMemoryStack.current();
+    }
+}
@@ -0,0 +1,47 @@
+package com.game30.javagl.memory;
+
+import com.game30.javagl.GLException;
+
+/**
+ * A {@link GLException} specific to native memory management.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLMemoryException extends GLException {
+
+    /**
+     * Constructs a new OpenGL exception.
+     */
+    public GLMemoryException() {
+    }
+
+    /**
+     * Constructs a new exception with the specified message.
+     *
+     * @param message the exception message.
+     */
+    public GLMemoryException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new OpenGL exception that wraps the specified cause with the specified message.
+     *
+     * @param message the exception message.
+     * @param cause the exception cause.
+     */
+    public GLMemoryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Constructs a new OpenGL exception that wraps the specified cause.
+     *
+     * @param cause the exception cause.
+     */
+    public GLMemoryException(Throwable cause) {
+        super(cause);
+    }
+}
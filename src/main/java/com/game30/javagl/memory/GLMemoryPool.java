@@ -0,0 +1,233 @@
+package com.game30.javagl.memory;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.lwjgl.system.MemoryUtil;
+
+/**
+ * A GLMemoryPool is a {@link GLMemoryProvider} which keeps freed memory in power-of-two size classes and hands it out
+ * again.  The memory is allocated with {@link MemoryUtil#memAlloc(long)} rather than as direct buffers, so it does not
+ * count against the direct memory limit and never forces a full garbage collection, and once the pool has warmed up
+ * loading does not allocate any new memory at all.
+ *
+ * <p>Allocations smaller than the minimum class are rounded up to it and allocations larger than the maximum class are
+ * not pooled.  Freed memory is kept until the idle memory of the pool exceeds its byte budget, after which freed memory
+ * and memory which is not pooled are released right away.  Memory which is never freed is not leaked either: it is
+ * weakly tracked, and is released by the pool once its buffer has been collected by the garbage collector.
+ *
+ * <p>The pool is safe to use from multiple threads.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLMemoryPool implements GLMemoryProvider {
+
+    /** The default smallest size class as a power of two. */
+    public static final int DEFAULT_MIN_CLASS = 6;
+
+    /** The default largest size class as a power of two. */
+    public static final int DEFAULT_MAX_CLASS = 26;
+
+    /** The default byte budget of idle memory. */
+    public static final long DEFAULT_BYTE_BUDGET = 128L << 20;
+
+    /** The smallest size class as a power of two. */
+    private final int minClass;
+
+    /** The largest size class as a power of two. */
+    private final int maxClass;
+
+    /** The byte budget of idle memory. */
+    private final long byteBudget;
+
+    /** The idle memory of each size class. */
+    private final ArrayDeque<ByteBuffer>[] idle;
+
+    /** The live allocations, by address. */
+    private final Map<Long, LiveBlock> live;
+
+    /** The queue of live allocations which were released by the garbage collector. */
+    private final ReferenceQueue<ByteBuffer> collected;
+
+    /** The number of live bytes. */
+    private long liveBytes;
+
+    /** The number of idle bytes. */
+    private long idleBytes;
+
+    /**
+     * Constructs a GLMemoryPool instance with the default size classes and byte budget.
+     */
+    public GLMemoryPool() {
+        this(DEFAULT_MIN_CLASS, DEFAULT_MAX_CLASS, DEFAULT_BYTE_BUDGET);
+    }
+
+    /**
+     * Constructs a GLMemoryPool instance with the specified size classes and byte budget.
+     *
+     * @param minClass the smallest size class as a power of two.
+     * @param maxClass the largest size class as a power of two.
+     * @param byteBudget the byte budget of idle memory.
+     */
+    @SuppressWarnings("unchecked")
+    public GLMemoryPool(int minClass, int maxClass, long byteBudget) {
+        if (minClass < 0 || maxClass < minClass || maxClass > 30) {
+            throw new GLMemoryException("Invalid size classes [" + minClass + ", " + maxClass + "].");
+        }
+        this.minClass = minClass;
+        this.maxClass = maxClass;
+        this.byteBudget = byteBudget;
+        this.idle = new ArrayDeque[maxClass - minClass + 1];
+        for (int i = 0; i < idle.length; i++) {
+            idle[i] = new ArrayDeque<>();
+        }
+        this.live = new HashMap<>();
+        this.collected = new ReferenceQueue<>();
+    }
+
+    @Override
+    public synchronized ByteBuffer allocate(int byteSize) {
+        if (byteSize < 0) {
+            throw new GLMemoryException("Cannot allocate [" + byteSize + "] bytes.");
+        }
+        expunge();
+        int sizeClass = sizeClass(byteSize);
+        ByteBuffer memory;
+        if (sizeClass <= maxClass) {
+            memory = idle[sizeClass - minClass].pollLast();
+            if (memory != null) {
+                idleBytes -= memory.capacity();
+            } else {
+                memory = malloc(1 << sizeClass);
+            }
+        } else {
+            memory = malloc(byteSize);
+        }
+        LiveBlock block = new LiveBlock(memory, collected);
+        live.put(block.address, block);
+        liveBytes += block.capacity;
+
+        memory.clear().limit(byteSize);
+        return memory.order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    public synchronized void free(Buffer buffer) {
+        LiveBlock block = live.remove(MemoryUtil.memAddress0(buffer));
+        if (block == null) {
+            throw new GLMemoryException("Buffer [" + buffer + "] was not allocated by [" + this + "].");
+        }
+        ByteBuffer memory = block.get();
+        block.clear();
+        liveBytes -= block.capacity;
+
+        int sizeClass = Integer.numberOfTrailingZeros(block.capacity);
+        if (memory != null && Integer.bitCount(block.capacity) == 1 && sizeClass >= minClass && sizeClass <= maxClass
+                && idleBytes + block.capacity <= byteBudget) {
+            idle[sizeClass - minClass].addLast(memory);
+            idleBytes += block.capacity;
+        } else {
+            MemoryUtil.memFree(block.address);
+        }
+    }
+
+    @Override
+    public synchronized long getLiveBytes() {
+        expunge();
+        return liveBytes;
+    }
+
+    /**
+     * Returns the number of freed bytes kept for reuse.
+     *
+     * @return the number of idle bytes.
+     */
+    public synchronized long getIdleBytes() {
+        return idleBytes;
+    }
+
+    /**
+     * Releases all idle memory.
+     */
+    public synchronized void trim() {
+        for (ArrayDeque<ByteBuffer> deque : idle) {
+            for (ByteBuffer memory : deque) {
+                MemoryUtil.memFree(MemoryUtil.memAddress0(memory));
+            }
+            deque.clear();
+        }
+        idleBytes = 0;
+    }
+
+    /**
+     * Allocates new memory of the specified byte size.
+     *
+     * @param byteSize the byte size.
+     * @return a buffer of the new memory.
+     * @throws GLMemoryException if the memory cannot be allocated.
+     */
+    private static ByteBuffer malloc(int byteSize) {
+        long address = MemoryUtil.memAlloc(byteSize);
+        if (address == MemoryUtil.NULL) {
+            throw new GLMemoryException("Out of memory allocating [" + byteSize + "] bytes.");
+        }
+        return MemoryUtil.memByteBuffer(address, byteSize);
+    }
+
+    /**
+     * Returns the size class of the specified byte size.
+     *
+     * @param byteSize the byte size.
+     * @return the power of two of the smallest class which fits the byte size.
+     */
+    private int sizeClass(int byteSize) {
+        int sizeClass = byteSize <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(byteSize - 1);
+        return Math.max(minClass, sizeClass);
+    }
+
+    /**
+     * Releases live allocations whose buffers were collected by the garbage collector without being freed.
+     */
+    private void expunge() {
+        LiveBlock block;
+        while ((block = (LiveBlock) collected.poll()) != null) {
+            if (live.remove(block.address, block)) {
+                liveBytes -= block.capacity;
+                MemoryUtil.memFree(block.address);
+            }
+        }
+    }
+
+
+    /**
+     * A weak reference to a live allocation.
+     */
+    private static final class LiveBlock extends WeakReference<ByteBuffer> {
+
+        /** The address of the allocation. */
+        private final long address;
+
+        /** The byte capacity of the allocation. */
+        private final int capacity;
+
+        /**
+         * Constructs a LiveBlock instance.
+         *
+         * @param memory the allocated memory.
+         * @param queue the queue to register with.
+         */
+        private LiveBlock(ByteBuffer memory, ReferenceQueue<ByteBuffer> queue) {
+            super(memory, queue);
+            this.address = MemoryUtil.memAddress0(memory);
+            this.capacity = memory.capacity();
+        }
+    }
+}
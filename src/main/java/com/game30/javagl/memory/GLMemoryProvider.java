@@ -0,0 +1,40 @@
+package com.game30.javagl.memory;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * A provider of native memory for temporary buffers passed to OpenGL.  Implementations decide where the memory comes
+ * from and when it is reused.  Memory allocated by a provider should be returned with {@link #free(Buffer)} once it is
+ * no longer needed.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public interface GLMemoryProvider {
+
+    /**
+     * Allocates native memory of the specified byte size.  The returned buffer is in native byte order, positioned at
+     * zero and limited to the specified size.  The contents are undefined.
+     *
+     * @param byteSize the byte size of the memory.
+     * @return a buffer of the allocated memory.
+     */
+    ByteBuffer allocate(int byteSize);
+
+    /**
+     * Returns memory allocated by this provider.  The specified buffer can be the buffer returned by {@link
+     * #allocate(int)} or any view of it, such as {@link ByteBuffer#asFloatBuffer()}.  Neither may be used afterwards.
+     *
+     * @param buffer a buffer of the memory to free.
+     */
+    void free(Buffer buffer);
+
+    /**
+     * Returns the number of bytes which have been allocated and not freed.
+     *
+     * @return the number of live bytes.
+     */
+    long getLiveBytes();
+}
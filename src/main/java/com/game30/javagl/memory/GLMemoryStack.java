@@ -0,0 +1,251 @@
+package com.game30.javagl.memory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+import org.lwjgl.system.MemoryUtil;
+
+/**
+ * A GLMemoryStack is a thread-local stack of native memory for short-lived data, such as the arguments of a single
+ * OpenGL call.  Allocating from the stack only moves a pointer, and everything allocated within a frame is released at
+ * once when the frame is popped.
+ *
+ * <p>Frames are pushed with {@link #push()} and popped by closing the returned stack, which fits try-with-resources:
+ * <pre>{@code
+ * try (GLMemoryStack stack = GLMemoryStack.current().push()) {
+ *     IntBuffer ids = stack.mallocInt(16);
+ *     ...
+ * }
+ * }</pre>
+ *
+ * <p>The stack has a fixed size.  Data larger than the remaining space should be allocated from the {@link
+ * GLMemoryProvider} instead.
+ *
+ * <p>The memory of the stack is allocated with {@link MemoryUtil#memAlloc(long)} and is not released by the garbage
+ * collector, so a stack must be freed with {@link #free()} once it is no longer needed.  A thread which used its
+ * stack should free it before it ends.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public final class GLMemoryStack implements AutoCloseable {
+
+    /** The default byte size of a stack. */
+    public static final int DEFAULT_SIZE = 64 << 10;
+
+    /** The default byte alignment of an allocation. */
+    private static final int DEFAULT_ALIGNMENT = 8;
+
+    /** The stack of each thread. */
+    private static final ThreadLocal<GLMemoryStack> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Returns the stack of the current thread, creating it if the thread has none.
+     *
+     * @return the current stack.
+     */
+    public static GLMemoryStack current() {
+        GLMemoryStack stack = CURRENT.get();
+        if (stack == null) {
+            stack = new GLMemoryStack(DEFAULT_SIZE);
+            CURRENT.set(stack);
+        }
+        return stack;
+    }
+
+
+    /** The memory of the stack, or {@code null} once freed. */
+    private ByteBuffer memory;
+
+    /** The address of the memory. */
+    private final long address;
+
+    /** The byte size of the memory. */
+    private final int size;
+
+    /** The byte offset of the top of the stack. */
+    private int pointer;
+
+    /** The pointers saved by each pushed frame. */
+    private int[] frames;
+
+    /** The number of pushed frames. */
+    private int depth;
+
+    /**
+     * Constructs a GLMemoryStack instance with the specified byte size.
+     *
+     * @param size the byte size of the stack.
+     */
+    public GLMemoryStack(int size) {
+        if (size <= 0) {
+            throw new GLMemoryException("Stack size [" + size + "] must be positive.");
+        }
+        this.address = MemoryUtil.memAlloc(size);
+        if (address == MemoryUtil.NULL) {
+            throw new GLMemoryException("Out of memory allocating a stack of [" + size + "] bytes.");
+        }
+        this.memory = MemoryUtil.memByteBuffer(address, size);
+        this.size = size;
+        this.frames = new int[8];
+    }
+
+    /**
+     * Frees the memory of the stack.  The stack cannot be used afterwards.  If it is the stack of the current thread,
+     * the thread is given a new stack the next time it asks for one.
+     */
+    public void free() {
+        if (memory != null) {
+            if (CURRENT.get() == this) {
+                CURRENT.remove();
+            }
+            MemoryUtil.memFree(address);
+            memory = null;
+        }
+    }
+
+    /**
+     * Returns the byte size of the stack.
+     *
+     * @return the stack size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes allocated from the stack.
+     *
+     * @return the stack pointer.
+     */
+    public int getPointer() {
+        return pointer;
+    }
+
+    /**
+     * Pushes a new frame.  Everything allocated until the frame is popped is released when it is popped.
+     *
+     * @return this stack.
+     */
+    public GLMemoryStack push() {
+        if (depth == frames.length) {
+            frames = Arrays.copyOf(frames, depth << 1);
+        }
+        frames[depth++] = pointer;
+        return this;
+    }
+
+    /**
+     * Pops the current frame, releasing everything allocated since it was pushed.
+     *
+     * @return this stack.
+     */
+    public GLMemoryStack pop() {
+        if (depth == 0) {
+            throw new GLMemoryException("No frame of [" + this + "] to pop.");
+        }
+        pointer = frames[--depth];
+        return this;
+    }
+
+    /**
+     * Pops the current frame.
+     */
+    @Override
+    public void close() {
+        pop();
+    }
+
+    /**
+     * Allocates the specified number of bytes from the current frame with the specified alignment.
+     *
+     * @param byteSize the byte size.
+     * @param alignment the byte alignment, which must be a power of two.
+     * @return a buffer of the allocated memory in native byte order.
+     * @throws GLMemoryException if there is not enough space left on the stack or it has been freed.
+     */
+    public ByteBuffer malloc(int byteSize, int alignment) {
+        if (memory == null) {
+            throw new GLMemoryException("Cannot allocate from freed [" + this + "].");
+        }
+        int offset = (int) (((address + pointer + alignment - 1) & -alignment) - address);
+        if (byteSize < 0 || offset + byteSize > size) {
+            throw new GLMemoryException("Cannot allocate [" + byteSize + "] bytes from [" + this + "].");
+        }
+        pointer = offset + byteSize;
+        return MemoryUtil.memSlice(memory, offset, byteSize).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Allocates the specified number of bytes from the current frame.
+     *
+     * @param byteSize the byte size.
+     * @return a buffer of the allocated memory in native byte order.
+     */
+    public ByteBuffer malloc(int byteSize) {
+        return malloc(byteSize, DEFAULT_ALIGNMENT);
+    }
+
+    /**
+     * Allocates the specified number of bytes from the current frame and sets them to zero.
+     *
+     * @param byteSize the byte size.
+     * @return a buffer of the allocated memory in native byte order.
+     */
+    public ByteBuffer calloc(int byteSize) {
+        ByteBuffer buffer = malloc(byteSize);
+        MemoryUtil.memSet(MemoryUtil.memAddress0(buffer), 0, byteSize);
+        return buffer;
+    }
+
+    /**
+     * Allocates the specified number of shorts from the current frame.
+     *
+     * @param count the number of shorts.
+     * @return a buffer of the allocated memory.
+     */
+    public ShortBuffer mallocShort(int count) {
+        return malloc(count << 1).asShortBuffer();
+    }
+
+    /**
+     * Allocates the specified number of ints from the current frame.
+     *
+     * @param count the number of ints.
+     * @return a buffer of the allocated memory.
+     */
+    public IntBuffer mallocInt(int count) {
+        return malloc(count << 2).asIntBuffer();
+    }
+
+    /**
+     * Allocates the specified number of floats from the current frame.
+     *
+     * @param count the number of floats.
+     * @return a buffer of the allocated memory.
+     */
+    public FloatBuffer mallocFloat(int count) {
+        return malloc(count << 2).asFloatBuffer();
+    }
+
+    /**
+     * Allocates the specified number of doubles from the current frame.
+     *
+     * @param count the number of doubles.
+     * @return a buffer of the allocated memory.
+     */
+    public DoubleBuffer mallocDouble(int count) {
+        return malloc(count << 3).asDoubleBuffer();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[pointer=" + pointer + ", size=" + size + "]";
+    }
+}
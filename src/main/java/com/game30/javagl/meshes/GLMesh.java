@@ -0,0 +1,133 @@
+package com.game30.javagl.meshes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.game30.javagl.GLDeletable;
+import com.game30.javagl.arrays.GLVertexArray;
+import com.game30.javagl.arrays.GLVertexLayout;
+import com.game30.javagl.buffers.GLBuffer;
+import com.game30.javagl.buffers.GLIndexBuffer;
+import com.game30.javagl.programs.GLProgram;
+
+/**
+ * A GLMesh is indexed geometry held in OpenGL buffers: one buffer of interleaved vertices described by a {@link
+ * GLVertexLayout}, one index buffer, and the submeshes which divide the indices into draw calls.  Meshes are usually
+ * loaded by a {@link GLMeshReader}.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLMesh implements GLDeletable {
+
+    /** The layout of the vertices. */
+    private final GLVertexLayout layout;
+
+    /** The buffer of interleaved vertices. */
+    private final GLBuffer vertices;
+
+    /** The buffer of indices. */
+    private final GLIndexBuffer indices;
+
+    /** The submeshes in draw order. */
+    private final List<GLSubmesh> submeshes;
+
+    /**
+     * Constructs a GLMesh instance from the specified buffers and submeshes.
+     *
+     * @param layout the layout of the vertices.
+     * @param vertices the buffer of interleaved vertices.
+     * @param indices the buffer of indices.
+     * @param submeshes the submeshes in draw order.
+     */
+    public GLMesh(GLVertexLayout layout, GLBuffer vertices, GLIndexBuffer indices, List<GLSubmesh> submeshes) {
+        this.layout = layout;
+        this.vertices = vertices;
+        this.indices = indices;
+        this.submeshes = Collections.unmodifiableList(new ArrayList<>(submeshes));
+    }
+
+    /**
+     * Returns the layout of the vertices.
+     *
+     * @return the vertex layout.
+     */
+    public GLVertexLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Returns the buffer of interleaved vertices.
+     *
+     * @return the vertex buffer.
+     */
+    public GLBuffer getVertices() {
+        return vertices;
+    }
+
+    /**
+     * Returns the buffer of indices.
+     *
+     * @return the index buffer.
+     */
+    public GLIndexBuffer getIndices() {
+        return indices;
+    }
+
+    /**
+     * Returns the submeshes in draw order.
+     *
+     * @return the unmodifiable list of submeshes.
+     */
+    public List<GLSubmesh> getSubmeshes() {
+        return submeshes;
+    }
+
+    /**
+     * Attaches the vertices of the mesh to the attributes of the specified program within the specified vertex array.
+     * The program attributes are configured from the layout of the mesh.
+     *
+     * @param vertexArray the vertex array to set up.
+     * @param program the program whose attributes to attach.
+     * @see GLVertexArray#attach(GLVertexLayout, GLProgram, GLBuffer)
+     */
+    public void attach(GLVertexArray vertexArray, GLProgram program) {
+        vertexArray.attach(layout, program, vertices);
+    }
+
+    /**
+     * Draws every submesh of the mesh with the specified vertex array, which must have been set up by {@link
+     * #attach(GLVertexArray, GLProgram)}.
+     *
+     * @param vertexArray the vertex array to draw with.
+     */
+    public void draw(GLVertexArray vertexArray) {
+        for (GLSubmesh submesh : submeshes) {
+            vertexArray.draw(submesh.getMode(), indices, submesh.getFirstIndex(), submesh.getIndexCount());
+        }
+    }
+
+    /**
+     * Draws the submesh at the specified position with the specified vertex array.
+     *
+     * @param vertexArray the vertex array to draw with.
+     * @param submesh the submesh position.
+     */
+    public void draw(GLVertexArray vertexArray, int submesh) {
+        GLSubmesh range = submeshes.get(submesh);
+        vertexArray.draw(range.getMode(), indices, range.getFirstIndex(), range.getIndexCount());
+    }
+
+    @Override
+    public boolean exists() {
+        return vertices.exists() && indices.exists();
+    }
+
+    @Override
+    public void delete() {
+        vertices.delete();
+        indices.delete();
+    }
+}
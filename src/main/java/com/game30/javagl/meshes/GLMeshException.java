@@ -0,0 +1,47 @@
+package com.game30.javagl.meshes;
+
+import com.game30.javagl.GLException;
+
+/**
+ * A {@link GLException} specific to meshes and their processing.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLMeshException extends GLException {
+
+    /**
+     * Constructs a new OpenGL exception.
+     */
+    public GLMeshException() {
+    }
+
+    /**
+     * Constructs a new exception with the specified message.
+     *
+     * @param message the exception message.
+     */
+    public GLMeshException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new OpenGL exception that wraps the specified cause with the specified message.
+     *
+     * @param message the exception message.
+     * @param cause the exception cause.
+     */
+    public GLMeshException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Constructs a new OpenGL exception that wraps the specified cause.
+     *
+     * @param cause the exception cause.
+     */
+    public GLMeshException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,52 @@
+package com.game30.javagl.meshes;
+
+/**
+ * The constants of the binary mesh format written by {@link GLMeshWriter} and read by {@link GLMeshReader}.
+ *
+ * <p>Every value is stored in the native byte order of the machine which wrote the file, so the vertex and index data
+ * can be handed to OpenGL straight from a mapping of the file.  The file is laid out as:
+ * <ol>
+ * <li>a fixed header of the magic number, version, vertex stride, vertex count, index type, index count, attribute
+ * count, submesh count, a reserved int, and the byte offsets of the vertex and index data as longs;</li>
+ * <li>each attribute as its UTF-8 name prefixed by its byte length, then its type, size, normalized flag and byte
+ * offset within a vertex as ints;</li>
+ * <li>each submesh as its UTF-8 name prefixed by its byte length, then its draw mode, first index and index count as
+ * ints;</li>
+ * <li>the interleaved vertex data, aligned to {@link #DATA_ALIGNMENT};</li>
+ * <li>the index data as unsigned bytes, shorts or ints, aligned to {@link #DATA_ALIGNMENT}.</li>
+ * </ol>
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+final class GLMeshFormat {
+
+    /** The magic number at the start of every mesh file, which reads as "JGLM" in little endian order. */
+    static final int MAGIC = 0x4d4c474a;
+
+    /** The version of the format. */
+    static final int VERSION = 1;
+
+    /** The byte size of the fixed header. */
+    static final int HEADER_SIZE = 9 * 4 + 2 * 8;
+
+    /** The byte alignment of the vertex and index data. */
+    static final int DATA_ALIGNMENT = 16;
+
+    /**
+     * Private constructor since this class only has constants.
+     */
+    private GLMeshFormat() {
+    }
+
+    /**
+     * Rounds the specified byte position up to the data alignment.
+     *
+     * @param position the byte position.
+     * @return the aligned byte position.
+     */
+    static long align(long position) {
+        return (position + DATA_ALIGNMENT - 1) & -DATA_ALIGNMENT;
+    }
+}
@@ -0,0 +1,677 @@
+package com.game30.javagl.meshes;
+
+import java.util.Arrays;
+
+/**
+ * A GLMeshOptimizer reorders the triangles and vertices of an indexed triangle mesh so the graphics card draws it with
+ * less work.  It runs on the client before the mesh is written to buffers, and works on primitive arrays so the mesh is
+ * never boxed.  The indices describe triangles, three to a triangle, and the vertices are interleaved floats with a
+ * fixed stride.
+ *
+ * <p>{@link #optimize(int[], float[], int, int)} runs three stages in order, which are also available separately.
+ * <ol>
+ * <li>{@link #optimizeVertexCache(int[], int)} reorders triangles so vertices are reused while they are still in the
+ * post-transform vertex cache, using the algorithm of Tom Forsyth.</li>
+ * <li>{@link #optimizeOverdraw(int[], float[], int, int)} splits the triangles into clusters which keep most of the
+ * cache locality and draws the clusters which face outwards from the center of the mesh first, so that fewer hidden
+ * fragments are shaded.</li>
+ * <li>{@link #optimizeVertexFetch(int[], float[], int)} renumbers the vertices in the order they are first used, so
+ * vertex data is fetched from memory in order.</li>
+ * </ol>
+ *
+ * <p>The quality of the triangle order is measured by the average cache miss ratio (ACMR), the number of vertices
+ * transformed per triangle with a first-in first-out cache.  It ranges from 3 for the worst order down to 0.5 for
+ * large regular grids.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @see <a href="https://tomforsyth1000.github.io/papers/fast_vert_cache_opt.html">Linear-Speed Vertex Cache
+ * Optimisation</a>
+ * @since 1.0.0
+ */
+public class GLMeshOptimizer {
+
+    /** The default number of vertices in the simulated post-transform cache. */
+    public static final int DEFAULT_CACHE_SIZE = 16;
+
+    /** The default ACMR ratio below which a cluster is split for overdraw ordering. */
+    public static final float DEFAULT_OVERDRAW_THRESHOLD = 1.05f;
+
+    /** The power with which the score of a cached vertex decays with its cache position. */
+    private static final float CACHE_DECAY_POWER = 1.5f;
+
+    /** The score of a vertex used by the last triangle. */
+    private static final float LAST_TRIANGLE_SCORE = 0.75f;
+
+    /** The scale of the score given to vertices with few remaining triangles. */
+    private static final float VALENCE_BOOST_SCALE = 2.0f;
+
+    /** The power with which the valence score decays with the number of remaining triangles. */
+    private static final float VALENCE_BOOST_POWER = 0.5f;
+
+    /** The largest valence with its own score. */
+    private static final int MAX_VALENCE = 32;
+
+    /** The number of vertices in the simulated post-transform cache. */
+    private final int cacheSize;
+
+    /** The ACMR ratio below which a cluster is split for overdraw ordering. */
+    private final float overdrawThreshold;
+
+    /** The score of a vertex at each cache position. */
+    private final float[] cacheScores;
+
+    /** The score of a vertex with each number of remaining triangles. */
+    private final float[] valenceScores;
+
+    /**
+     * Constructs a GLMeshOptimizer instance with the default cache size and overdraw threshold.
+     */
+    public GLMeshOptimizer() {
+        this(DEFAULT_CACHE_SIZE, DEFAULT_OVERDRAW_THRESHOLD);
+    }
+
+    /**
+     * Constructs a GLMeshOptimizer instance with the specified cache size and overdraw threshold.  A larger threshold
+     * gives larger clusters, which sort less finely for overdraw but keep more of the cache locality.
+     *
+     * @param cacheSize the number of vertices in the simulated post-transform cache.
+     * @param overdrawThreshold the ACMR ratio below which a cluster is split, at least {@code 1}.
+     */
+    public GLMeshOptimizer(int cacheSize, float overdrawThreshold) {
+        if (cacheSize < 4) {
+            throw new GLMeshException("Cache size [" + cacheSize + "] must be at least 4.");
+        } else if (!(overdrawThreshold >= 1.0f)) {
+            throw new GLMeshException("Overdraw threshold [" + overdrawThreshold + "] must be at least 1.");
+        }
+        this.cacheSize = cacheSize;
+        this.overdrawThreshold = overdrawThreshold;
+        this.cacheScores = new float[cacheSize];
+        for (int i = 0; i < cacheSize; i++) {
+            cacheScores[i] = i < 3 ? LAST_TRIANGLE_SCORE
+                                   : (float) Math.pow(1.0 - (i - 3) / (double) (cacheSize - 3), CACHE_DECAY_POWER);
+        }
+        this.valenceScores = new float[MAX_VALENCE + 1];
+        for (int i = 1; i <= MAX_VALENCE; i++) {
+            valenceScores[i] = VALENCE_BOOST_SCALE * (float) Math.pow(i, -VALENCE_BOOST_POWER);
+        }
+    }
+
+    /**
+     * Returns the number of vertices in the simulated post-transform cache.
+     *
+     * @return the cache size.
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Returns the ACMR ratio below which a cluster is split for overdraw ordering.
+     *
+     * @return the overdraw threshold.
+     */
+    public float getOverdrawThreshold() {
+        return overdrawThreshold;
+    }
+
+    /**
+     * Runs every optimization stage on the specified mesh.  The indices and vertices are reordered in place.  Vertices
+     * which no triangle uses are dropped, so only the number of vertices given by the report remain meaningful.
+     *
+     * @param indices the triangle indices.
+     * @param vertices the interleaved vertex data.
+     * @param stride the number of floats per vertex.
+     * @param positionOffset the index of the three position floats within a vertex.
+     * @return the report of the optimization.
+     */
+    public Report optimize(int[] indices, float[] vertices, int stride, int positionOffset) {
+        int vertexCount = getVertexCount(vertices, stride, positionOffset);
+        float before = getAcmr(indices, vertexCount);
+        optimizeVertexCache(indices, vertexCount);
+        optimizeOverdraw(indices, vertices, stride, positionOffset);
+        int used = optimizeVertexFetch(indices, vertices, stride);
+        return new Report(before, getAcmr(indices, used), vertexCount, used);
+    }
+
+    /**
+     * Returns the average cache miss ratio of the specified triangles with the simulated first-in first-out cache.
+     *
+     * @param indices the triangle indices.
+     * @param vertexCount the number of vertices.
+     * @return the ACMR, or {@code 0} if there are no triangles.
+     */
+    public float getAcmr(int[] indices, int vertexCount) {
+        validate(indices, vertexCount);
+        if (indices.length == 0) {
+            return 0.0f;
+        }
+        int[] stamps = newStamps(vertexCount);
+        int time = 0;
+        for (int index : indices) {
+            if (time - stamps[index] > cacheSize) {
+                stamps[index] = time++;
+            }
+        }
+        return time / (float) (indices.length / 3);
+    }
+
+    /**
+     * Reorders the specified triangles in place for post-transform vertex cache locality.  Each step draws the
+     * triangle whose vertices score highest, where vertices score for being recently used and for having few triangles
+     * left, so the fans around vertices are finished before they leave the cache.
+     *
+     * @param indices the triangle indices.
+     * @param vertexCount the number of vertices.
+     */
+    public void optimizeVertexCache(int[] indices, int vertexCount) {
+        validate(indices, vertexCount);
+        int triangleCount = indices.length / 3;
+        if (triangleCount < 2) {
+            return;
+        }
+
+        // The triangles of each vertex are kept in one array, and drawn triangles are swapped out of the live part.
+        int[] valence = new int[vertexCount];
+        for (int index : indices) {
+            valence[index]++;
+        }
+        int[] adjacencyOffsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            adjacencyOffsets[v + 1] = adjacencyOffsets[v] + valence[v];
+        }
+        int[] adjacency = new int[indices.length];
+        int[] fill = Arrays.copyOf(adjacencyOffsets, vertexCount);
+        for (int i = 0; i < indices.length; i++) {
+            adjacency[fill[indices[i]]++] = i / 3;
+        }
+
+        float[] vertexScores = new float[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            vertexScores[v] = score(-1, valence[v]);
+        }
+        float[] triangleScores = new float[triangleCount];
+        for (int i = 0; i < indices.length; i++) {
+            triangleScores[i / 3] += vertexScores[indices[i]];
+        }
+
+        boolean[] drawn = new boolean[triangleCount];
+        int[] cache = new int[cacheSize + 3];
+        int[] nextCache = new int[cacheSize + 3];
+        int cacheCount = 0;
+        int[] output = new int[indices.length];
+        int best = -1;
+        int cursor = 0;
+        for (int t = 0; t < triangleCount; t++) {
+            if (best < 0) {
+                // No cached vertex has triangles left, so continue with the next triangle in the input order.
+                while (drawn[cursor]) {
+                    cursor++;
+                }
+                best = cursor;
+            }
+            drawn[best] = true;
+            int a = indices[best * 3];
+            int b = indices[best * 3 + 1];
+            int c = indices[best * 3 + 2];
+            output[t * 3] = a;
+            output[t * 3 + 1] = b;
+            output[t * 3 + 2] = c;
+            removeTriangle(a, best, adjacency, adjacencyOffsets, valence);
+            removeTriangle(b, best, adjacency, adjacencyOffsets, valence);
+            removeTriangle(c, best, adjacency, adjacencyOffsets, valence);
+
+            // The vertices of the triangle move to the front of the cache, pushing the rest back.
+            int nextCount = 0;
+            nextCache[nextCount++] = a;
+            if (b != a) {
+                nextCache[nextCount++] = b;
+            }
+            if (c != a && c != b) {
+                nextCache[nextCount++] = c;
+            }
+            for (int i = 0; i < cacheCount; i++) {
+                int v = cache[i];
+                if (v != a && v != b && v != c) {
+                    nextCache[nextCount++] = v;
+                }
+            }
+            int[] swap = cache;
+            cache = nextCache;
+            nextCache = swap;
+            cacheCount = nextCount;
+
+            // Vertices pushed out of the cache are rescored too, which removes their cache score.
+            for (int i = 0; i < cacheCount; i++) {
+                int v = cache[i];
+                float score = score(i < cacheSize ? i : -1, valence[v]);
+                float delta = score - vertexScores[v];
+                vertexScores[v] = score;
+                for (int j = adjacencyOffsets[v], end = j + valence[v]; j < end; j++) {
+                    triangleScores[adjacency[j]] += delta;
+                }
+            }
+            cacheCount = Math.min(cacheCount, cacheSize);
+
+            best = -1;
+            float bestScore = -1.0f;
+            for (int i = 0; i < cacheCount; i++) {
+                int v = cache[i];
+                for (int j = adjacencyOffsets[v], end = j + valence[v]; j < end; j++) {
+                    int triangle = adjacency[j];
+                    if (triangleScores[triangle] > bestScore) {
+                        bestScore = triangleScores[triangle];
+                        best = triangle;
+                    }
+                }
+            }
+        }
+        System.arraycopy(output, 0, indices, 0, indices.length);
+    }
+
+    /**
+     * Reorders the specified triangles in place to reduce overdraw, keeping most of their vertex cache locality.  This
+     * should be run after {@link #optimizeVertexCache(int[], int)}.  The triangles are split into clusters at the
+     * points where the cache order starts over, and those clusters are split again wherever their ACMR so far falls
+     * within the overdraw threshold of the ACMR of the whole cluster.  Clusters are then drawn in order of how far they
+     * face away from the center of the mesh, so the outside of a closed mesh is drawn before the surfaces it hides.
+     *
+     * @param indices the triangle indices.
+     * @param vertices the interleaved vertex data.
+     * @param stride the number of floats per vertex.
+     * @param positionOffset the index of the three position floats within a vertex.
+     */
+    public void optimizeOverdraw(int[] indices, float[] vertices, int stride, int positionOffset) {
+        int vertexCount = getVertexCount(vertices, stride, positionOffset);
+        validate(indices, vertexCount);
+        int triangleCount = indices.length / 3;
+        if (triangleCount < 2) {
+            return;
+        }
+        int[] hard = new int[triangleCount + 1];
+        int hardCount = getHardBoundaries(indices, vertexCount, hard);
+        int[] clusters = new int[triangleCount + 1];
+        int clusterCount = getSoftBoundaries(indices, vertexCount, hard, hardCount, clusters);
+
+        float meshX = 0.0f;
+        float meshY = 0.0f;
+        float meshZ = 0.0f;
+        for (int index : indices) {
+            int p = index * stride + positionOffset;
+            meshX += vertices[p];
+            meshY += vertices[p + 1];
+            meshZ += vertices[p + 2];
+        }
+        meshX /= indices.length;
+        meshY /= indices.length;
+        meshZ /= indices.length;
+
+        // Sort keys pack the order preserving bits of the negated dot product above the cluster number.
+        long[] keys = new long[clusterCount];
+        for (int k = 0; k < clusterCount; k++) {
+            float x = 0.0f;
+            float y = 0.0f;
+            float z = 0.0f;
+            float nx = 0.0f;
+            float ny = 0.0f;
+            float nz = 0.0f;
+            float area = 0.0f;
+            for (int t = clusters[k]; t < clusters[k + 1]; t++) {
+                int p0 = indices[t * 3] * stride + positionOffset;
+                int p1 = indices[t * 3 + 1] * stride + positionOffset;
+                int p2 = indices[t * 3 + 2] * stride + positionOffset;
+                float ux = vertices[p1] - vertices[p0];
+                float uy = vertices[p1 + 1] - vertices[p0 + 1];
+                float uz = vertices[p1 + 2] - vertices[p0 + 2];
+                float vx = vertices[p2] - vertices[p0];
+                float vy = vertices[p2 + 1] - vertices[p0 + 1];
+                float vz = vertices[p2 + 2] - vertices[p0 + 2];
+                float cx = uy * vz - uz * vy;
+                float cy = uz * vx - ux * vz;
+                float cz = ux * vy - uy * vx;
+                float weight = (float) Math.sqrt(cx * cx + cy * cy + cz * cz);
+                x += (vertices[p0] + vertices[p1] + vertices[p2]) * weight;
+                y += (vertices[p0 + 1] + vertices[p1 + 1] + vertices[p2 + 1]) * weight;
+                z += (vertices[p0 + 2] + vertices[p1 + 2] + vertices[p2 + 2]) * weight;
+                nx += cx;
+                ny += cy;
+                nz += cz;
+                area += weight;
+            }
+            float key = 0.0f;
+            float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+            if (area > 0.0f && length > 0.0f) {
+                float scale = 1.0f / (area * 3.0f);
+                key = ((x * scale - meshX) * nx + (y * scale - meshY) * ny + (z * scale - meshZ) * nz) / length;
+            }
+            int bits = Float.floatToIntBits(-key);
+            bits ^= (bits >> 31) & 0x7fffffff;
+            keys[k] = (long) bits << 32 | k;
+        }
+        Arrays.sort(keys);
+
+        int[] source = indices.clone();
+        int out = 0;
+        for (long key : keys) {
+            int k = (int) key;
+            int length = (clusters[k + 1] - clusters[k]) * 3;
+            System.arraycopy(source, clusters[k] * 3, indices, out, length);
+            out += length;
+        }
+    }
+
+    /**
+     * Renumbers the vertices of the specified mesh in place in the order the triangles first use them.  Vertices which
+     * no triangle uses are dropped.
+     *
+     * @param indices the triangle indices.
+     * @param vertices the interleaved vertex data.
+     * @param stride the number of floats per vertex.
+     * @return the number of vertices remaining.
+     */
+    public int optimizeVertexFetch(int[] indices, float[] vertices, int stride) {
+        int[] remap = remapVertexFetch(indices, getVertexCount(vertices, stride));
+        remapVertices(vertices, stride, remap);
+        int used = 0;
+        for (int target : remap) {
+            used += target >= 0 ? 1 : 0;
+        }
+        return used;
+    }
+
+    /**
+     * Renumbers the specified indices in place in the order they are first used, and returns the new number of each
+     * vertex.  The table can be passed to {@link #remapVertices(float[], int, int[])} for each array of vertex data
+     * when the attributes are not interleaved.
+     *
+     * @param indices the triangle indices.
+     * @param vertexCount the number of vertices.
+     * @return the new number of each vertex, or {@code -1} for vertices which are not used.
+     */
+    public int[] remapVertexFetch(int[] indices, int vertexCount) {
+        validate(indices, vertexCount);
+        int[] remap = new int[vertexCount];
+        Arrays.fill(remap, -1);
+        int next = 0;
+        for (int i = 0; i < indices.length; i++) {
+            int index = indices[i];
+            if (remap[index] < 0) {
+                remap[index] = next++;
+            }
+            indices[i] = remap[index];
+        }
+        return remap;
+    }
+
+    /**
+     * Moves the specified vertices in place to the positions given by the specified remap table.
+     *
+     * @param vertices the vertex data.
+     * @param stride the number of floats per vertex.
+     * @param remap the new number of each vertex, or {@code -1} for vertices which are dropped.
+     */
+    public static void remapVertices(float[] vertices, int stride, int[] remap) {
+        if (remap.length * stride > vertices.length) {
+            throw new GLMeshException("Remap table of [" + remap.length + "] vertices does not fit [" + vertices.length
+                                      + "] floats.");
+        }
+        float[] source = vertices.clone();
+        for (int v = 0; v < remap.length; v++) {
+            if (remap[v] >= 0) {
+                System.arraycopy(source, v * stride, vertices, remap[v] * stride, stride);
+            }
+        }
+    }
+
+    /**
+     * Finds the points where the cache order of the specified triangles starts over, which are triangles whose
+     * vertices all miss the cache.
+     *
+     * @param indices the triangle indices.
+     * @param vertexCount the number of vertices.
+     * @param boundaries the array to fill with the first triangle of each cluster, followed by the triangle count.
+     * @return the number of clusters.
+     */
+    private int getHardBoundaries(int[] indices, int vertexCount, int[] boundaries) {
+        int[] stamps = newStamps(vertexCount);
+        int time = 0;
+        int count = 0;
+        for (int t = 0; t < indices.length / 3; t++) {
+            int misses = 0;
+            for (int i = t * 3; i < t * 3 + 3; i++) {
+                if (time - stamps[indices[i]] > cacheSize) {
+                    stamps[indices[i]] = time++;
+                    misses++;
+                }
+            }
+            if (t == 0 || misses == 3) {
+                boundaries[count++] = t;
+            }
+        }
+        boundaries[count] = indices.length / 3;
+        return count;
+    }
+
+    /**
+     * Splits the specified clusters wherever the ACMR of the triangles so far is within the overdraw threshold of the
+     * ACMR of the whole cluster.
+     *
+     * @param indices the triangle indices.
+     * @param vertexCount the number of vertices.
+     * @param hard the first triangle of each hard cluster, followed by the triangle count.
+     * @param hardCount the number of hard clusters.
+     * @param boundaries the array to fill with the first triangle of each cluster, followed by the triangle count.
+     * @return the number of clusters.
+     */
+    private int getSoftBoundaries(int[] indices, int vertexCount, int[] hard, int hardCount, int[] boundaries) {
+        int[] stamps = newStamps(vertexCount);
+        int time = 0;
+        int count = 0;
+        for (int k = 0; k < hardCount; k++) {
+            int start = hard[k];
+            int end = hard[k + 1];
+
+            // Emptying the cache between clusters is simulated by moving time past every cached vertex.
+            time += cacheSize + 1;
+            int clusterStart = time;
+            for (int i = start * 3; i < end * 3; i++) {
+                if (time - stamps[indices[i]] > cacheSize) {
+                    stamps[indices[i]] = time++;
+                }
+            }
+            float acmr = (time - clusterStart) / (float) (end - start);
+
+            time += cacheSize + 1;
+            boundaries[count++] = start;
+            int splitStart = start;
+            int splitTime = time;
+            for (int t = start; t < end; t++) {
+                for (int i = t * 3; i < t * 3 + 3; i++) {
+                    if (time - stamps[indices[i]] > cacheSize) {
+                        stamps[indices[i]] = time++;
+                    }
+                }
+                if (t + 1 < end && time - splitTime <= overdrawThreshold * acmr * (t + 1 - splitStart)) {
+                    boundaries[count++] = t + 1;
+                    time += cacheSize + 1;
+                    splitStart = t + 1;
+                    splitTime = time;
+                }
+            }
+        }
+        boundaries[count] = indices.length / 3;
+        return count;
+    }
+
+    /**
+     * Returns the score of a vertex at the specified cache position with the specified number of triangles left.
+     *
+     * @param position the cache position, or {@code -1} if the vertex is not cached.
+     * @param valence the number of triangles left.
+     * @return the vertex score.
+     */
+    private float score(int position, int valence) {
+        if (valence == 0) {
+            return 0.0f;
+        }
+        float score = position < 0 ? 0.0f : cacheScores[position];
+        return score + valenceScores[Math.min(valence, MAX_VALENCE)];
+    }
+
+    /**
+     * Removes the specified triangle from the live triangles of the specified vertex.
+     *
+     * @param vertex the vertex.
+     * @param triangle the triangle.
+     * @param adjacency the triangles of every vertex.
+     * @param offsets the start of the triangles of each vertex.
+     * @param valence the number of live triangles of each vertex.
+     */
+    private static void removeTriangle(int vertex, int triangle, int[] adjacency, int[] offsets, int[] valence) {
+        int start = offsets[vertex];
+        int last = start + valence[vertex] - 1;
+        for (int j = start; j <= last; j++) {
+            if (adjacency[j] == triangle) {
+                adjacency[j] = adjacency[last];
+                adjacency[last] = triangle;
+                valence[vertex]--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the cache insertion times of the specified number of vertices, set so that no vertex starts cached.
+     *
+     * @param vertexCount the number of vertices.
+     * @return the insertion times.
+     */
+    private int[] newStamps(int vertexCount) {
+        int[] stamps = new int[vertexCount];
+        Arrays.fill(stamps, -cacheSize - 1);
+        return stamps;
+    }
+
+    /**
+     * Returns the number of vertices in the specified interleaved vertex data.
+     *
+     * @param vertices the interleaved vertex data.
+     * @param stride the number of floats per vertex.
+     * @return the vertex count.
+     */
+    private static int getVertexCount(float[] vertices, int stride) {
+        if (stride < 1) {
+            throw new GLMeshException("Stride [" + stride + "] must be positive.");
+        }
+        return vertices.length / stride;
+    }
+
+    /**
+     * Returns the number of vertices in the specified interleaved vertex data, whose positions are read.
+     *
+     * @param vertices the interleaved vertex data.
+     * @param stride the number of floats per vertex.
+     * @param positionOffset the index of the three position floats within a vertex.
+     * @return the vertex count.
+     */
+    private static int getVertexCount(float[] vertices, int stride, int positionOffset) {
+        if (positionOffset < 0 || positionOffset + 3 > stride) {
+            throw new GLMeshException("Position offset [" + positionOffset + "] does not fit stride [" + stride
+                                      + "].");
+        }
+        return getVertexCount(vertices, stride);
+    }
+
+    /**
+     * Validates that the specified indices form whole triangles of vertices which exist.
+     *
+     * @param indices the triangle indices.
+     * @param vertexCount the number of vertices.
+     */
+    private static void validate(int[] indices, int vertexCount) {
+        if (indices.length % 3 != 0) {
+            throw new GLMeshException("Index count [" + indices.length + "] is not a multiple of 3.");
+        }
+        for (int index : indices) {
+            if (index < 0 || index >= vertexCount) {
+                throw new GLMeshException("Index [" + index + "] is outside of [" + vertexCount + "] vertices.");
+            }
+        }
+    }
+
+
+    /**
+     * The result of optimizing a mesh.
+     */
+    public static final class Report {
+
+        /** The ACMR before optimization. */
+        private final float acmrBefore;
+
+        /** The ACMR after optimization. */
+        private final float acmrAfter;
+
+        /** The number of vertices before optimization. */
+        private final int vertexCountBefore;
+
+        /** The number of vertices after optimization. */
+        private final int vertexCountAfter;
+
+        /**
+         * Constructs a Report instance.
+         *
+         * @param acmrBefore the ACMR before optimization.
+         * @param acmrAfter the ACMR after optimization.
+         * @param vertexCountBefore the number of vertices before optimization.
+         * @param vertexCountAfter the number of vertices after optimization.
+         */
+        private Report(float acmrBefore, float acmrAfter, int vertexCountBefore, int vertexCountAfter) {
+            this.acmrBefore = acmrBefore;
+            this.acmrAfter = acmrAfter;
+            this.vertexCountBefore = vertexCountBefore;
+            this.vertexCountAfter = vertexCountAfter;
+        }
+
+        /**
+         * Returns the ACMR before optimization.
+         *
+         * @return the original ACMR.
+         */
+        public float getAcmrBefore() {
+            return acmrBefore;
+        }
+
+        /**
+         * Returns the ACMR after optimization.
+         *
+         * @return the optimized ACMR.
+         */
+        public float getAcmrAfter() {
+            return acmrAfter;
+        }
+
+        /**
+         * Returns the number of vertices before optimization.
+         *
+         * @return the original vertex count.
+         */
+        public int getVertexCountBefore() {
+            return vertexCountBefore;
+        }
+
+        /**
+         * Returns the number of vertices after optimization, which excludes vertices no triangle used.
+         *
+         * @return the optimized vertex count.
+         */
+        public int getVertexCountAfter() {
+            return vertexCountAfter;
+        }
+
+        @Override
+        public String toString() {
+            return "ACMR " + acmrBefore + " -> " + acmrAfter + ", vertices " + vertexCountBefore + " -> "
+                   + vertexCountAfter;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.game30.javagl.meshes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.game30.javagl.arrays.GLDrawMode;
+import com.game30.javagl.arrays.GLVertexLayout;
+import com.game30.javagl.buffers.GLBuffer;
+import com.game30.javagl.buffers.GLBufferFactory;
+import com.game30.javagl.buffers.GLBufferTarget;
+import com.game30.javagl.buffers.GLBufferType;
+import com.game30.javagl.buffers.GLBufferUsage;
+import com.game30.javagl.buffers.GLIndexBuffer;
+import com.game30.javagl.programs.GLAttributeType;
+
+/**
+ * Reads meshes in the binary mesh format described by {@link GLMeshFormat} into OpenGL buffers.  Only the header is
+ * parsed; the vertex and index data are uploaded straight from mappings of the file, so they are never copied into the
+ * Java heap.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLMeshReader {
+
+    /** The factory the mesh buffers are created with. */
+    private final GLBufferFactory factory;
+
+    /** The usage pattern of the mesh buffers. */
+    private final GLBufferUsage usage;
+
+    /**
+     * Constructs a GLMeshReader instance which creates static buffers with the default buffer factory.
+     */
+    public GLMeshReader() {
+        this(GLBufferFactory.getDefault(), GLBufferUsage.WriteStatic);
+    }
+
+    /**
+     * Constructs a GLMeshReader instance which creates buffers of the specified usage with the specified factory.
+     *
+     * @param factory the factory the mesh buffers are created with.
+     * @param usage the usage pattern of the mesh buffers.
+     */
+    public GLMeshReader(GLBufferFactory factory, GLBufferUsage usage) {
+        this.factory = factory;
+        this.usage = usage;
+    }
+
+    /**
+     * Reads the mesh in the specified file.
+     *
+     * @param file the mesh file.
+     * @return the mesh with its buffers created.
+     * @throws GLMeshException if the file is not a valid mesh file for this machine or could not be read.
+     */
+    public GLMesh read(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer fixed = ByteBuffer.allocate(GLMeshFormat.HEADER_SIZE).order(ByteOrder.nativeOrder());
+            while (fixed.hasRemaining()) {
+                if (channel.read(fixed) < 0) {
+                    throw new GLMeshException("File [" + file + "] is too short to be a mesh file.");
+                }
+            }
+            fixed.flip();
+            int magic = fixed.getInt();
+            if (magic == Integer.reverseBytes(GLMeshFormat.MAGIC)) {
+                throw new GLMeshException("Mesh file [" + file + "] was written in the opposite byte order.");
+            } else if (magic != GLMeshFormat.MAGIC) {
+                throw new GLMeshException("File [" + file + "] is not a mesh file.");
+            }
+            int version = fixed.getInt();
+            if (version != GLMeshFormat.VERSION) {
+                throw new GLMeshException("Mesh file [" + file + "] has unsupported version [" + version + "].");
+            }
+            int stride = fixed.getInt();
+            int vertexCount = fixed.getInt();
+            GLAttributeType indexType = GLAttributeType.fromGLInt(fixed.getInt());
+            int indexCount = fixed.getInt();
+            int attributeCount = fixed.getInt();
+            int submeshCount = fixed.getInt();
+            fixed.getInt();
+            long vertexOffset = fixed.getLong();
+            long indexOffset = fixed.getLong();
+            long indexLength = (long) indexCount * indexType.getByteSize();
+            if (vertexOffset < GLMeshFormat.HEADER_SIZE || vertexOffset + (long) vertexCount * stride > indexOffset
+                || indexOffset + indexLength > channel.size() || indexLength > Integer.MAX_VALUE) {
+                throw new GLMeshException("Mesh file [" + file + "] is truncated or corrupt.");
+            }
+
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, GLMeshFormat.HEADER_SIZE,
+                                            vertexOffset - GLMeshFormat.HEADER_SIZE).order(ByteOrder.nativeOrder());
+            GLVertexLayout layout = readLayout(file, header, attributeCount, stride);
+            List<GLSubmesh> submeshes = new ArrayList<>(submeshCount);
+            for (int i = 0; i < submeshCount; i++) {
+                String name = readName(header);
+                GLDrawMode mode = GLDrawMode.fromGLInt(header.getInt());
+                int first = header.getInt();
+                int count = header.getInt();
+                if (first < 0 || count < 0 || first + (long) count > indexCount) {
+                    throw new GLMeshException("Mesh file [" + file + "] is truncated or corrupt.");
+                }
+                submeshes.add(new GLSubmesh(name, mode, first, count));
+            }
+
+            ByteBuffer indexData = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, indexLength)
+                                          .order(ByteOrder.nativeOrder());
+            GLIndexBuffer indices;
+            if (indexType == GLAttributeType.UnsignedByte) {
+                indices = factory.createIndex(usage, indexData, false);
+            } else if (indexType == GLAttributeType.UnsignedShort) {
+                indices = factory.createIndex(usage, indexData.asShortBuffer(), false);
+            } else {
+                indices = factory.createIndex(usage, indexData.asIntBuffer(), false);
+            }
+            GLBuffer vertices;
+            try {
+                vertices = factory.create(GLBufferType.Byte, GLBufferTarget.Array, usage, file, vertexOffset,
+                                          (long) vertexCount * stride);
+            } catch (RuntimeException e) {
+                indices.delete();
+                throw e;
+            }
+            return new GLMesh(layout, vertices, indices, submeshes);
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof GLMeshException) {
+                throw (GLMeshException) e;
+            }
+            throw new GLMeshException("Could not read mesh file [" + file + "].", e);
+        }
+    }
+
+    /**
+     * Reads the attributes of the mesh and rebuilds its vertex layout, checking that the layout places every attribute
+     * where the file does.
+     *
+     * @param file the mesh file.
+     * @param header the variable part of the header.
+     * @param attributeCount the number of attributes.
+     * @param stride the vertex stride in the file.
+     * @return the vertex layout.
+     */
+    private static GLVertexLayout readLayout(Path file, ByteBuffer header, int attributeCount, int stride) {
+        GLVertexLayout layout = new GLVertexLayout();
+        for (int i = 0; i < attributeCount; i++) {
+            String name = readName(header);
+            GLAttributeType type = GLAttributeType.fromGLInt(header.getInt());
+            int size = header.getInt();
+            boolean normalized = header.getInt() != 0;
+            int offset = header.getInt();
+            layout.add(name, size, type, normalized);
+            if (layout.getOffset(i) != offset) {
+                throw new GLMeshException("Attribute [" + name + "] of [" + file + "] is at offset [" + offset
+                                          + "] but the layout places it at [" + layout.getOffset(i) + "].");
+            }
+        }
+        if (layout.getStride() != stride) {
+            throw new GLMeshException("Mesh file [" + file + "] has stride [" + stride + "] but the layout has ["
+                                      + layout.getStride() + "].");
+        }
+        return layout;
+    }
+
+    /**
+     * Reads a UTF-8 name prefixed by its byte length.
+     *
+     * @param header the header to read from.
+     * @return the name.
+     */
+    private static String readName(ByteBuffer header) {
+        byte[] bytes = new byte[header.getInt()];
+        header.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,129 @@
+package com.game30.javagl.meshes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.game30.javagl.arrays.GLVertexLayout;
+import com.game30.javagl.buffers.GLBufferType;
+import com.game30.javagl.buffers.GLIndexBuffer;
+import com.game30.javagl.programs.GLAttributeType;
+
+/**
+ * Writes meshes in the binary mesh format described by {@link GLMeshFormat}, so they can be loaded by a {@link
+ * GLMeshReader} without parsing.  This is meant to run when assets are built, not when they are loaded.
+ *
+ * <p>Indices are stored in the narrowest unsigned type which can hold them, the same type a {@link GLIndexBuffer}
+ * created from them stores them as.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public final class GLMeshWriter {
+
+    /**
+     * Private constructor since this class only has static methods.
+     */
+    private GLMeshWriter() {
+    }
+
+    /**
+     * Writes the specified mesh to the specified file, replacing the file if it exists.
+     *
+     * @param file the file to write.
+     * @param layout the layout of the vertices.
+     * @param vertices the remaining interleaved vertex data, such as produced by {@link GLVertexLayout#pack(
+     * java.nio.Buffer...)}.
+     * @param indices the indices of the vertices.
+     * @param submeshes the submeshes in draw order.
+     * @throws GLMeshException if the mesh is not valid or the file could not be written.
+     */
+    public static void write(Path file, GLVertexLayout layout, ByteBuffer vertices, int[] indices,
+                             List<GLSubmesh> submeshes) {
+        int stride = layout.getStride();
+        if (vertices.remaining() % stride != 0) {
+            throw new GLMeshException("Vertex data of [" + vertices.remaining() + "] bytes is not a multiple of the ["
+                                      + stride + "] byte stride.");
+        }
+        int vertexCount = vertices.remaining() / stride;
+        for (int index : indices) {
+            if (index < 0 || index >= vertexCount) {
+                throw new GLMeshException("Index [" + index + "] is outside of [" + vertexCount + "] vertices.");
+            }
+        }
+        for (GLSubmesh submesh : submeshes) {
+            if (submesh.getFirstIndex() + (long) submesh.getIndexCount() > indices.length) {
+                throw new GLMeshException("Submesh [" + submesh + "] is outside of [" + indices.length
+                                          + "] indices.");
+            }
+        }
+        IntBuffer indexBuffer = IntBuffer.wrap(indices);
+        GLBufferType storedType = GLIndexBuffer.narrowestType(indexBuffer, false, 0);
+        GLAttributeType indexType = GLIndexBuffer.indexType(storedType);
+
+        byte[][] attributeNames = new byte[layout.getCount()][];
+        int headerSize = GLMeshFormat.HEADER_SIZE;
+        for (int i = 0; i < attributeNames.length; i++) {
+            attributeNames[i] = layout.getName(i).getBytes(StandardCharsets.UTF_8);
+            headerSize += attributeNames[i].length + 5 * 4;
+        }
+        byte[][] submeshNames = new byte[submeshes.size()][];
+        for (int i = 0; i < submeshNames.length; i++) {
+            submeshNames[i] = submeshes.get(i).getName().getBytes(StandardCharsets.UTF_8);
+            headerSize += submeshNames[i].length + 4 * 4;
+        }
+        long vertexOffset = GLMeshFormat.align(headerSize);
+        long indexOffset = GLMeshFormat.align(vertexOffset + vertices.remaining());
+
+        ByteBuffer header = ByteBuffer.allocate((int) vertexOffset).order(ByteOrder.nativeOrder());
+        header.putInt(GLMeshFormat.MAGIC)
+              .putInt(GLMeshFormat.VERSION)
+              .putInt(stride)
+              .putInt(vertexCount)
+              .putInt(indexType.glInt())
+              .putInt(indices.length)
+              .putInt(layout.getCount())
+              .putInt(submeshes.size())
+              .putInt(0)
+              .putLong(vertexOffset)
+              .putLong(indexOffset);
+        for (int i = 0; i < attributeNames.length; i++) {
+            header.putInt(attributeNames[i].length).put(attributeNames[i])
+                  .putInt(layout.getType(i).glInt())
+                  .putInt(layout.getSize(i))
+                  .putInt(layout.isNormalized(i) ? 1 : 0)
+                  .putInt(layout.getOffset(i));
+        }
+        for (int i = 0; i < submeshNames.length; i++) {
+            GLSubmesh submesh = submeshes.get(i);
+            header.putInt(submeshNames[i].length).put(submeshNames[i])
+                  .putInt(submesh.getMode().glInt())
+                  .putInt(submesh.getFirstIndex())
+                  .putInt(submesh.getIndexCount());
+        }
+        header.clear();
+
+        ByteBuffer padding = ByteBuffer.allocate((int) (indexOffset - vertexOffset - vertices.remaining()));
+        ByteBuffer indexData = ByteBuffer.allocate(indices.length * indexType.getByteSize())
+                                         .order(ByteOrder.nativeOrder());
+        GLIndexBuffer.narrow(indexBuffer, storedType, indexData, false, 0);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] parts = {header, vertices.duplicate(), padding, indexData};
+            long remaining = indexOffset + indexData.remaining();
+            while (remaining > 0) {
+                remaining -= channel.write(parts);
+            }
+        } catch (IOException e) {
+            throw new GLMeshException("Could not write [" + file + "].", e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.game30.javagl.meshes;
+
+import com.game30.javagl.arrays.GLDrawMode;
+
+/**
+ * A GLSubmesh is a named range of the indices of a mesh which is drawn with one primitive type, usually with its own
+ * material.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLSubmesh {
+
+    /** The submesh name. */
+    private final String name;
+
+    /** The primitive type the submesh is drawn as. */
+    private final GLDrawMode mode;
+
+    /** The first index of the submesh. */
+    private final int firstIndex;
+
+    /** The number of indices of the submesh. */
+    private final int indexCount;
+
+    /**
+     * Constructs a GLSubmesh instance.
+     *
+     * @param name the submesh name.
+     * @param mode the primitive type the submesh is drawn as.
+     * @param firstIndex the first index of the submesh.
+     * @param indexCount the number of indices of the submesh.
+     */
+    public GLSubmesh(CharSequence name, GLDrawMode mode, int firstIndex, int indexCount) {
+        if (firstIndex < 0 || indexCount < 0) {
+            throw new GLMeshException("Submesh [" + name + "] range [" + firstIndex + ", " + indexCount
+                                      + "] is negative.");
+        }
+        this.name = name.toString();
+        this.mode = mode;
+        this.firstIndex = firstIndex;
+        this.indexCount = indexCount;
+    }
+
+    /**
+     * Returns the name of the submesh.
+     *
+     * @return the submesh name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the primitive type the submesh is drawn as.
+     *
+     * @return the draw mode.
+     */
+    public GLDrawMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Returns the first index of the submesh.
+     *
+     * @return the first index.
+     */
+    public int getFirstIndex() {
+        return firstIndex;
+    }
+
+    /**
+     * Returns the number of indices of the submesh.
+     *
+     * @return the index count.
+     */
+    public int getIndexCount() {
+        return indexCount;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[name=" + name + ", mode=" + mode + ", first=" + firstIndex + ", count="
+               + indexCount + "]";
+    }
+}
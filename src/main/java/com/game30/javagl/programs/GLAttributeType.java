@@ -1,6 +1,9 @@
 package com.game30.javagl.programs;
 
 import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL33;
 
 import com.game30.javagl.GLMagicInteger;
 import com.game30.javagl.GLMagicIntegerException;
@@ -16,42 +19,59 @@ public enum GLAttributeType implements GLMagicInteger {
     /**
      * Unsigned byte primitive attribute type.
      */
-    UnsignedByte(GL11.GL_UNSIGNED_BYTE),
+    UnsignedByte(GL11.GL_UNSIGNED_BYTE, 1),
 
     /**
      * Byte primitive attribute type.
      */
-    Byte(GL11.GL_BYTE),
+    Byte(GL11.GL_BYTE, 1),
 
     /**
      * Unsigned short primitive attribute type.
      */
-    UnsignedShort(GL11.GL_UNSIGNED_SHORT),
+    UnsignedShort(GL11.GL_UNSIGNED_SHORT, 2),
 
     /**
      * Short primitive attribute type.
      */
-    Short(GL11.GL_SHORT),
+    Short(GL11.GL_SHORT, 2),
 
     /**
      * Unsigned integer primitive attribute type.
      */
-    UnsignedInt(GL11.GL_UNSIGNED_INT),
+    UnsignedInt(GL11.GL_UNSIGNED_INT, 4),
 
     /**
      * Integer primitive attribute type.
      */
-    Int(GL11.GL_INT),
+    Int(GL11.GL_INT, 4),
 
     /**
      * Float primitive attribute type.
      */
-    Float(GL11.GL_FLOAT),
+    Float(GL11.GL_FLOAT, 4),
 
     /**
      * Double primitive attribute type.
      */
-    Double(GL11.GL_DOUBLE),
+    Double(GL11.GL_DOUBLE, 8),
+
+    /**
+     * Half precision float primitive attribute type.  Each component is a 16-bit IEEE 754 float.
+     */
+    HalfFloat(GL30.GL_HALF_FLOAT, 2),
+
+    /**
+     * Packed signed attribute type.  All four components are packed into a single 32-bit integer, with 10 bits for each
+     * of the first three components and 2 bits for the last.
+     */
+    Int2101010Rev(GL33.GL_INT_2_10_10_10_REV, 4, true),
+
+    /**
+     * Packed unsigned attribute type.  All four components are packed into a single 32-bit integer, with 10 bits for
+     * each of the first three components and 2 bits for the last.
+     */
+    UnsignedInt2101010Rev(GL12.GL_UNSIGNED_INT_2_10_10_10_REV, 4, true),
 
     // End of enumeration
     ;
@@ -82,6 +102,12 @@ public enum GLAttributeType implements GLMagicInteger {
                 return GLAttributeType.Float;
             case GL11.GL_DOUBLE:
                 return GLAttributeType.Double;
+            case GL30.GL_HALF_FLOAT:
+                return GLAttributeType.HalfFloat;
+            case GL33.GL_INT_2_10_10_10_REV:
+                return GLAttributeType.Int2101010Rev;
+            case GL12.GL_UNSIGNED_INT_2_10_10_10_REV:
+                return GLAttributeType.UnsignedInt2101010Rev;
             default:
                 throw new GLMagicIntegerException("Could not match to a GLAttributeType.");
         }
@@ -90,13 +116,63 @@ public enum GLAttributeType implements GLMagicInteger {
     /** The OpenGL magic integer of the attribute type. */
     private final int glInt;
 
+    /** The byte size of a single component of the attribute type, or of all components if packed. */
+    private final int byteSize;
+
+    /** If all components are packed into a single value. */
+    private final boolean packed;
+
+    /**
+     * Creates a new attribute type with the specified magic integer and component byte size.
+     *
+     * @param glInt the type magic integer.
+     * @param byteSize the byte size of a single component.
+     */
+    GLAttributeType(int glInt, int byteSize) {
+        this(glInt, byteSize, false);
+    }
+
     /**
-     * Creates a new attribute type with the specified magic integer.
+     * Creates a new attribute type with the specified magic integer, byte size and packing.
      *
      * @param glInt the type magic integer.
+     * @param byteSize the byte size of a single component, or of all components if packed.
+     * @param packed if all components are packed into a single value.
      */
-    GLAttributeType(int glInt) {
+    GLAttributeType(int glInt, int byteSize, boolean packed) {
         this.glInt = glInt;
+        this.byteSize = byteSize;
+        this.packed = packed;
+    }
+
+    /**
+     * Returns the byte size of a single component of the attribute type.  For packed types, this is the byte size of
+     * the value holding all the components.
+     *
+     * @return the component byte size.
+     */
+    public int getByteSize() {
+        return byteSize;
+    }
+
+    /**
+     * Returns the byte size of an attribute of the specified array size.
+     *
+     * @param size the attribute array size.
+     * @return the attribute byte size.
+     */
+    public int getByteSize(int size) {
+        return packed ? byteSize : byteSize * size;
+    }
+
+    /**
+     * Returns {@code true} if all the components of an attribute are packed into a single value.  Packed attributes
+     * must have an array size of {@code 4}.
+     *
+     * @return if the type is packed.
+     */
+    public boolean isPacked() {
+        return packed;
     }
 
     @Override
@@ -0,0 +1,498 @@
+package com.game30.javagl.programs;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.lwjgl.opengl.GL31;
+import org.lwjgl.opengl.GL43;
+
+import com.game30.javagl.memory.GLMemory;
+import com.game30.javagl.memory.GLMemoryStack;
+
+/**
+ * A GLBlockLayout describes the members of a GLSL uniform or shader storage block, or of a structure within one, and
+ * computes where each member is placed by the rules of a {@link GLBlockPacking}.  Members are added in the order they
+ * are declared in GLSL, as scalars, vectors, column-major matrices, structures, or arrays of any of those.
+ *
+ * <pre>{@code
+ * GLBlockLayout light = new GLBlockLayout(GLBlockPacking.Std140)
+ *         .add("position", GLUniformType.Float3)
+ *         .add("color", GLUniformType.Float4);
+ * GLBlockLayout block = new GLBlockLayout(GLBlockPacking.Std140)
+ *         .add("model", GLUniformType.FloatMatrix4)
+ *         .add("lights", light, 8)
+ *         .add("lightCount", GLUniformType.Integer);
+ * int offset = block.getOffset("lights[2].color");
+ * }</pre>
+ *
+ * <p>Data is written to the block with a {@link GLBlockWriter}.  Since a layout mistake shows up as garbage on screen
+ * rather than an error, {@link #verify(GLProgram, CharSequence)} and {@link #verifyStorage(GLProgram, CharSequence)}
+ * compare the computed layout with the one the linked program reports.
+ *
+ * @author Brian Norman
+ * @since 1.0.0
+ */
+public class GLBlockLayout {
+
+    /** The packing rules of the layout. */
+    private final GLBlockPacking packing;
+
+    /** The members of the layout in order. */
+    private final List<Member> members;
+
+    /** The byte size of the members before padding. */
+    private int size;
+
+    /** The largest base alignment of a member. */
+    private int alignment;
+
+    /**
+     * Constructs an empty GLBlockLayout instance with the specified packing rules.
+     *
+     * @param packing the packing rules.
+     */
+    public GLBlockLayout(GLBlockPacking packing) {
+        this.packing = packing;
+        this.members = new ArrayList<>();
+        this.alignment = 1;
+    }
+
+    /**
+     * Adds a member of the specified type to the end of the layout.
+     *
+     * @param name the member name.
+     * @param type the member type.
+     * @return this layout.
+     */
+    public GLBlockLayout add(CharSequence name, GLUniformType type) {
+        return add(name, type, 0);
+    }
+
+    /**
+     * Adds an array member of the specified type to the end of the layout.
+     *
+     * @param name the member name.
+     * @param type the element type.
+     * @param length the array length, or {@code 0} if the member is not an array.
+     * @return this layout.
+     */
+    public GLBlockLayout add(CharSequence name, GLUniformType type, int length) {
+        int component = type.getComponentSize();
+        int vectorAlignment = type.getRows() == 1 ? component : type.getRows() == 2 ? 2 * component : 4 * component;
+        if (type.isMatrix()) {
+            // A matrix is laid out as an array of its column vectors.
+            int columnStride = packing.roundAlignment(vectorAlignment);
+            return add(name, type, null, columnStride, type.getColumns() * columnStride, columnStride, length);
+        }
+        return add(name, type, null, vectorAlignment, type.getRows() * component, 0, length);
+    }
+
+    /**
+     * Adds a member of the specified structure to the end of the layout.  The structure must have all of its members
+     * before it is added.
+     *
+     * @param name the member name.
+     * @param struct the layout of the structure.
+     * @return this layout.
+     */
+    public GLBlockLayout add(CharSequence name, GLBlockLayout struct) {
+        return add(name, struct, 0);
+    }
+
+    /**
+     * Adds an array member of the specified structure to the end of the layout.  The structure must have all of its
+     * members before it is added.
+     *
+     * @param name the member name.
+     * @param struct the layout of the structure.
+     * @param length the array length, or {@code 0} if the member is not an array.
+     * @return this layout.
+     */
+    public GLBlockLayout add(CharSequence name, GLBlockLayout struct, int length) {
+        if (struct.packing != packing) {
+            throw new GLProgramException("Structure [" + name + "] uses [" + struct.packing + "] but the block uses ["
+                                         + packing + "].");
+        } else if (struct == this) {
+            throw new GLProgramException("Structure [" + name + "] cannot contain itself.");
+        }
+        return add(name, null, struct, struct.getAlignment(), struct.getSize(), 0, length);
+    }
+
+    /**
+     * Adds a member with the specified element alignment and size to the end of the layout.
+     *
+     * @param name the member name.
+     * @param type the member type, or {@code null} for a structure.
+     * @param struct the structure layout, or {@code null} for a type.
+     * @param elementAlignment the base alignment of a single element.
+     * @param elementSize the byte size of a single element.
+     * @param matrixStride the byte stride between matrix columns, or {@code 0} if the member is not a matrix.
+     * @param length the array length, or {@code 0} if the member is not an array.
+     * @return this layout.
+     */
+    private GLBlockLayout add(CharSequence name, GLUniformType type, GLBlockLayout struct, int elementAlignment,
+                              int elementSize, int matrixStride, int length) {
+        if (length < 0) {
+            throw new GLProgramException("Member [" + name + "] length [" + length + "] is negative.");
+        } else if (indexOf(name) >= 0) {
+            throw new GLProgramException("Member [" + name + "] is already declared.");
+        }
+        int align = elementAlignment;
+        int arrayStride = 0;
+        int byteSize = elementSize;
+        if (length > 0) {
+            align = packing.roundAlignment(elementAlignment);
+            arrayStride = align(elementSize, align);
+            byteSize = arrayStride * length;
+        } else if (struct != null) {
+            align = packing.roundAlignment(elementAlignment);
+        }
+        int offset = align(size, align);
+        members.add(new Member(name.toString(), type, struct, length, offset, arrayStride, matrixStride));
+        size = offset + byteSize;
+        alignment = Math.max(alignment, align);
+        return this;
+    }
+
+    /**
+     * Returns the packing rules of the layout.
+     *
+     * @return the packing rules.
+     */
+    public GLBlockPacking getPacking() {
+        return packing;
+    }
+
+    /**
+     * Returns the base alignment of the layout when used as a structure.
+     *
+     * @return the byte alignment.
+     */
+    public int getAlignment() {
+        return packing.roundAlignment(alignment);
+    }
+
+    /**
+     * Returns the byte size of the layout, padded to its alignment.  This is the stride between blocks, or between
+     * elements of an array of the structure.
+     *
+     * @return the byte size.
+     */
+    public int getSize() {
+        return align(size, getAlignment());
+    }
+
+    /**
+     * Returns the number of members in the layout.
+     *
+     * @return the member count.
+     */
+    public int getCount() {
+        return members.size();
+    }
+
+    /**
+     * Returns the name of the member at the specified position.
+     *
+     * @param i the member position.
+     * @return the member name.
+     */
+    public String getName(int i) {
+        return members.get(i).name;
+    }
+
+    /**
+     * Returns the type of the member at the specified position, or {@code null} if the member is a structure.
+     *
+     * @param i the member position.
+     * @return the member type.
+     */
+    public GLUniformType getType(int i) {
+        return members.get(i).type;
+    }
+
+    /**
+     * Returns the structure layout of the member at the specified position, or {@code null} if the member is not a
+     * structure.
+     *
+     * @param i the member position.
+     * @return the structure layout.
+     */
+    public GLBlockLayout getStruct(int i) {
+        return members.get(i).struct;
+    }
+
+    /**
+     * Returns the array length of the member at the specified position, or {@code 0} if the member is not an array.
+     *
+     * @param i the member position.
+     * @return the array length.
+     */
+    public int getLength(int i) {
+        return members.get(i).length;
+    }
+
+    /**
+     * Returns the byte offset of the member at the specified position.
+     *
+     * @param i the member position.
+     * @return the member byte offset.
+     */
+    public int getOffset(int i) {
+        return members.get(i).offset;
+    }
+
+    /**
+     * Returns the byte stride between the array elements of the member at the specified position, or {@code 0} if the
+     * member is not an array.
+     *
+     * @param i the member position.
+     * @return the array stride.
+     */
+    public int getArrayStride(int i) {
+        return members.get(i).arrayStride;
+    }
+
+    /**
+     * Returns the byte stride between the columns of the member at the specified position, or {@code 0} if the member
+     * is not a matrix.
+     *
+     * @param i the member position.
+     * @return the matrix stride.
+     */
+    public int getMatrixStride(int i) {
+        return members.get(i).matrixStride;
+    }
+
+    /**
+     * Returns the position of the member with the specified name, or {@code -1} if the layout has no such member.
+     *
+     * @param name the member name.
+     * @return the member position.
+     */
+    public int indexOf(CharSequence name) {
+        String key = name.toString();
+        for (int i = 0; i < members.size(); i++) {
+            if (members.get(i).name.equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the byte offset of the member at the specified path, as written in GLSL.  Structure members are selected
+     * with a dot and array elements with brackets, such as {@code lights[2].color}.  An array without an index selects
+     * its first element.
+     *
+     * @param path the member path.
+     * @return the member byte offset.
+     * @throws GLProgramException if the path does not name a member of the layout.
+     */
+    public int getOffset(CharSequence path) {
+        String key = path.toString();
+        GLBlockLayout layout = this;
+        int offset = 0;
+        int start = 0;
+        while (true) {
+            int end = key.indexOf('.', start);
+            String segment = key.substring(start, end < 0 ? key.length() : end);
+            int index = 0;
+            int bracket = segment.indexOf('[');
+            if (bracket >= 0 && segment.endsWith("]")) {
+                try {
+                    index = Integer.parseInt(segment.substring(bracket + 1, segment.length() - 1));
+                } catch (NumberFormatException e) {
+                    throw new GLProgramException("Path [" + key + "] has an invalid array index.", e);
+                }
+                segment = segment.substring(0, bracket);
+            }
+            int i = layout.indexOf(segment);
+            if (i < 0) {
+                throw new GLProgramException("Path [" + key + "] does not name a member of the block.");
+            }
+            Member member = layout.members.get(i);
+            if (index < 0 || (index > 0 && index >= member.length)) {
+                throw new GLProgramException("Path [" + key + "] indexes outside of [" + segment + "].");
+            }
+            offset += member.offset + index * member.arrayStride;
+            if (end < 0) {
+                return offset;
+            } else if (member.struct == null) {
+                throw new GLProgramException("Path [" + key + "] selects a member of [" + segment
+                                             + "] which is not a structure.");
+            }
+            layout = member.struct;
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Checks the layout against the offsets and strides of the members of a uniform block reported by the specified
+     * linked program.  Members the program does not use are skipped.
+     *
+     * @param program the linked program.
+     * @param prefix the prefix of the member names, which is the block name followed by a dot if the block has an
+     * instance name, otherwise empty.
+     * @throws GLProgramException if a member is not where the layout places it.
+     */
+    public void verify(GLProgram program, CharSequence prefix) {
+        verify(program, prefix.toString(), 0, false);
+    }
+
+    /**
+     * Checks the layout against the offsets and strides of the members of a shader storage block reported by the
+     * specified linked program.  Members the program does not use are skipped.
+     *
+     * @param program the linked program.
+     * @param prefix the prefix of the member names, which is the block name followed by a dot if the block has an
+     * instance name, otherwise empty.
+     * @throws GLProgramException if a member is not where the layout places it.
+     */
+    public void verifyStorage(GLProgram program, CharSequence prefix) {
+        verify(program, prefix.toString(), 0, true);
+    }
+
+    /**
+     * Checks the members of the layout placed at the specified base offset against the program.
+     *
+     * @param program the linked program.
+     * @param prefix the prefix of the member names.
+     * @param base the byte offset of the layout within the block.
+     * @param storage if the block is a shader storage block.
+     */
+    private void verify(GLProgram program, String prefix, int base, boolean storage) {
+        for (Member member : members) {
+            String name = prefix + member.name;
+            if (member.struct != null) {
+                if (member.length == 0) {
+                    member.struct.verify(program, name + ".", base + member.offset, storage);
+                }
+                for (int i = 0; i < member.length; i++) {
+                    member.struct.verify(program, name + "[" + i + "].", base + member.offset + i * member.arrayStride,
+                                         storage);
+                }
+            } else {
+                String glName = member.length > 0 ? name + "[0]" : name;
+                int[] actual = storage ? queryStorage(program, glName) : queryUniform(program, glName);
+                if (actual == null) {
+                    continue;
+                }
+                int[] expected = {base + member.offset, member.arrayStride, member.matrixStride};
+                if (actual[0] != expected[0] || (member.length > 0 && actual[1] != expected[1])
+                    || (member.matrixStride > 0 && actual[2] != expected[2])) {
+                    throw new GLProgramException("Member [" + name + "] is at offset [" + actual[0] + "] with strides ["
+                                                 + actual[1] + ", " + actual[2] + "] but the layout places it at ["
+                                                 + expected[0] + "] with strides [" + expected[1] + ", "
+                                                 + expected[2] + "].");
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the offset, array stride and matrix stride of a uniform block member, or {@code null} if the program
+     * does not use it.
+     *
+     * @param program the linked program.
+     * @param name the member name.
+     * @return the offset, array stride and matrix stride.
+     */
+    private static int[] queryUniform(GLProgram program, String name) {
+        int index = GL31.glGetUniformIndices(program.getIndex(), name);
+        if (index == GL31.GL_INVALID_INDEX) {
+            return null;
+        }
+        return new int[] {
+                GL31.glGetActiveUniformsi(program.getIndex(), index, GL31.GL_UNIFORM_OFFSET),
+                GL31.glGetActiveUniformsi(program.getIndex(), index, GL31.GL_UNIFORM_ARRAY_STRIDE),
+                GL31.glGetActiveUniformsi(program.getIndex(), index, GL31.GL_UNIFORM_MATRIX_STRIDE)
+        };
+    }
+
+    /**
+     * Returns the offset, array stride and matrix stride of a shader storage block member, or {@code null} if the
+     * program does not use it.
+     *
+     * @param program the linked program.
+     * @param name the member name.
+     * @return the offset, array stride and matrix stride.
+     */
+    private static int[] queryStorage(GLProgram program, String name) {
+        int index = GL43.glGetProgramResourceIndex(program.getIndex(), GL43.GL_BUFFER_VARIABLE, name);
+        if (index == GL31.GL_INVALID_INDEX) {
+            return null;
+        }
+        try (GLMemoryStack stack = GLMemory.stack().push()) {
+            IntBuffer properties = stack.mallocInt(3);
+            properties.put(0, GL43.GL_OFFSET).put(1, GL43.GL_ARRAY_STRIDE).put(2, GL43.GL_MATRIX_STRIDE);
+            IntBuffer length = stack.mallocInt(1);
+            IntBuffer values = stack.mallocInt(3);
+            GL43.glGetProgramResourceiv(program.getIndex(), GL43.GL_BUFFER_VARIABLE, index, properties, length,
+                                        values);
+            return new int[] {values.get(0), values.get(1), values.get(2)};
+        }
+    }
+
+    /**
+     * Rounds the specified value up to the specified power-of-two alignment.
+     *
+     * @param value the value.
+     * @param alignment the alignment.
+     * @return the aligned value.
+     */
+    private static int align(int value, int alignment) {
+        return (value + alignment - 1) & -alignment;
+    }
+
+
+    /**
+     * A member of the layout.
+     */
+    private static final class Member {
+
+        /** The member name. */
+        private final String name;
+
+        /** The member type, or {@code null} for a structure. */
+        private final GLUniformType type;
+
+        /** The structure layout, or {@code null} for a type. */
+        private final GLBlockLayout struct;
+
+        /** The array length, or {@code 0} if the member is not an array. */
+        private final int length;
+
+        /** The byte offset of the member. */
+        private final int offset;
+
+        /** The byte stride between array elements. */
+        private final int arrayStride;
+
+        /** The byte stride between matrix columns. */
+        private final int matrixStride;
+
+        /**
+         * Constructs a Member instance.
+         *
+         * @param name the member name.
+         * @param type the member type, or {@code null} for a structure.
+         * @param struct the structure layout, or {@code null} for a type.
+         * @param length the array length, or {@code 0} if the member is not an array.
+         * @param offset the byte offset of the member.
+         * @param arrayStride the byte stride between array elements.
+         * @param matrixStride the byte stride between matrix columns.
+         */
+        private Member(String name, GLUniformType type, GLBlockLayout struct, int length, int offset, int arrayStride,
+                       int matrixStride) {
+            this.name = name;
+            this.type = type;
+            this.struct = struct;
+            this.length = length;
+            this.offset = offset;
+            this.arrayStride = arrayStride;
+            this.matrixStride = matrixStride;
+        }
+    }
+}
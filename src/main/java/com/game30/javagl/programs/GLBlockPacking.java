@@ -0,0 +1,48 @@
+package com.game30.javagl.programs;
+
+/**
+ * An enumeration of the standard memory layouts of GLSL interface blocks.  The layouts differ only in how arrays and
+ * structures are aligned.
+ *
+ * @author Brian Norman
+ * @see <a href="https://www.opengl.org/wiki/Interface_Block_(GLSL)#Memory_layout">Memory layout on OpenGL wiki</a>
+ * @since 1.0.0
+ */
+public enum GLBlockPacking {
+
+    /**
+     * The layout usable by both uniform and shader storage blocks.  The alignment of arrays, matrix columns and
+     * structures is rounded up to the alignment of a vec4, so an array of floats uses 16 bytes per element.
+     */
+    Std140() {
+        @Override
+        int roundAlignment(int alignment) {
+            return (alignment + VEC4_ALIGNMENT - 1) & -VEC4_ALIGNMENT;
+        }
+    },
+
+    /**
+     * The layout only usable by shader storage blocks.  Arrays, matrix columns and structures keep the alignment of
+     * their elements, so an array of floats is tightly packed.
+     */
+    Std430() {
+        @Override
+        int roundAlignment(int alignment) {
+            return alignment;
+        }
+    },
+
+    // End of enumeration
+    ;
+
+    /** The byte alignment of a vec4. */
+    private static final int VEC4_ALIGNMENT = 16;
+
+    /**
+     * Returns the alignment of an array element, matrix column or structure whose members have the specified alignment.
+     *
+     * @param alignment the alignment of the element.
+     * @return the rounded alignment.
+     */
+    abstract int roundAlignment(int alignment);
+}
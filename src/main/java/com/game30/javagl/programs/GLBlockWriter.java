@@ -0,0 +1,334 @@
+package com.game30.javagl.programs;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A GLBlockWriter writes values into memory laid out by a {@link GLBlockLayout}.  The memory can hold several blocks
+ * back to back, such as the per-object data of a shader storage buffer, and {@link #select(int)} chooses which block
+ * offsets are relative to.  Values are written with absolute puts at byte offsets from {@link
+ * GLBlockLayout#getOffset(CharSequence)}, so writing never allocates.  The offsets can be looked up once and reused for
+ * every block.
+ *
+ * <p>The memory is usually either client memory which is then written to a buffer, or the memory of a {@link
+ * com.game30.javagl.buffers.GLBufferMapping}, in which case the values are written straight into the buffer.
+ *
+ * @author Brian Norman
+ * @since 1.0.0
+ */
+public class GLBlockWriter {
+
+    /** The layout of each block. */
+    private final GLBlockLayout layout;
+
+    /** The memory written to, in native byte order. */
+    private final ByteBuffer data;
+
+    /** The byte index of the selected block. */
+    private int base;
+
+    /**
+     * Constructs a GLBlockWriter instance which writes blocks of the specified layout into the specified memory
+     * starting at its position.
+     *
+     * @param layout the layout of each block.
+     * @param data the memory to write to.
+     */
+    public GLBlockWriter(GLBlockLayout layout, ByteBuffer data) {
+        this.layout = layout;
+        this.data = data.slice().order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Returns the layout of each block.
+     *
+     * @return the block layout.
+     */
+    public GLBlockLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Returns the number of whole blocks which fit in the memory.
+     *
+     * @return the block count.
+     */
+    public int getCount() {
+        return data.capacity() / layout.getSize();
+    }
+
+    /**
+     * Selects the block at the specified position, which offsets of later writes are relative to.
+     *
+     * @param block the block position.
+     * @return this writer.
+     */
+    public GLBlockWriter select(int block) {
+        if (block < 0 || block >= getCount()) {
+            throw new GLProgramException("Block [" + block + "] is outside of [" + getCount() + "] blocks.");
+        }
+        base = block * layout.getSize();
+        return this;
+    }
+
+    /**
+     * Writes an int or uint scalar.
+     *
+     * @param offset the byte offset of the member.
+     * @param x the value.
+     * @return this writer.
+     */
+    public GLBlockWriter putInt(int offset, int x) {
+        data.putInt(base + offset, x);
+        return this;
+    }
+
+    /**
+     * Writes an ivec2 or uvec2.
+     *
+     * @param offset the byte offset of the member.
+     * @param x the first component.
+     * @param y the second component.
+     * @return this writer.
+     */
+    public GLBlockWriter putInt(int offset, int x, int y) {
+        int index = base + offset;
+        data.putInt(index, x).putInt(index + 4, y);
+        return this;
+    }
+
+    /**
+     * Writes an ivec3 or uvec3.
+     *
+     * @param offset the byte offset of the member.
+     * @param x the first component.
+     * @param y the second component.
+     * @param z the third component.
+     * @return this writer.
+     */
+    public GLBlockWriter putInt(int offset, int x, int y, int z) {
+        int index = base + offset;
+        data.putInt(index, x).putInt(index + 4, y).putInt(index + 8, z);
+        return this;
+    }
+
+    /**
+     * Writes an ivec4 or uvec4.
+     *
+     * @param offset the byte offset of the member.
+     * @param x the first component.
+     * @param y the second component.
+     * @param z the third component.
+     * @param w the fourth component.
+     * @return this writer.
+     */
+    public GLBlockWriter putInt(int offset, int x, int y, int z, int w) {
+        int index = base + offset;
+        data.putInt(index, x).putInt(index + 4, y).putInt(index + 8, z).putInt(index + 12, w);
+        return this;
+    }
+
+    /**
+     * Writes a float scalar.
+     *
+     * @param offset the byte offset of the member.
+     * @param x the value.
+     * @return this writer.
+     */
+    public GLBlockWriter putFloat(int offset, float x) {
+        data.putFloat(base + offset, x);
+        return this;
+    }
+
+    /**
+     * Writes a vec2.
+     *
+     * @param offset the byte offset of the member.
+     * @param x the first component.
+     * @param y the second component.
+     * @return this writer.
+     */
+    public GLBlockWriter putFloat(int offset, float x, float y) {
+        int index = base + offset;
+        data.putFloat(index, x).putFloat(index + 4, y);
+        return this;
+    }
+
+    /**
+     * Writes a vec3.
+     *
+     * @param offset the byte offset of the member.
+     * @param x the first component.
+     * @param y the second component.
+     * @param z the third component.
+     * @return this writer.
+     */
+    public GLBlockWriter putFloat(int offset, float x, float y, float z) {
+        int index = base + offset;
+        data.putFloat(index, x).putFloat(index + 4, y).putFloat(index + 8, z);
+        return this;
+    }
+
+    /**
+     * Writes a vec4.
+     *
+     * @param offset the byte offset of the member.
+     * @param x the first component.
+     * @param y the second component.
+     * @param z the third component.
+     * @param w the fourth component.
+     * @return this writer.
+     */
+    public GLBlockWriter putFloat(int offset, float x, float y, float z, float w) {
+        int index = base + offset;
+        data.putFloat(index, x).putFloat(index + 4, y).putFloat(index + 8, z).putFloat(index + 12, w);
+        return this;
+    }
+
+    /**
+     * Writes a double scalar.
+     *
+     * @param offset the byte offset of the member.
+     * @param x the value.
+     * @return this writer.
+     */
+    public GLBlockWriter putDouble(int offset, double x) {
+        data.putDouble(base + offset, x);
+        return this;
+    }
+
+    /**
+     * Writes a dvec2.
+     *
+     * @param offset the byte offset of the member.
+     * @param x the first component.
+     * @param y the second component.
+     * @return this writer.
+     */
+    public GLBlockWriter putDouble(int offset, double x, double y) {
+        int index = base + offset;
+        data.putDouble(index, x).putDouble(index + 8, y);
+        return this;
+    }
+
+    /**
+     * Writes a dvec3.
+     *
+     * @param offset the byte offset of the member.
+     * @param x the first component.
+     * @param y the second component.
+     * @param z the third component.
+     * @return this writer.
+     */
+    public GLBlockWriter putDouble(int offset, double x, double y, double z) {
+        int index = base + offset;
+        data.putDouble(index, x).putDouble(index + 8, y).putDouble(index + 16, z);
+        return this;
+    }
+
+    /**
+     * Writes a dvec4.
+     *
+     * @param offset the byte offset of the member.
+     * @param x the first component.
+     * @param y the second component.
+     * @param z the third component.
+     * @param w the fourth component.
+     * @return this writer.
+     */
+    public GLBlockWriter putDouble(int offset, double x, double y, double z, double w) {
+        int index = base + offset;
+        data.putDouble(index, x).putDouble(index + 8, y).putDouble(index + 16, z).putDouble(index + 24, w);
+        return this;
+    }
+
+    /**
+     * Writes consecutive elements of an array of int or uint scalars or vectors.
+     *
+     * @param offset the byte offset of the first element to write.
+     * @param arrayStride the byte stride between elements.
+     * @param components the number of components per element.
+     * @param values the components of the elements.
+     * @return this writer.
+     */
+    public GLBlockWriter putInts(int offset, int arrayStride, int components, int[] values) {
+        for (int i = 0, index = base + offset; i < values.length; i += components, index += arrayStride) {
+            for (int c = 0; c < components; c++) {
+                data.putInt(index + (c << 2), values[i + c]);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes consecutive elements of an array of float scalars or vectors.
+     *
+     * @param offset the byte offset of the first element to write.
+     * @param arrayStride the byte stride between elements.
+     * @param components the number of components per element.
+     * @param values the components of the elements.
+     * @return this writer.
+     */
+    public GLBlockWriter putFloats(int offset, int arrayStride, int components, float[] values) {
+        for (int i = 0, index = base + offset; i < values.length; i += components, index += arrayStride) {
+            for (int c = 0; c < components; c++) {
+                data.putFloat(index + (c << 2), values[i + c]);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes consecutive elements of an array of double scalars or vectors.
+     *
+     * @param offset the byte offset of the first element to write.
+     * @param arrayStride the byte stride between elements.
+     * @param components the number of components per element.
+     * @param values the components of the elements.
+     * @return this writer.
+     */
+    public GLBlockWriter putDoubles(int offset, int arrayStride, int components, double[] values) {
+        for (int i = 0, index = base + offset; i < values.length; i += components, index += arrayStride) {
+            for (int c = 0; c < components; c++) {
+                data.putDouble(index + (c << 3), values[i + c]);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes a float matrix given in column-major order, spreading its columns by the column stride of the layout.
+     *
+     * @param offset the byte offset of the member.
+     * @param type the matrix type.
+     * @param values the matrix components in column-major order.
+     * @return this writer.
+     */
+    public GLBlockWriter putMatrix(int offset, GLUniformType type, float[] values) {
+        return putFloats(offset, getMatrixStride(type), type.getRows(), values);
+    }
+
+    /**
+     * Writes a double matrix given in column-major order, spreading its columns by the column stride of the layout.
+     *
+     * @param offset the byte offset of the member.
+     * @param type the matrix type.
+     * @param values the matrix components in column-major order.
+     * @return this writer.
+     */
+    public GLBlockWriter putMatrix(int offset, GLUniformType type, double[] values) {
+        return putDoubles(offset, getMatrixStride(type), type.getRows(), values);
+    }
+
+    /**
+     * Returns the byte stride between the columns of a matrix of the specified type in the layout.
+     *
+     * @param type the matrix type.
+     * @return the column stride.
+     */
+    private int getMatrixStride(GLUniformType type) {
+        int rows = type.getRows();
+        int component = type.getComponentSize();
+        return layout.getPacking().roundAlignment(rows == 2 ? 2 * component : 4 * component);
+    }
+}
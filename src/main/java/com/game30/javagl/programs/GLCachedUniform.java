@@ -0,0 +1,37 @@
+package com.game30.javagl.programs;
+
+import java.nio.Buffer;
+
+/**
+ * A {@link GLUniform} whose writes go through a {@link GLUniformCache}, so writing the value it already has is skipped.
+ *
+ * @author Brian Norman
+ * @since 1.0.0
+ */
+public class GLCachedUniform extends GLUniformBase {
+
+    /** The cache of the program of the uniform. */
+    private final GLUniformCache cache;
+
+    /**
+     * Constructs a GLCachedUniform instance with the specified cache, index and name.
+     *
+     * @param cache the cache of the program of the uniform.
+     * @param index the uniform index.
+     * @param name the uniform name.
+     */
+    protected GLCachedUniform(GLUniformCache cache, int index, CharSequence name) {
+        super(index, name);
+        this.cache = cache;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The write is skipped if the uniform is known to have the value already.
+     */
+    @Override
+    public void write(Buffer data) {
+        cache.write(this, data);
+    }
+}
@@ -0,0 +1,65 @@
+package com.game30.javagl.programs;
+
+import org.lwjgl.opengl.GL30;
+
+import com.game30.javagl.GLMagicInteger;
+import com.game30.javagl.GLMagicIntegerException;
+
+/**
+ * An enumeration of how the varyings captured by transform feedback are laid out in the capture buffers.
+ *
+ * @author Brian Norman
+ * @see <a href="https://www.opengl.org/wiki/Transform_Feedback">Transform Feedback on OpenGL wiki</a>
+ * @since 1.0.0
+ */
+public enum GLFeedbackMode implements GLMagicInteger {
+
+    /**
+     * Every varying is written interleaved into the buffer at capture binding zero, in the order they were declared.
+     */
+    Interleaved(GL30.GL_INTERLEAVED_ATTRIBS),
+
+    /**
+     * Each varying is written into the buffer at the capture binding of its position in the declaration.
+     */
+    Separate(GL30.GL_SEPARATE_ATTRIBS),
+
+    // End of enumeration
+    ;
+
+    /**
+     * Returns the GLFeedbackMode that corresponds to the specified OpenGL magic integer.
+     *
+     * @param glInt the feedback mode magic integer.
+     * @return the corresponding GLFeedbackMode.
+     * @throws GLMagicIntegerException if the specified magic integer does not match a enumeration instance.
+     */
+    public static GLFeedbackMode fromGLInt(int glInt) throws GLMagicIntegerException {
+        // While it may not be the most elegant, switch is definitely the fastest.
+        switch (glInt) {
+            case GL30.GL_INTERLEAVED_ATTRIBS:
+                return GLFeedbackMode.Interleaved;
+            case GL30.GL_SEPARATE_ATTRIBS:
+                return GLFeedbackMode.Separate;
+            default:
+                throw new GLMagicIntegerException("Could not match to a GLFeedbackMode.");
+        }
+    }
+
+    /** The OpenGL magic integer of the feedback mode. */
+    private final int glInt;
+
+    /**
+     * Creates a new feedback mode with the specified magic integer.
+     *
+     * @param glInt the feedback mode magic integer.
+     */
+    GLFeedbackMode(int glInt) {
+        this.glInt = glInt;
+    }
+
+    @Override
+    public int glInt() {
+        return glInt;
+    }
+}
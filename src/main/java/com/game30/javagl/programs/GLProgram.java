@@ -4,7 +4,10 @@ import java.util.Collection;
 
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
 
+import com.game30.javagl.GLContextState;
 import com.game30.javagl.GLDeletable;
 
 /**
@@ -37,16 +40,32 @@ public interface GLProgram extends GLSLObject {
     default void delete() {
         if (exists()) {
             GL20.glDeleteProgram(getIndex());
+            GLContextState.current().forgetProgram(getIndex());
         }
     }
 
     /**
-     * TODO
+     * Installs the program as part of the current rendering state.
      *
-     * <p>Default implementation TODO
+     * <p>Default implementation is to use the program through the {@link GLContextState}, which skips the call if the
+     * program is already in use.
      */
     default void use() {
-        GL20.glUseProgram(getIndex());
+        GLContextState.current().useProgram(getIndex());
+    }
+
+    /**
+     * Declares the vertex shader or geometry shader outputs captured by transform feedback, and how they are laid out
+     * in the capture buffers.  The declaration only takes effect when the program is next linked, so it must be made
+     * before {@link #link()}.
+     *
+     * <p>Default implementation is to set the transform feedback varyings of the program.
+     *
+     * @param mode how the varyings are laid out in the capture buffers.
+     * @param varyings the names of the captured outputs, in capture order.
+     */
+    default void setFeedbackVaryings(GLFeedbackMode mode, CharSequence... varyings) {
+        GL30.glTransformFeedbackVaryings(getIndex(), varyings, mode.glInt());
     }
 
     /**
@@ -154,4 +173,15 @@ public interface GLProgram extends GLSLObject {
     }
 
     GLUniform getUniform(CharSequence name);
+
+    default int getUniformBlockIndex(CharSequence name) {
+        int index = GL31.glGetUniformBlockIndex(getIndex(), name);
+        if (index != GL31.GL_INVALID_INDEX) {
+            return index;
+        } else {
+            throw new GLProgramException("Uniform block [" + name + "] does not exist");
+        }
+    }
+
+    GLUniformBlock getUniformBlock(CharSequence name);
 }
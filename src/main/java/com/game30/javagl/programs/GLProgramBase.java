@@ -19,6 +19,7 @@ public class GLProgramBase extends GLSLObjectBase implements GLProgram {
     private final Map<GLShaderStage, GLShader> shaders;
     private final Map<String, GLAttribute> attributes;
     private final Map<String, GLUniform> uniforms;
+    private final Map<String, GLUniformBlock> uniformBlocks;
 
     protected GLProgramBase(GLAttributeFactory attributeFactory, GLUniformFactory uniformFactory) {
         super(GL20.glCreateProgram());
@@ -28,6 +29,7 @@ public class GLProgramBase extends GLSLObjectBase implements GLProgram {
         this.shaders = new EnumMap<>(GLShaderStage.class);
         this.attributes = new HashMap<>();
         this.uniforms = new HashMap<>();
+        this.uniformBlocks = new HashMap<>();
     }
 
     @Override
@@ -76,4 +78,10 @@ public class GLProgramBase extends GLSLObjectBase implements GLProgram {
             }
         });
     }
+
+    @Override
+    public GLUniformBlock getUniformBlock(CharSequence name) {
+        return uniformBlocks.computeIfAbsent(name.toString(),
+                                             n -> new GLUniformBlockBase(this, getUniformBlockIndex(n), n));
+    }
 }
@@ -0,0 +1,83 @@
+package com.game30.javagl.programs;
+
+import org.lwjgl.opengl.GL31;
+
+/**
+ * A GLUniformBlock represents a uniform block of a OpenGL Scripting Language (GLSL) program.  The members of a block
+ * are not set one by one like a {@link GLUniform}, they are read from the range of a uniform buffer bound to the
+ * binding point the block is assigned.  Any number of programs can assign their blocks the same binding point, so data
+ * they share is uploaded once to a single buffer.
+ *
+ * @author Brian Norman
+ * @see <a href="https://www.opengl.org/wiki/Uniform_Buffer_Object">Uniform Buffer Object</a> on the OpenGL wiki
+ * @since 1.0.0
+ */
+public interface GLUniformBlock {
+
+    /**
+     * Returns the GLSL program the uniform block belongs to.
+     *
+     * @return the program.
+     */
+    GLProgram getProgram();
+
+    /**
+     * Returns the index of the uniform block within its program.
+     *
+     * @return the uniform block index.
+     */
+    int getIndex();
+
+    /**
+     * Returns the name of the uniform block.
+     *
+     * @return the uniform block name.
+     */
+    String getName();
+
+    /**
+     * Returns the binding point the uniform block reads its buffer from.
+     *
+     * @return the binding point.
+     */
+    int getBinding();
+
+    /**
+     * Assigns the uniform block the specified binding point, usually allocated from the uniform {@link
+     * com.game30.javagl.buffers.GLBufferBindings} of the {@link com.game30.javagl.GLContextState}.
+     *
+     * @param binding the binding point.
+     */
+    void setBinding(int binding);
+
+    /**
+     * Returns the minimum byte size of the buffer range bound for the uniform block.
+     *
+     * <p>Default implementation is to query OpenGL for the data size of the uniform block.
+     *
+     * @return the data byte size.
+     */
+    default int getDataSize() {
+        return GL31.glGetActiveUniformBlocki(getProgram().getIndex(), getIndex(), GL31.GL_UNIFORM_BLOCK_DATA_SIZE);
+    }
+
+    /**
+     * Checks that the specified layout matches the uniform block as linked.
+     *
+     * <p>Default implementation is to require the layout to be at least the data size of the block, then verify the
+     * layout against the members of the program.
+     *
+     * @param layout the layout data for the block is written with.
+     * @param prefix the prefix of the member names, which is the block name followed by a dot if the block has an
+     * instance name, otherwise empty.
+     * @throws GLProgramException if the layout does not match.
+     * @see GLBlockLayout#verify(GLProgram, CharSequence)
+     */
+    default void verify(GLBlockLayout layout, CharSequence prefix) {
+        if (layout.getSize() < getDataSize()) {
+            throw new GLProgramException("Uniform block [" + getName() + "] needs [" + getDataSize()
+                                         + "] bytes but the layout has [" + layout.getSize() + "].");
+        }
+        layout.verify(getProgram(), prefix);
+    }
+}
@@ -0,0 +1,74 @@
+package com.game30.javagl.programs;
+
+import org.lwjgl.opengl.GL31;
+
+/**
+ * Base class for {@link GLUniformBlock}s.  This keeps the binding point of the block, so assigning the binding point it
+ * already has is skipped.
+ *
+ * @author Brian Norman
+ * @since 1.0.0
+ */
+public class GLUniformBlockBase implements GLUniformBlock {
+
+    /** The marker for a binding point which is not known. */
+    private static final int UNKNOWN = -1;
+
+    /** The program of the uniform block. */
+    private final GLProgram program;
+
+    /** The uniform block index. */
+    private final int index;
+
+    /** The uniform block name. */
+    private final String name;
+
+    /** The binding point of the uniform block. */
+    private int binding;
+
+    /**
+     * Constructs a GLUniformBlockBase instance with the specified program, index and name.
+     *
+     * @param program the program of the uniform block.
+     * @param index the uniform block index.
+     * @param name the uniform block name.
+     */
+    protected GLUniformBlockBase(GLProgram program, int index, CharSequence name) {
+        this.program = program;
+        this.index = index;
+        this.name = name.toString();
+        this.binding = UNKNOWN;
+    }
+
+    @Override
+    public GLProgram getProgram() {
+        return program;
+    }
+
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getBinding() {
+        if (binding == UNKNOWN) {
+            binding = GL31.glGetActiveUniformBlocki(program.getIndex(), index, GL31.GL_UNIFORM_BLOCK_BINDING);
+        }
+        return binding;
+    }
+
+    @Override
+    public void setBinding(int binding) {
+        if (this.binding != binding) {
+            GL31.glUniformBlockBinding(program.getIndex(), index, binding);
+            this.binding = binding;
+        }
+    }
+
+}
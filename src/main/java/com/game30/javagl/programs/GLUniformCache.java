@@ -0,0 +1,244 @@
+package com.game30.javagl.programs;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import com.game30.javagl.memory.GLMemory;
+
+/**
+ * A GLUniformCache keeps a shadow copy of the uniform values of one program, so that writing a uniform the value it
+ * already has is skipped instead of costing a call into the driver.  Material and light uniforms often keep their
+ * values for many frames, and every redundant write skipped saves both the native call and the validation the driver
+ * does on it.
+ *
+ * <p>The values are kept in a single block of off-heap memory.  Each uniform location is given its own slot of the
+ * block the first time it is written, and each write is compared bit for bit with the slot.  Uniforms of a program are
+ * routed through the cache by creating the program with {@link #getUniformFactory()}, whose uniforms write through
+ * {@link #write(GLUniform, Buffer)}.  As with any uniform write, the program must be in use.
+ *
+ * <p>Linking a program resets its uniforms, so {@link #invalidate()} must be called after the program is relinked.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLUniformCache implements AutoCloseable {
+
+    /** The initial byte size of the shadow block. */
+    private static final int INITIAL_SIZE = 256;
+
+    /** The byte alignment of each slot, which suits every component type. */
+    private static final int SLOT_ALIGNMENT = 8;
+
+    /** The marker for a location without a slot. */
+    private static final int NO_SLOT = -1;
+
+    /** The shadow copy of the uniform values in native byte order. */
+    private ByteBuffer shadow;
+
+    /** The number of bytes used by slots. */
+    private int used;
+
+    /** The byte offset of the slot of each location. */
+    private int[] offsets;
+
+    /** The byte size of the slot of each location. */
+    private int[] sizes;
+
+    /** If the slot of each location holds the value OpenGL has. */
+    private boolean[] known;
+
+    /** The number of writes skipped. */
+    private long hits;
+
+    /** The number of writes made. */
+    private long misses;
+
+    /**
+     * Constructs an empty GLUniformCache instance.
+     */
+    public GLUniformCache() {
+        this.shadow = GLMemory.allocate(INITIAL_SIZE);
+        shadow.clear();
+        this.offsets = new int[0];
+        this.sizes = new int[0];
+        this.known = new boolean[0];
+    }
+
+    /**
+     * Returns a uniform factory whose uniforms write through this cache.
+     *
+     * @return the caching uniform factory.
+     */
+    public GLUniformFactory getUniformFactory() {
+        return (index, name) -> new GLCachedUniform(this, index, name);
+    }
+
+    /**
+     * Returns the number of writes which were skipped because the uniform already had the value.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of writes which were made because the value changed or was not known.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Writes the remaining data to the specified uniform of the program in use, unless the uniform is known to have
+     * that value already.  The position of the data is not changed.
+     *
+     * @param uniform the uniform to write.
+     * @param data data to write.
+     * @return {@code true} if the value was written, {@code false} if the write was skipped.
+     */
+    public boolean write(GLUniform uniform, Buffer data) {
+        GLUniformType type = uniform.getType();
+        if (data.remaining() != type.getSize()) {
+            throw new GLUniformException("Remaining data in data buffer does not match needed data for " + uniform);
+        }
+        if (!(data instanceof FloatBuffer) && !(data instanceof IntBuffer) && !(data instanceof DoubleBuffer)) {
+            throw new GLUniformException("Cannot write a [" + data.getClass().getSimpleName() + "] to " + uniform);
+        }
+        int location = uniform.getIndex();
+        int offset = slot(location, type.getSize() * type.getComponentSize());
+        if (known[location] && matches(offset, data)) {
+            hits++;
+            return false;
+        }
+
+        known[location] = false;
+        type.writeUniform(location, data);
+        store(offset, data);
+        known[location] = true;
+        misses++;
+        return true;
+    }
+
+    /**
+     * Forgets every shadowed value, so the next write of each uniform is made.  This must be called after the program
+     * was relinked or its uniforms were written by anything other than this cache.
+     */
+    public void invalidate() {
+        Arrays.fill(known, false);
+    }
+
+    /**
+     * Frees the shadow memory.  The cache cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (shadow != null) {
+            GLMemory.free(shadow);
+            shadow = null;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the remaining data is bit for bit the value in the slot at the specified byte offset.
+     *
+     * @param offset the byte offset of the slot.
+     * @param data the float, int or double data.
+     * @return if the slot holds the data.
+     */
+    private boolean matches(int offset, Buffer data) {
+        int length = data.remaining();
+        int start = data.position();
+        if (data instanceof FloatBuffer) {
+            FloatBuffer values = (FloatBuffer) data;
+            for (int i = 0; i < length; i++) {
+                if (shadow.getInt(offset + (i << 2)) != Float.floatToRawIntBits(values.get(start + i))) {
+                    return false;
+                }
+            }
+        } else if (data instanceof IntBuffer) {
+            IntBuffer values = (IntBuffer) data;
+            for (int i = 0; i < length; i++) {
+                if (shadow.getInt(offset + (i << 2)) != values.get(start + i)) {
+                    return false;
+                }
+            }
+        } else {
+            DoubleBuffer values = (DoubleBuffer) data;
+            for (int i = 0; i < length; i++) {
+                if (shadow.getLong(offset + (i << 3)) != Double.doubleToRawLongBits(values.get(start + i))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the remaining data into the slot at the specified byte offset.
+     *
+     * @param offset the byte offset of the slot.
+     * @param data the float, int or double data.
+     */
+    private void store(int offset, Buffer data) {
+        int length = data.remaining();
+        int start = data.position();
+        if (data instanceof FloatBuffer) {
+            FloatBuffer values = (FloatBuffer) data;
+            for (int i = 0; i < length; i++) {
+                shadow.putInt(offset + (i << 2), Float.floatToRawIntBits(values.get(start + i)));
+            }
+        } else if (data instanceof IntBuffer) {
+            IntBuffer values = (IntBuffer) data;
+            for (int i = 0; i < length; i++) {
+                shadow.putInt(offset + (i << 2), values.get(start + i));
+            }
+        } else {
+            DoubleBuffer values = (DoubleBuffer) data;
+            for (int i = 0; i < length; i++) {
+                shadow.putLong(offset + (i << 3), Double.doubleToRawLongBits(values.get(start + i)));
+            }
+        }
+    }
+
+    /**
+     * Returns the byte offset of the slot of the specified location, giving it a slot of the specified byte size if it
+     * has none or its slot is too small, such as after its type was changed.
+     *
+     * @param location the uniform location.
+     * @param byteSize the byte size of the uniform value.
+     * @return the byte offset of the slot.
+     */
+    private int slot(int location, int byteSize) {
+        if (location >= offsets.length) {
+            int length = Math.max(location + 1, offsets.length << 1);
+            int from = offsets.length;
+            offsets = Arrays.copyOf(offsets, length);
+            sizes = Arrays.copyOf(sizes, length);
+            known = Arrays.copyOf(known, length);
+            Arrays.fill(offsets, from, length, NO_SLOT);
+        }
+        if (offsets[location] == NO_SLOT || sizes[location] < byteSize) {
+            int size = (byteSize + SLOT_ALIGNMENT - 1) & -SLOT_ALIGNMENT;
+            if (used + size > shadow.capacity()) {
+                ByteBuffer grown = GLMemory.allocate(Math.max(used + size, shadow.capacity() << 1));
+                shadow.clear().limit(used);
+                grown.put(shadow).clear();
+                GLMemory.free(shadow);
+                shadow = grown;
+            }
+            offsets[location] = used;
+            sizes[location] = size;
+            known[location] = false;
+            used += size;
+        }
+        return offsets[location];
+    }
+}
@@ -25,7 +25,7 @@ public enum GLUniformType {
     /**
      * An integer array uniform type of length 1.
      */
-    Integer(1) {
+    Integer(1, 1, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL20.glUniform1iv(position, (IntBuffer) data);
@@ -35,7 +35,7 @@ public enum GLUniformType {
     /**
      * An integer array uniform type of length 2.
      */
-    Integer2(2) {
+    Integer2(1, 2, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL20.glUniform2iv(position, (IntBuffer) data);
@@ -45,7 +45,7 @@ public enum GLUniformType {
     /**
      * An integer array uniform type of length 3.
      */
-    Integer3(3) {
+    Integer3(1, 3, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL20.glUniform3iv(position, (IntBuffer) data);
@@ -55,7 +55,7 @@ public enum GLUniformType {
     /**
      * An integer array uniform type of length 4.
      */
-    Integer4(4) {
+    Integer4(1, 4, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL20.glUniform4iv(position, (IntBuffer) data);
@@ -65,7 +65,7 @@ public enum GLUniformType {
     /**
      * An unsigned integer array uniform type of length 1.
      */
-    UnsignedInteger(1) {
+    UnsignedInteger(1, 1, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL30.glUniform1uiv(position, (IntBuffer) data);
@@ -75,7 +75,7 @@ public enum GLUniformType {
     /**
      * An unsigned integer array uniform type of length 2.
      */
-    UnsignedInteger2(2) {
+    UnsignedInteger2(1, 2, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL30.glUniform2uiv(position, (IntBuffer) data);
@@ -85,7 +85,7 @@ public enum GLUniformType {
     /**
      * An unsigned integer array uniform type of length 3.
      */
-    UnsignedInteger3(3) {
+    UnsignedInteger3(1, 3, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL30.glUniform3uiv(position, (IntBuffer) data);
@@ -95,7 +95,7 @@ public enum GLUniformType {
     /**
      * An unsigned integer array uniform type of length 4.
      */
-    UnsignedInteger4(4) {
+    UnsignedInteger4(1, 4, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL30.glUniform4uiv(position, (IntBuffer) data);
@@ -105,7 +105,7 @@ public enum GLUniformType {
     /**
      * A float array uniform type of length 1.
      */
-    Float(1) {
+    Float(1, 1, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL20.glUniform1fv(position, (FloatBuffer) data);
@@ -115,7 +115,7 @@ public enum GLUniformType {
     /**
      * A float array uniform type of length 2.
      */
-    Float2(2) {
+    Float2(1, 2, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL20.glUniform2fv(position, (FloatBuffer) data);
@@ -125,7 +125,7 @@ public enum GLUniformType {
     /**
      * A float array uniform type of length 3.
      */
-    Float3(3) {
+    Float3(1, 3, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL20.glUniform3fv(position, (FloatBuffer) data);
@@ -135,7 +135,7 @@ public enum GLUniformType {
     /**
      * A float array uniform type of length 4.
      */
-    Float4(4) {
+    Float4(1, 4, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL20.glUniform4fv(position, (FloatBuffer) data);
@@ -145,7 +145,7 @@ public enum GLUniformType {
     /**
      * A float square matrix uniform type of size 2 by 2.
      */
-    FloatMatrix2(4) {
+    FloatMatrix2(2, 2, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL20.glUniformMatrix2fv(position, false, (FloatBuffer) data);
@@ -155,7 +155,7 @@ public enum GLUniformType {
     /**
      * A float square matrix uniform type of size 3 by 3.
      */
-    FloatMatrix3(9) {
+    FloatMatrix3(3, 3, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL20.glUniformMatrix3fv(position, false, (FloatBuffer) data);
@@ -165,7 +165,7 @@ public enum GLUniformType {
     /**
      * A float square matrix uniform type of size 4 by 4.
      */
-    FloatMatrix4(16) {
+    FloatMatrix4(4, 4, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL20.glUniformMatrix4fv(position, false, (FloatBuffer) data);
@@ -175,7 +175,7 @@ public enum GLUniformType {
     /**
      * A float matrix uniform type of size 2 by 3.
      */
-    FloatMatrix2x3(6) {
+    FloatMatrix2x3(2, 3, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL21.glUniformMatrix2x3fv(position, false, (FloatBuffer) data);
@@ -185,7 +185,7 @@ public enum GLUniformType {
     /**
      * A float matrix uniform type of size 3 by 2.
      */
-    FloatMatrix3x2(6) {
+    FloatMatrix3x2(3, 2, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL21.glUniformMatrix3x2fv(position, false, (FloatBuffer) data);
@@ -195,7 +195,7 @@ public enum GLUniformType {
     /**
      * A float matrix uniform type of size 2 by 4.
      */
-    FloatMatrix2x4(8) {
+    FloatMatrix2x4(2, 4, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL21.glUniformMatrix2x4fv(position, false, (FloatBuffer) data);
@@ -205,7 +205,7 @@ public enum GLUniformType {
     /**
      * A float matrix uniform type of size 4 by 2.
      */
-    FloatMatrix4x2(8) {
+    FloatMatrix4x2(4, 2, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL21.glUniformMatrix4x2fv(position, false, (FloatBuffer) data);
@@ -215,7 +215,7 @@ public enum GLUniformType {
     /**
      * A float matrix uniform type of size 3 by 4.
      */
-    FloatMatrix3x4(12) {
+    FloatMatrix3x4(3, 4, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL21.glUniformMatrix3x4fv(position, false, (FloatBuffer) data);
@@ -225,7 +225,7 @@ public enum GLUniformType {
     /**
      * A float matrix uniform type of size 4 by 3.
      */
-    FloatMatrix4x3(12) {
+    FloatMatrix4x3(4, 3, 4) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL21.glUniformMatrix4x3fv(position, false, (FloatBuffer) data);
@@ -235,7 +235,7 @@ public enum GLUniformType {
     /**
      * A double array uniform type of length 1.
      */
-    Double(1) {
+    Double(1, 1, 8) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL40.glUniform1dv(position, (DoubleBuffer) data);
@@ -245,7 +245,7 @@ public enum GLUniformType {
     /**
      * A double array uniform type of length 2.
      */
-    Double2(2) {
+    Double2(1, 2, 8) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL40.glUniform2dv(position, (DoubleBuffer) data);
@@ -255,7 +255,7 @@ public enum GLUniformType {
     /**
      * A double array uniform type of length 3.
      */
-    Double3(3) {
+    Double3(1, 3, 8) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL40.glUniform3dv(position, (DoubleBuffer) data);
@@ -265,7 +265,7 @@ public enum GLUniformType {
     /**
      * A double array uniform type of length 4.
      */
-    Double4(4) {
+    Double4(1, 4, 8) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL40.glUniform4dv(position, (DoubleBuffer) data);
@@ -275,7 +275,7 @@ public enum GLUniformType {
     /**
      * A double square matrix uniform type of size 2 by 2.
      */
-    DoubleMatrix2(4) {
+    DoubleMatrix2(2, 2, 8) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL40.glUniformMatrix2dv(position, false, (DoubleBuffer) data);
@@ -285,7 +285,7 @@ public enum GLUniformType {
     /**
      * A double square matrix uniform type of size 3 by 3.
      */
-    DoubleMatrix3(16) {
+    DoubleMatrix3(3, 3, 8) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL40.glUniformMatrix3dv(position, false, (DoubleBuffer) data);
@@ -295,7 +295,7 @@ public enum GLUniformType {
     /**
      * A double square matrix uniform type of size 4 by 4.
      */
-    DoubleMatrix4(16) {
+    DoubleMatrix4(4, 4, 8) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL40.glUniformMatrix4dv(position, false, (DoubleBuffer) data);
@@ -305,7 +305,7 @@ public enum GLUniformType {
     /**
      * A double square matrix uniform type of size 2 by 3.
      */
-    DoubleMatrix2x3(6) {
+    DoubleMatrix2x3(2, 3, 8) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL40.glUniformMatrix2x3dv(position, false, (DoubleBuffer) data);
@@ -315,7 +315,7 @@ public enum GLUniformType {
     /**
      * A double square matrix uniform type of size 3 by 2.
      */
-    DoubleMatrix3x2(6) {
+    DoubleMatrix3x2(3, 2, 8) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL40.glUniformMatrix3x2dv(position, false, (DoubleBuffer) data);
@@ -325,7 +325,7 @@ public enum GLUniformType {
     /**
      * A double square matrix uniform type of size 2 by 4.
      */
-    DoubleMatrix2x4(8) {
+    DoubleMatrix2x4(2, 4, 8) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL40.glUniformMatrix2x4dv(position, false, (DoubleBuffer) data);
@@ -335,7 +335,7 @@ public enum GLUniformType {
     /**
      * A double square matrix uniform type of size 4 by 2.
      */
-    DoubleMatrix4x2(8) {
+    DoubleMatrix4x2(4, 2, 8) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL40.glUniformMatrix4x2dv(position, false, (DoubleBuffer) data);
@@ -345,7 +345,7 @@ public enum GLUniformType {
     /**
      * A double square matrix uniform type of size 3 by 4.
      */
-    DoubleMatrix3x4(12) {
+    DoubleMatrix3x4(3, 4, 8) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL40.glUniformMatrix3x4dv(position, false, (DoubleBuffer) data);
@@ -355,7 +355,7 @@ public enum GLUniformType {
     /**
      * A double square matrix uniform type of size 4 by 3.
      */
-    DoubleMatrix4x3(12) {
+    DoubleMatrix4x3(4, 3, 8) {
         @Override
         void writeUniform(int position, Buffer data) {
             GL40.glUniformMatrix4x3dv(position, false, (DoubleBuffer) data);
@@ -365,16 +365,26 @@ public enum GLUniformType {
     // End of enumeration
     ;
 
-    /** The size of the. */
-    private final int size;
+    /** The number of columns of the uniform type, which is {@code 1} for scalars and vectors. */
+    private final int columns;
+
+    /** The number of rows of the uniform type, which is the number of components of scalars and vectors. */
+    private final int rows;
+
+    /** The byte size of a single component of the uniform type. */
+    private final int componentSize;
 
     /**
-     * Creates a new with the specified size.
+     * Creates a new uniform type with the specified shape.
      *
-     * @param size the uniform size.
-     */
-    GLUniformType(int size) {
-        this.size = size;
+     * @param columns the number of columns.
+     * @param rows the number of rows.
+     * @param componentSize the byte size of a component.
+     */
+    GLUniformType(int columns, int rows, int componentSize) {
+        this.columns = columns;
+        this.rows = rows;
+        this.componentSize = componentSize;
     }
 
     /**
@@ -383,7 +393,43 @@ public enum GLUniformType {
      * @return the size of the uniform.
      */
     public int getSize() {
-        return size;
+        return columns * rows;
+    }
+
+    /**
+     * Returns the number of columns of the uniform type.  Scalars and vectors have a single column.
+     *
+     * @return the column count.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the number of rows of the uniform type.  For scalars and vectors this is the number of components.
+     *
+     * @return the row count.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the byte size of a single component of the uniform type.
+     *
+     * @return the component byte size.
+     */
+    public int getComponentSize() {
+        return componentSize;
+    }
+
+    /**
+     * Returns {@code true} if the uniform type is a matrix.
+     *
+     * @return if the type is a matrix.
+     */
+    public boolean isMatrix() {
+        return columns > 1;
     }
 
     /**
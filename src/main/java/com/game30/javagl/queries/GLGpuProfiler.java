@@ -0,0 +1,236 @@
+package com.game30.javagl.queries;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * A GLGpuProfiler measures how much GPU time each part of a frame takes, without ever waiting for the GPU.  Parts of a
+ * frame are marked by named scopes, which can be nested, and the times are gathered into a tree of {@link
+ * GLGpuTiming}s rooted at {@link #getFrame()}, where each node keeps a rolling average.
+ *
+ * <p>Scopes are measured by {@link GLQueryTarget#Timestamp} queries at their start and end, since timer queries cannot
+ * be nested.  The results of a frame are read at the start of a later frame, once the GPU has reached the end of it,
+ * so the tree usually lags a couple of frames behind.  Queries are reused through a {@link GLQueryPool}, so a steady
+ * frame creates no new queries.
+ * <pre>{@code
+ * profiler.beginFrame();
+ * profiler.push("shadows");
+ * ...
+ * profiler.pop();
+ * profiler.endFrame();
+ * }</pre>
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLGpuProfiler {
+
+    /** The default number of frames averaged. */
+    public static final int DEFAULT_WINDOW = 60;
+
+    /** The name of the frame scope. */
+    private static final String FRAME = "frame";
+
+    /** The pool of timestamp queries. */
+    private final GLQueryPool pool;
+
+    /** The scope of the whole frame. */
+    private final GLGpuTiming frame;
+
+    /** The frames waiting for their results, oldest first. */
+    private final Deque<Frame> pending;
+
+    /** The frames which can be reused. */
+    private final Deque<Frame> free;
+
+    /** The frame being recorded, or {@code null} between frames. */
+    private Frame recording;
+
+    /** The open scopes of the frame being recorded. */
+    private int[] stack;
+
+    /** The number of open scopes. */
+    private int depth;
+
+    /**
+     * Constructs a GLGpuProfiler instance with its own query pool and the default window.
+     */
+    public GLGpuProfiler() {
+        this(new GLQueryPool(), DEFAULT_WINDOW);
+    }
+
+    /**
+     * Constructs a GLGpuProfiler instance with the specified query pool and window.
+     *
+     * @param pool the pool of timestamp queries.
+     * @param window the number of frames averaged.
+     */
+    public GLGpuProfiler(GLQueryPool pool, int window) {
+        if (window <= 0) {
+            throw new GLQueryException("Window [" + window + "] must be positive.");
+        }
+        this.pool = pool;
+        this.frame = new GLGpuTiming(FRAME, null, window);
+        this.pending = new ArrayDeque<>();
+        this.free = new ArrayDeque<>();
+        this.stack = new int[16];
+    }
+
+    /**
+     * Returns the timing of the whole frame, the root of the timing tree.
+     *
+     * @return the frame timing.
+     */
+    public GLGpuTiming getFrame() {
+        return frame;
+    }
+
+    /**
+     * Returns the number of ended frames whose results have not been read yet.
+     *
+     * @return the pending frame count.
+     */
+    public int getPendingFrames() {
+        return pending.size();
+    }
+
+    /**
+     * Reads the results of every ended frame the GPU has finished, then starts measuring a new frame.
+     */
+    public void beginFrame() {
+        if (recording != null) {
+            throw new GLQueryException("Frame has already begun.");
+        }
+        resolve();
+        recording = free.isEmpty() ? new Frame() : free.pollLast();
+        depth = 0;
+        start(frame);
+    }
+
+    /**
+     * Starts measuring a scope of the specified name, nested in the scope which is currently open.
+     *
+     * @param name the name of the scope.
+     */
+    public void push(String name) {
+        if (recording == null) {
+            throw new GLQueryException("Cannot start scope [" + name + "] outside of a frame.");
+        }
+        start(recording.nodes[stack[depth - 1]].child(name));
+    }
+
+    /**
+     * Stops measuring the scope which is currently open.
+     */
+    public void pop() {
+        if (recording == null || depth <= 1) {
+            throw new GLQueryException("There is no scope to end.");
+        }
+        stop();
+    }
+
+    /**
+     * Stops measuring the frame.  Every scope started within the frame must have been ended.
+     */
+    public void endFrame() {
+        if (recording == null) {
+            throw new GLQueryException("Frame has not begun.");
+        } else if (depth != 1) {
+            throw new GLQueryException("Scope [" + recording.nodes[stack[depth - 1]].getName() + "] was not ended.");
+        }
+        stop();
+        pending.addLast(recording);
+        recording = null;
+    }
+
+    /**
+     * Reads the results of the ended frames the GPU has finished, oldest first, without waiting for the GPU.  A frame
+     * is finished once its last timestamp is available, since timestamps complete in order.
+     */
+    private void resolve() {
+        while (!pending.isEmpty() && pending.peekFirst().ends[0].isResultAvailable()) {
+            Frame resolved = pending.pollFirst();
+            for (int i = 0; i < resolved.count; i++) {
+                resolved.nodes[i].accumulate(resolved.ends[i].getResult() - resolved.starts[i].getResult());
+            }
+            for (int i = 0; i < resolved.count; i++) {
+                resolved.nodes[i].commit();
+                pool.release(resolved.starts[i]);
+                pool.release(resolved.ends[i]);
+            }
+            resolved.clear();
+            free.addLast(resolved);
+        }
+    }
+
+    /**
+     * Opens a scope of the specified timing in the frame being recorded and records its start.
+     *
+     * @param timing the timing of the scope.
+     */
+    private void start(GLGpuTiming timing) {
+        GLQuery query = pool.create(GLQueryTarget.Timestamp);
+        query.record();
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth << 1);
+        }
+        stack[depth++] = recording.add(timing, query);
+    }
+
+    /**
+     * Closes the innermost open scope of the frame being recorded and records its end.
+     */
+    private void stop() {
+        GLQuery query = pool.create(GLQueryTarget.Timestamp);
+        query.record();
+        recording.ends[stack[--depth]] = query;
+    }
+
+    /**
+     * The scopes measured in one frame, in the order they were started.
+     */
+    private static final class Frame {
+
+        /** The timing of each scope. */
+        private GLGpuTiming[] nodes = new GLGpuTiming[16];
+
+        /** The start timestamp of each scope. */
+        private GLQuery[] starts = new GLQuery[16];
+
+        /** The end timestamp of each scope. */
+        private GLQuery[] ends = new GLQuery[16];
+
+        /** The number of scopes. */
+        private int count;
+
+        /**
+         * Adds a scope of the specified timing and start timestamp.
+         *
+         * @param timing the timing of the scope.
+         * @param start the start timestamp.
+         * @return the position of the scope.
+         */
+        private int add(GLGpuTiming timing, GLQuery start) {
+            if (count == nodes.length) {
+                nodes = Arrays.copyOf(nodes, count << 1);
+                starts = Arrays.copyOf(starts, count << 1);
+                ends = Arrays.copyOf(ends, count << 1);
+            }
+            nodes[count] = timing;
+            starts[count] = start;
+            return count++;
+        }
+
+        /**
+         * Removes every scope.
+         */
+        private void clear() {
+            Arrays.fill(nodes, 0, count, null);
+            Arrays.fill(starts, 0, count, null);
+            Arrays.fill(ends, 0, count, null);
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.game30.javagl.queries;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A node of the timing tree built by a {@link GLGpuProfiler}.  Each node is a named scope, nested in the scope it was
+ * started within, and keeps the GPU time of its scope over the last frames it was measured in.  A scope started more
+ * than once in a frame is measured as the sum of each of its times.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLGpuTiming {
+
+    /** The name of the scope. */
+    private final String name;
+
+    /** The enclosing scope, or {@code null} for the frame. */
+    private final GLGpuTiming parent;
+
+    /** The nested scopes by name, in the order they were first started. */
+    private final Map<String, GLGpuTiming> children;
+
+    /** The times in nanoseconds of the last frames, used as a ring. */
+    private final long[] samples;
+
+    /** The number of times recorded, up to the number of samples. */
+    private int sampleCount;
+
+    /** The position of the next time in the ring. */
+    private int sampleIndex;
+
+    /** The sum of the recorded times. */
+    private long sampleSum;
+
+    /** The time measured so far in the frame being resolved. */
+    private long frameNanos;
+
+    /** If the scope was measured in the frame being resolved. */
+    private boolean measured;
+
+    /**
+     * Constructs a GLGpuTiming instance for the specified scope.
+     *
+     * @param name the name of the scope.
+     * @param parent the enclosing scope, or {@code null} for the frame.
+     * @param window the number of frames averaged.
+     */
+    GLGpuTiming(String name, GLGpuTiming parent, int window) {
+        this.name = name;
+        this.parent = parent;
+        this.children = new LinkedHashMap<>();
+        this.samples = new long[window];
+    }
+
+    /**
+     * Returns the name of the scope.
+     *
+     * @return the scope name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the enclosing scope, or {@code null} if this is the frame.
+     *
+     * @return the parent scope.
+     */
+    public GLGpuTiming getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns the nested scopes in the order they were first started.
+     *
+     * @return the child scopes.
+     */
+    public Collection<GLGpuTiming> getChildren() {
+        return Collections.unmodifiableCollection(children.values());
+    }
+
+    /**
+     * Returns the nested scope of the specified name, or {@code null} if it was never started.
+     *
+     * @param name the name of the scope.
+     * @return the child scope.
+     */
+    public GLGpuTiming getChild(String name) {
+        return children.get(name);
+    }
+
+    /**
+     * Returns the number of frames the average is taken over, which grows up to the window of the profiler.
+     *
+     * @return the sample count.
+     */
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Returns the GPU time of the scope in the last frame it was measured in.
+     *
+     * @return the last time in nanoseconds, or {@code 0} if never measured.
+     */
+    public long getLastNanos() {
+        return sampleCount == 0 ? 0 : samples[(sampleIndex + samples.length - 1) % samples.length];
+    }
+
+    /**
+     * Returns the average GPU time of the scope over the last frames it was measured in.
+     *
+     * @return the average time in nanoseconds, or {@code 0} if never measured.
+     */
+    public double getAverageNanos() {
+        return sampleCount == 0 ? 0 : (double) sampleSum / sampleCount;
+    }
+
+    /**
+     * Returns the average GPU time of the scope over the last frames it was measured in.
+     *
+     * @return the average time in milliseconds, or {@code 0} if never measured.
+     */
+    public double getAverageMillis() {
+        return getAverageNanos() / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[name=" + name + ", average=" + getAverageMillis() + "ms]";
+    }
+
+    /**
+     * Returns the nested scope of the specified name, creating it if it was never started.
+     *
+     * @param name the name of the scope.
+     * @return the child scope.
+     */
+    GLGpuTiming child(String name) {
+        GLGpuTiming child = children.get(name);
+        if (child == null) {
+            child = new GLGpuTiming(name, this, samples.length);
+            children.put(name, child);
+        }
+        return child;
+    }
+
+    /**
+     * Adds the specified time to the frame being resolved.
+     *
+     * @param nanos the time in nanoseconds.
+     */
+    void accumulate(long nanos) {
+        frameNanos += nanos;
+        measured = true;
+    }
+
+    /**
+     * Records the time of the frame being resolved, if the scope was measured in it.
+     */
+    void commit() {
+        if (measured) {
+            if (sampleCount == samples.length) {
+                sampleSum -= samples[sampleIndex];
+            } else {
+                sampleCount++;
+            }
+            samples[sampleIndex] = frameNanos;
+            sampleSum += frameNanos;
+            sampleIndex = (sampleIndex + 1) % samples.length;
+            frameNanos = 0;
+            measured = false;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.game30.javagl.queries;
+
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL33;
+
+import com.game30.javagl.GLDeletable;
+import com.game30.javagl.GLIndexed;
+
+/**
+ * A GLQuery is an OpenGL query object, which asks the GPU to measure something about the commands it executes, such as
+ * how long they took.  The GPU runs behind the CPU, so the result is only available some time after the query has
+ * ended.  Results should be checked with {@link #isResultAvailable()} a frame or more later, since {@link
+ * #getResult()} waits for the GPU to catch up.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @see <a href="https://www.opengl.org/wiki/Query_Object">Query Object on OpenGL wiki</a>
+ * @since 1.0.0
+ */
+public interface GLQuery extends GLIndexed, GLDeletable {
+
+    /**
+     * Returns what the query measures.
+     *
+     * @return the query target.
+     */
+    GLQueryTarget getTarget();
+
+    @Override
+    default boolean exists() {
+        return GL15.glIsQuery(getIndex());
+    }
+
+    @Override
+    default void delete() {
+        GL15.glDeleteQueries(getIndex());
+    }
+
+    /**
+     * Starts measuring the commands which follow.  Only one query of each target can be active at a time.
+     *
+     * <p>Default implementation is to begin the query on its target.
+     *
+     * @throws GLQueryException if the query is a {@link GLQueryTarget#Timestamp}, which is recorded instead.
+     */
+    default void begin() {
+        if (getTarget() == GLQueryTarget.Timestamp) {
+            throw new GLQueryException("Query [" + this + "] is a timestamp and must be recorded instead.");
+        }
+        GL15.glBeginQuery(getTarget().glInt(), getIndex());
+    }
+
+    /**
+     * Stops measuring commands.
+     *
+     * <p>Default implementation is to end the active query of the target.
+     */
+    default void end() {
+        GL15.glEndQuery(getTarget().glInt());
+    }
+
+    /**
+     * Records the GPU time once every previous command has completed.
+     *
+     * <p>Default implementation is to record a query counter.
+     *
+     * @throws GLQueryException if the query is not a {@link GLQueryTarget#Timestamp}.
+     */
+    default void record() {
+        if (getTarget() != GLQueryTarget.Timestamp) {
+            throw new GLQueryException("Query [" + this + "] is not a timestamp and must be started instead.");
+        }
+        GL33.glQueryCounter(getIndex(), GL33.GL_TIMESTAMP);
+    }
+
+    /**
+     * Returns {@code true} if the result of the query can be read without waiting for the GPU.
+     *
+     * <p>Default implementation is to query the availability of the result.
+     *
+     * @return if the result is available.
+     */
+    default boolean isResultAvailable() {
+        return GL15.glGetQueryObjecti(getIndex(), GL15.GL_QUERY_RESULT_AVAILABLE) != 0;
+    }
+
+    /**
+     * Returns the result of the query, waiting for the GPU if it is not yet available.  Times are in nanoseconds.
+     *
+     * <p>Default implementation is to query the 64-bit result.
+     *
+     * @return the query result.
+     */
+    default long getResult() {
+        return GL33.glGetQueryObjectui64(getIndex(), GL15.GL_QUERY_RESULT);
+    }
+}
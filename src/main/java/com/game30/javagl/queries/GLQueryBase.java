@@ -0,0 +1,74 @@
+package com.game30.javagl.queries;
+
+import org.lwjgl.opengl.GL15;
+
+import com.game30.javagl.GLIndexed;
+
+/**
+ * Base class for {@link GLQuery}s.  This provides basic index and existence behavior and memory leak protection.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLQueryBase implements GLQuery {
+
+    /** The index of the query. */
+    private final int index;
+
+    /** What the query measures. */
+    private final GLQueryTarget target;
+
+    /** If the query exists. */
+    private boolean exists;
+
+    /**
+     * Constructs a GLQueryBase instance of the specified target.
+     *
+     * @param target what the query measures.
+     */
+    protected GLQueryBase(GLQueryTarget target) {
+        this.index = GL15.glGenQueries();
+        this.target = target;
+        this.exists = (index != GLIndexed.NULL_INDEX);
+    }
+
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public GLQueryTarget getTarget() {
+        return target;
+    }
+
+    @Override
+    public boolean exists() {
+        return exists;
+    }
+
+    @Override
+    public void delete() {
+        GLQuery.super.delete();
+        exists = false;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[index=" + getIndex() + ", target=" + getTarget() + "]";
+    }
+
+    @Override
+    protected void finalize() throws Throwable {
+        // ===== Protection from memory leaks ==== //
+        /* If the JVM is deleting this object and it still exists in OpenGL, this could cause a memory leak.  Delete the
+         * object in OpenGL and log a warning message.
+         */
+        if (exists()) {
+            System.err.println("GLQueryBase::finalize [" + this + "] - Deleted by garbage collection.");
+            delete();
+        }
+        super.finalize();
+    }
+}
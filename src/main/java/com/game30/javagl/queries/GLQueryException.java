@@ -0,0 +1,47 @@
+package com.game30.javagl.queries;
+
+import com.game30.javagl.GLException;
+
+/**
+ * A {@link GLException} specific to query objects and their results.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLQueryException extends GLException {
+
+    /**
+     * Constructs a new OpenGL exception.
+     */
+    public GLQueryException() {
+    }
+
+    /**
+     * Constructs a new exception with the specified message.
+     *
+     * @param message the exception message.
+     */
+    public GLQueryException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new OpenGL exception that wraps the specified cause with the specified message.
+     *
+     * @param message the exception message.
+     * @param cause the exception cause.
+     */
+    public GLQueryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Constructs a new OpenGL exception that wraps the specified cause.
+     *
+     * @param cause the exception cause.
+     */
+    public GLQueryException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,18 @@
+package com.game30.javagl.queries;
+
+/**
+ * A factory interface for {@link GLQuery}s.
+ *
+ * @author Brian Norman
+ * @since 1.0.0
+ */
+public interface GLQueryFactory {
+
+    /**
+     * Creates a new OpenGL query of the specified target.
+     *
+     * @param target what the query measures.
+     * @return a new OpenGL query.
+     */
+    GLQuery create(GLQueryTarget target);
+}
@@ -0,0 +1,15 @@
+package com.game30.javagl.queries;
+
+/**
+ * The base factory implementation for {@link GLQuery}s.
+ *
+ * @author Brian Norman
+ * @since 1.0.0
+ */
+public class GLQueryFactoryBase implements GLQueryFactory {
+
+    @Override
+    public GLQuery create(GLQueryTarget target) {
+        return new GLQueryBase(target);
+    }
+}
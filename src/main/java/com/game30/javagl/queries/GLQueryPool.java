@@ -0,0 +1,106 @@
+package com.game30.javagl.queries;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.game30.javagl.GLDeletable;
+
+/**
+ * A GLQueryPool is a {@link GLQueryFactory} which recycles OpenGL queries.  Queries measuring every frame are needed
+ * again as soon as their results have been read, so instead of being deleted they are given back to the pool with
+ * {@link #release(GLQuery)} and served to the next request for a query of the same target.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLQueryPool implements GLQueryFactory, GLDeletable {
+
+    /** The factory of new queries. */
+    private final GLQueryFactory factory;
+
+    /** The idle queries of each target. */
+    private final Map<GLQueryTarget, Deque<GLQuery>> idle;
+
+    /** If the pool exists. */
+    private boolean exists;
+
+    /**
+     * Constructs a GLQueryPool instance which creates queries with the base factory.
+     */
+    public GLQueryPool() {
+        this(new GLQueryFactoryBase());
+    }
+
+    /**
+     * Constructs a GLQueryPool instance which creates queries with the specified factory.
+     *
+     * @param factory the factory of new queries.
+     */
+    public GLQueryPool(GLQueryFactory factory) {
+        this.factory = factory;
+        this.idle = new EnumMap<>(GLQueryTarget.class);
+        for (GLQueryTarget target : GLQueryTarget.values()) {
+            idle.put(target, new ArrayDeque<>());
+        }
+        this.exists = true;
+    }
+
+    @Override
+    public boolean exists() {
+        return exists;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Every idle query is deleted.  Queries still in use must be deleted by their users.
+     */
+    @Override
+    public void delete() {
+        for (Deque<GLQuery> queries : idle.values()) {
+            for (GLQuery query : queries) {
+                query.delete();
+            }
+            queries.clear();
+        }
+        exists = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>An idle query of the target is reused if there is one.
+     */
+    @Override
+    public GLQuery create(GLQueryTarget target) {
+        GLQuery query = idle.get(target).pollLast();
+        return query != null ? query : factory.create(target);
+    }
+
+    /**
+     * Gives the specified query back to the pool.  The query must not be active and its result must no longer be
+     * needed.
+     *
+     * @param query the query to release.
+     */
+    public void release(GLQuery query) {
+        if (!exists) {
+            query.delete();
+        } else {
+            idle.get(query.getTarget()).addLast(query);
+        }
+    }
+
+    /**
+     * Returns the number of idle queries of the specified target.
+     *
+     * @param target the query target.
+     * @return the idle query count.
+     */
+    public int getIdleCount(GLQueryTarget target) {
+        return idle.get(target).size();
+    }
+}
@@ -0,0 +1,97 @@
+package com.game30.javagl.queries;
+
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL33;
+
+import com.game30.javagl.GLMagicInteger;
+import com.game30.javagl.GLMagicIntegerException;
+
+/**
+ * An enumeration of what a query object can measure.
+ *
+ * @author Brian Norman
+ * @see <a href="https://www.opengl.org/wiki/Query_Object">Query Object on OpenGL wiki</a>
+ * @since 1.0.0
+ */
+public enum GLQueryTarget implements GLMagicInteger {
+
+    /**
+     * Counts the samples which pass the depth test between the start and end of the query.
+     */
+    SamplesPassed(GL15.GL_SAMPLES_PASSED),
+
+    /**
+     * Like {@link #SamplesPassed}, but only records whether any sample passed, which can be much cheaper.
+     */
+    AnySamplesPassed(GL33.GL_ANY_SAMPLES_PASSED),
+
+    /**
+     * Counts the primitives sent to the rasterizer between the start and end of the query.
+     */
+    PrimitivesGenerated(GL30.GL_PRIMITIVES_GENERATED),
+
+    /**
+     * Counts the primitives written to transform feedback buffers between the start and end of the query.
+     */
+    TransformFeedbackPrimitivesWritten(GL30.GL_TRANSFORM_FEEDBACK_PRIMITIVES_WRITTEN),
+
+    /**
+     * Measures the nanoseconds the GPU spent on the commands between the start and end of the query.  Queries of this
+     * target cannot be nested.
+     */
+    TimeElapsed(GL33.GL_TIME_ELAPSED),
+
+    /**
+     * Records the GPU time in nanoseconds once every previous command has completed.  Queries of this target are
+     * never started or ended, only recorded, so they can be freely nested.
+     */
+    Timestamp(GL33.GL_TIMESTAMP),
+
+    // End of enumeration
+    ;
+
+    /**
+     * Returns the GLQueryTarget that corresponds to the specified OpenGL magic integer.
+     *
+     * @param glInt the query target magic integer.
+     * @return the corresponding GLQueryTarget.
+     * @throws GLMagicIntegerException if the specified magic integer does not match a enumeration instance.
+     */
+    public static GLQueryTarget fromGLInt(int glInt) throws GLMagicIntegerException {
+        // While it may not be the most elegant, switch is definitely the fastest.
+        switch (glInt) {
+            case GL15.GL_SAMPLES_PASSED:
+                return GLQueryTarget.SamplesPassed;
+            case GL33.GL_ANY_SAMPLES_PASSED:
+                return GLQueryTarget.AnySamplesPassed;
+            case GL30.GL_PRIMITIVES_GENERATED:
+                return GLQueryTarget.PrimitivesGenerated;
+            case GL30.GL_TRANSFORM_FEEDBACK_PRIMITIVES_WRITTEN:
+                return GLQueryTarget.TransformFeedbackPrimitivesWritten;
+            case GL33.GL_TIME_ELAPSED:
+                return GLQueryTarget.TimeElapsed;
+            case GL33.GL_TIMESTAMP:
+                return GLQueryTarget.Timestamp;
+            default:
+                throw new GLMagicIntegerException("Could not match to a GLQueryTarget.");
+        }
+    }
+
+    /** The OpenGL magic integer of the query target. */
+    private final int glInt;
+
+    /**
+     * Creates a new query target with the specified magic integer.
+     *
+     * @param glInt the query target magic integer.
+     */
+    GLQueryTarget(int glInt) {
+        this.glInt = glInt;
+    }
+
+    @Override
+    public int glInt() {
+        return glInt;
+    }
+}
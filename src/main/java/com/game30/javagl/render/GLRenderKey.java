@@ -0,0 +1,150 @@
+package com.game30.javagl.render;
+
+/**
+ * Packs the state of a draw call into a 64-bit key, so that sorting the keys as unsigned numbers orders the draw calls
+ * the way they should be executed.  From the most significant bit down, a key holds:
+ *
+ * <ul>
+ *     <li>the pass, in 4 bits, so that passes execute in order;</li>
+ *     <li>the translucency, in 1 bit, so that translucent draws follow the opaque draws of their pass;</li>
+ *     <li>for opaque draws, the program in 16 bits, the material in 19 bits, then the depth in 24 bits, so that state
+ *     changes are rare and draws sharing state are drawn front to back;</li>
+ *     <li>for translucent draws, the inverted depth in 24 bits, the program in 16 bits, then the material in 19 bits, so
+ *     that they are drawn back to front as blending requires.</li>
+ * </ul>
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public final class GLRenderKey {
+
+    /** The number of passes. */
+    public static final int MAX_PASSES = 1 << 4;
+
+    /** The number of program ids. */
+    public static final int MAX_PROGRAMS = 1 << 16;
+
+    /** The number of material ids. */
+    public static final int MAX_MATERIALS = 1 << 19;
+
+    /** The number of depth steps. */
+    private static final int DEPTH_STEPS = 1 << 24;
+
+    /** The bit position of the pass. */
+    private static final int PASS_SHIFT = 60;
+
+    /** The bit position of the translucency. */
+    private static final int TRANSLUCENT_SHIFT = 59;
+
+    /** The bit position of the program for opaque draws. */
+    private static final int OPAQUE_PROGRAM_SHIFT = 43;
+
+    /** The bit position of the material for opaque draws. */
+    private static final int OPAQUE_MATERIAL_SHIFT = 24;
+
+    /** The bit position of the depth for translucent draws. */
+    private static final int TRANSLUCENT_DEPTH_SHIFT = 35;
+
+    /** The bit position of the program for translucent draws. */
+    private static final int TRANSLUCENT_PROGRAM_SHIFT = 19;
+
+    /**
+     * Cannot construct a GLRenderKey instance.
+     */
+    private GLRenderKey() {
+    }
+
+    /**
+     * Packs the specified draw state into a sort key.
+     *
+     * @param pass the pass of the draw, from {@code 0} to {@code 15}.
+     * @param translucent if the draw is blended and must be drawn back to front.
+     * @param depth the view depth of the draw, clamped to the range from {@code 0} (near) to {@code 1} (far).
+     * @param program the id of the program of the draw.
+     * @param material the id of the material of the draw.
+     * @return the sort key.
+     * @throws GLRenderException if any id is outside of its range.
+     */
+    public static long pack(int pass, boolean translucent, float depth, int program, int material) {
+        if (pass < 0 || pass >= MAX_PASSES) {
+            throw new GLRenderException("Pass [" + pass + "] is outside of [" + MAX_PASSES + "] passes.");
+        } else if (program < 0 || program >= MAX_PROGRAMS) {
+            throw new GLRenderException("Program [" + program + "] is outside of [" + MAX_PROGRAMS + "] programs.");
+        } else if (material < 0 || material >= MAX_MATERIALS) {
+            throw new GLRenderException("Material [" + material + "] is outside of [" + MAX_MATERIALS
+                                        + "] materials.");
+        }
+
+        long key = (long) pass << PASS_SHIFT;
+        long steps = quantize(depth);
+        if (translucent) {
+            key |= 1L << TRANSLUCENT_SHIFT;
+            key |= (DEPTH_STEPS - 1 - steps) << TRANSLUCENT_DEPTH_SHIFT;
+            key |= (long) program << TRANSLUCENT_PROGRAM_SHIFT;
+            key |= material;
+        } else {
+            key |= (long) program << OPAQUE_PROGRAM_SHIFT;
+            key |= (long) material << OPAQUE_MATERIAL_SHIFT;
+            key |= steps;
+        }
+        return key;
+    }
+
+    /**
+     * Returns the pass of the specified sort key.
+     *
+     * @param key the sort key.
+     * @return the pass.
+     */
+    public static int getPass(long key) {
+        return (int) (key >>> PASS_SHIFT);
+    }
+
+    /**
+     * Returns {@code true} if the specified sort key is of a translucent draw.
+     *
+     * @param key the sort key.
+     * @return if the draw is translucent.
+     */
+    public static boolean isTranslucent(long key) {
+        return (key & (1L << TRANSLUCENT_SHIFT)) != 0;
+    }
+
+    /**
+     * Returns the program id of the specified sort key.
+     *
+     * @param key the sort key.
+     * @return the program id.
+     */
+    public static int getProgram(long key) {
+        int shift = isTranslucent(key) ? TRANSLUCENT_PROGRAM_SHIFT : OPAQUE_PROGRAM_SHIFT;
+        return (int) (key >>> shift) & (MAX_PROGRAMS - 1);
+    }
+
+    /**
+     * Returns the material id of the specified sort key.
+     *
+     * @param key the sort key.
+     * @return the material id.
+     */
+    public static int getMaterial(long key) {
+        int shift = isTranslucent(key) ? 0 : OPAQUE_MATERIAL_SHIFT;
+        return (int) (key >>> shift) & (MAX_MATERIALS - 1);
+    }
+
+    /**
+     * Returns the specified depth as a number of depth steps.
+     *
+     * @param depth the view depth from {@code 0} to {@code 1}.
+     * @return the depth steps.
+     */
+    private static long quantize(float depth) {
+        if (!(depth > 0)) {
+            return 0;
+        } else if (depth >= 1) {
+            return DEPTH_STEPS - 1;
+        }
+        return (long) (depth * (DEPTH_STEPS - 1));
+    }
+}
@@ -0,0 +1,356 @@
+package com.game30.javagl.render;
+
+import java.util.Arrays;
+
+import com.game30.javagl.arrays.GLDrawMode;
+import com.game30.javagl.arrays.GLVertexArray;
+import com.game30.javagl.buffers.GLIndexBuffer;
+import com.game30.javagl.programs.GLProgram;
+import com.game30.javagl.textures.GLTexture;
+
+/**
+ * A GLRenderQueue collects the draw calls of a frame, sorts them by a {@link GLRenderKey} and executes them while
+ * skipping state which has not changed.  Submitting draws in the order they are found usually switches program and
+ * textures for almost every draw, while the sorted order only switches them when the pass, translucency or state
+ * actually changes.
+ *
+ * <p>Programs and materials are registered once and referred to by the ids returned, which are packed into the keys.
+ * A material is the set of textures bound to consecutive texture units starting from unit zero.  Draws are kept in
+ * primitive arrays which only grow, and are sorted by a radix sort into scratch arrays which are reused, so a frame
+ * which fits in the capacity of the previous frames does not allocate.
+ *
+ * <p>The queue should be used from the thread which owns the OpenGL context it executes on.
+ *
+ * @author Brian Norman
+ * @version 1.0.0-SNAPSHOT
+ * @since 1.0.0
+ */
+public class GLRenderQueue {
+
+    /** The number of bits sorted by each radix pass. */
+    private static final int RADIX_BITS = 8;
+
+    /** The number of buckets of each radix pass. */
+    private static final int RADIX_SIZE = 1 << RADIX_BITS;
+
+    /** The marker for state which has not been set. */
+    private static final int NONE = -1;
+
+    /** The registered programs by id. */
+    private GLProgram[] programs;
+
+    /** The number of registered programs. */
+    private int programCount;
+
+    /** The registered materials by id. */
+    private GLTexture[][] materials;
+
+    /** The number of registered materials. */
+    private int materialCount;
+
+    /** The sort key of each draw, in execution order once sorted. */
+    private long[] keys;
+
+    /** The draw of each key. */
+    private int[] order;
+
+    /** The scratch keys of the radix sort. */
+    private long[] sortKeys;
+
+    /** The scratch draws of the radix sort. */
+    private int[] sortOrder;
+
+    /** The bucket counts of the radix sort. */
+    private final int[] buckets;
+
+    /** The vertex array of each draw. */
+    private GLVertexArray[] vertexArrays;
+
+    /** The index buffer of each draw, or {@code null} for non-indexed draws. */
+    private GLIndexBuffer[] indices;
+
+    /** The primitive type of each draw. */
+    private GLDrawMode[] modes;
+
+    /** The first index or vertex of each draw. */
+    private int[] firsts;
+
+    /** The number of indices or vertices of each draw. */
+    private int[] counts;
+
+    /** The number of submitted draws. */
+    private int size;
+
+    /** If the draws are in execution order. */
+    private boolean sorted;
+
+    /** The number of program switches of the last execution. */
+    private int programChanges;
+
+    /** The number of material switches of the last execution. */
+    private int materialChanges;
+
+    /**
+     * Constructs a GLRenderQueue instance with room for the specified number of draws before growing.
+     *
+     * @param capacity the initial number of draws.
+     */
+    public GLRenderQueue(int capacity) {
+        capacity = Math.max(1, capacity);
+        this.programs = new GLProgram[16];
+        this.materials = new GLTexture[16][];
+        this.keys = new long[capacity];
+        this.order = new int[capacity];
+        this.sortKeys = new long[capacity];
+        this.sortOrder = new int[capacity];
+        this.buckets = new int[RADIX_SIZE];
+        this.vertexArrays = new GLVertexArray[capacity];
+        this.indices = new GLIndexBuffer[capacity];
+        this.modes = new GLDrawMode[capacity];
+        this.firsts = new int[capacity];
+        this.counts = new int[capacity];
+        this.sorted = true;
+    }
+
+    /**
+     * Registers the specified program and returns the id draws refer to it by.
+     *
+     * @param program the program.
+     * @return the program id.
+     */
+    public int addProgram(GLProgram program) {
+        if (programCount == GLRenderKey.MAX_PROGRAMS) {
+            throw new GLRenderException("All [" + GLRenderKey.MAX_PROGRAMS + "] program ids are used.");
+        } else if (programCount == programs.length) {
+            programs = Arrays.copyOf(programs, programs.length << 1);
+        }
+        programs[programCount] = program;
+        return programCount++;
+    }
+
+    /**
+     * Registers a material of the specified textures and returns the id draws refer to it by.  The textures are bound
+     * to texture units in the order given, starting from unit zero.
+     *
+     * @param textures the textures of the material.
+     * @return the material id.
+     */
+    public int addMaterial(GLTexture... textures) {
+        if (materialCount == GLRenderKey.MAX_MATERIALS) {
+            throw new GLRenderException("All [" + GLRenderKey.MAX_MATERIALS + "] material ids are used.");
+        } else if (materialCount == materials.length) {
+            materials = Arrays.copyOf(materials, materials.length << 1);
+        }
+        materials[materialCount] = textures.clone();
+        return materialCount++;
+    }
+
+    /**
+     * Returns the number of submitted draws.
+     *
+     * @return the draw count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of times the program was switched by the last execution.
+     *
+     * @return the program switch count.
+     */
+    public int getProgramChanges() {
+        return programChanges;
+    }
+
+    /**
+     * Returns the number of times the material was switched by the last execution.
+     *
+     * @return the material switch count.
+     */
+    public int getMaterialChanges() {
+        return materialChanges;
+    }
+
+    /**
+     * Submits a non-indexed draw of the specified range of vertices.
+     *
+     * @param key the sort key from {@link GLRenderKey#pack(int, boolean, float, int, int)}.
+     * @param vertexArray the vertex array to draw.
+     * @param mode the primitive type to draw.
+     * @param first the first vertex to draw.
+     * @param count the number of vertices to draw.
+     */
+    public void submit(long key, GLVertexArray vertexArray, GLDrawMode mode, int first, int count) {
+        submit(key, vertexArray, mode, null, first, count);
+    }
+
+    /**
+     * Submits an indexed draw of the specified range of indices.
+     *
+     * @param key the sort key from {@link GLRenderKey#pack(int, boolean, float, int, int)}.
+     * @param vertexArray the vertex array to draw.
+     * @param mode the primitive type to draw.
+     * @param indices the indices of the vertices to draw, or {@code null} for a non-indexed draw.
+     * @param first the first index to draw.
+     * @param count the number of indices to draw.
+     */
+    public void submit(long key, GLVertexArray vertexArray, GLDrawMode mode, GLIndexBuffer indices, int first,
+                       int count) {
+        if (GLRenderKey.getProgram(key) >= programCount) {
+            throw new GLRenderException("Program [" + GLRenderKey.getProgram(key) + "] is not registered.");
+        } else if (GLRenderKey.getMaterial(key) >= materialCount) {
+            throw new GLRenderException("Material [" + GLRenderKey.getMaterial(key) + "] is not registered.");
+        } else if (size == keys.length) {
+            grow();
+        }
+        keys[size] = key;
+        order[size] = size;
+        vertexArrays[size] = vertexArray;
+        this.indices[size] = indices;
+        modes[size] = mode;
+        firsts[size] = first;
+        counts[size] = count;
+        size++;
+        sorted = false;
+    }
+
+    /**
+     * Sorts the submitted draws into execution order with a least significant digit radix sort of the keys.  Digits
+     * which are the same for every key are skipped, which is common for the pass and program bits.
+     */
+    public void sort() {
+        if (sorted) {
+            return;
+        }
+        long[] srcKeys = keys;
+        int[] srcOrder = order;
+        long[] dstKeys = sortKeys;
+        int[] dstOrder = sortOrder;
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(buckets, 0);
+            for (int i = 0; i < size; i++) {
+                buckets[(int) (srcKeys[i] >>> shift) & (RADIX_SIZE - 1)]++;
+            }
+            if (buckets[(int) (srcKeys[0] >>> shift) & (RADIX_SIZE - 1)] == size) {
+                continue;
+            }
+            for (int b = 0, sum = 0; b < RADIX_SIZE; b++) {
+                int count = buckets[b];
+                buckets[b] = sum;
+                sum += count;
+            }
+            for (int i = 0; i < size; i++) {
+                int index = buckets[(int) (srcKeys[i] >>> shift) & (RADIX_SIZE - 1)]++;
+                dstKeys[index] = srcKeys[i];
+                dstOrder[index] = srcOrder[i];
+            }
+            long[] swapKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = swapKeys;
+            int[] swapOrder = srcOrder;
+            srcOrder = dstOrder;
+            dstOrder = swapOrder;
+        }
+        keys = srcKeys;
+        order = srcOrder;
+        sortKeys = dstKeys;
+        sortOrder = dstOrder;
+        sorted = true;
+    }
+
+    /**
+     * Executes every submitted draw in sorted order.
+     */
+    public void execute() {
+        sort();
+        execute(0, size);
+    }
+
+    /**
+     * Executes the submitted draws of the specified pass in sorted order.  This lets the caller change state which is
+     * not part of the key, such as blending or the render target, between passes.
+     *
+     * @param pass the pass to execute.
+     */
+    public void execute(int pass) {
+        sort();
+        int from = 0;
+        while (from < size && GLRenderKey.getPass(keys[from]) < pass) {
+            from++;
+        }
+        int to = from;
+        while (to < size && GLRenderKey.getPass(keys[to]) == pass) {
+            to++;
+        }
+        execute(from, to);
+    }
+
+    /**
+     * Discards every submitted draw.  Registered programs and materials are kept.
+     */
+    public void clear() {
+        Arrays.fill(vertexArrays, 0, size, null);
+        Arrays.fill(indices, 0, size, null);
+        Arrays.fill(modes, 0, size, null);
+        size = 0;
+        sorted = true;
+    }
+
+    /**
+     * Executes the sorted draws in the specified range, only switching the program and material when they differ from
+     * those of the previous draw.
+     *
+     * @param from the first sorted draw, inclusive.
+     * @param to the last sorted draw, exclusive.
+     */
+    private void execute(int from, int to) {
+        programChanges = 0;
+        materialChanges = 0;
+        int program = NONE;
+        int material = NONE;
+        for (int i = from; i < to; i++) {
+            long key = keys[i];
+            int draw = order[i];
+
+            int nextProgram = GLRenderKey.getProgram(key);
+            if (nextProgram != program) {
+                programs[nextProgram].use();
+                program = nextProgram;
+                programChanges++;
+            }
+            int nextMaterial = GLRenderKey.getMaterial(key);
+            if (nextMaterial != material) {
+                GLTexture[] textures = materials[nextMaterial];
+                for (int unit = 0; unit < textures.length; unit++) {
+                    textures[unit].bind(unit);
+                }
+                material = nextMaterial;
+                materialChanges++;
+            }
+
+            GLIndexBuffer drawIndices = indices[draw];
+            if (drawIndices == null) {
+                vertexArrays[draw].draw(modes[draw], firsts[draw], counts[draw]);
+            } else {
+                vertexArrays[draw].draw(modes[draw], drawIndices, firsts[draw], counts[draw]);
+            }
+        }
+    }
+
+    /**
+     * Doubles the number of draws which fit in the queue.
+     */
+    private void grow() {
+        int capacity = keys.length << 1;
+        keys = Arrays.copyOf(keys, capacity);
+        order = Arrays.copyOf(order, capacity);
+        sortKeys = new long[capacity];
+        sortOrder = new int[capacity];
+        vertexArrays = Arrays.copyOf(vertexArrays, capacity);
+        indices = Arrays.copyOf(indices, capacity);
+        modes = Arrays.copyOf(modes, capacity);
+        firsts = Arrays.copyOf(firsts, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+    }
+}
@@ -2,6 +2,7 @@ package com.game30.javagl.textures;
 
 import org.lwjgl.opengl.GL11;
 
+import com.game30.javagl.GLContextState;
 import com.game30.javagl.GLDeletable;
 import com.game30.javagl.GLIndexed;
 import com.game30.javagl.GLObject;
@@ -15,7 +16,7 @@ import com.game30.javagl.GLObject;
 public interface GLTexture extends GLObject {
 
     static void unbindTarget(GLTextureTarget target) {
-        GL11.glBindTexture(target.glInt(), GLIndexed.NULL_INDEX);
+        GLContextState.current().bindTexture(target, GLIndexed.NULL_INDEX);
     }
 
     static void disableTarget(GLTextureTarget target) {
@@ -34,17 +35,32 @@ public interface GLTexture extends GLObject {
     @Override
     default void delete() {
         GL11.glDeleteTextures(getIndex());
+        GLContextState.current().forgetTexture(getIndex());
     }
 
     @Override
     default void bind() {
-        GLDeletable.requireExists(this);
-        GL11.glBindTexture(getTarget().glInt(), getIndex());
+        GLContextState state = GLContextState.current();
+        if (!state.isTextureBound(getTarget(), getIndex())) {
+            GLDeletable.requireExists(this);
+            state.bindTexture(getTarget(), getIndex());
+        }
+    }
+
+    /**
+     * Binds the texture to the specified texture unit.  The specified unit is left as the active texture unit.
+     *
+     * @param unit the texture unit, starting from zero.
+     */
+    default void bind(int unit) {
+        GLContextState state = GLContextState.current();
+        state.activeTexture(unit);
+        bind();
     }
 
     @Override
     default void unbind() {
-        unbindTarget(getTarget());
+        GLContextState.current().unbindTexture(getTarget());
     }
 
     default void enable() {
@@ -2,7 +2,7 @@ package com.game30.javagl.textures;
 
 import java.nio.ByteBuffer;
 
-import org.lwjgl.BufferUtils;
+import com.game30.javagl.memory.GLMemory;
 
 /**
  * @author Brian Norman
@@ -23,10 +23,14 @@ public interface GLTextureFactory {
     }
 
     default GLTexture create(GLTextureTarget target, GLTextureFormat format, int width, int height, byte[] data) {
-        final ByteBuffer buffer = BufferUtils.createByteBuffer(data.length);
-        buffer.put(data);
-        buffer.flip();
-        return create(target, format, width, height, buffer);
+        final ByteBuffer buffer = GLMemory.allocate(data.length);
+        try {
+            buffer.put(data);
+            buffer.flip();
+            return create(target, format, width, height, buffer);
+        } finally {
+            GLMemory.free(buffer);
+        }
     }
 
     default GLTexture create(GLTextureTarget target, GLTextureFormat format, int square, byte[] data) {